@@ -0,0 +1,32 @@
+package io.github.rfc2616.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks matching the command line, as JMH's own launcher does, with the
+ * allocation profiler always on so that every run reports bytes allocated per operation.
+ * <p>
+ * Keep a baseline with {@code -rf json -rff baseline.json} and compare a change against it.
+ */
+public final class Benchmarks {
+
+	private Benchmarks() { /***/ }
+
+	public static void main(final String[] args) throws Exception {
+		final CommandLineOptions options = new CommandLineOptions(args);
+		if( options.shouldHelp() || options.shouldList() || options.shouldListProfilers() || options.shouldListResultFormats() ) {
+			Main.main(args);
+			return;
+		}
+
+		new Runner(new OptionsBuilder()
+				.parent(options)
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+
+}
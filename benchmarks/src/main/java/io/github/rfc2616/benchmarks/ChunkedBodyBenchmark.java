@@ -0,0 +1,76 @@
+package io.github.rfc2616.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.rfc2616.http.InputBuffer;
+import io.github.rfc2616.http.RequestBody;
+
+/**
+ * Reading a 64 KiB chunked request body to its end, as a handler copying it out would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkedBodyBenchmark {
+
+	private static final int BODY_SIZE = 65536;
+
+	@Param({ "128", "4096" })
+	public int chunkSize;
+
+	private InputBuffer in;
+	private final RequestBody body = new RequestBody();
+	private final byte[] scratch = new byte[8192];
+
+	@Setup
+	public void setup() {
+		final byte[] chunk = new byte[chunkSize];
+		Arrays.fill(chunk, (byte) 'x');
+
+		final ByteArrayOutputStream message = new ByteArrayOutputStream();
+		final byte[] size = (Integer.toHexString(chunkSize) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+		for(int sent = 0; sent < BODY_SIZE; sent += chunkSize) {
+			message.write(size, 0, size.length);
+			message.write(chunk, 0, chunk.length);
+			message.write('\r');
+			message.write('\n');
+		}
+		final byte[] last = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+		message.write(last, 0, last.length);
+
+		this.in = new InputBuffer(new Replay(message.toByteArray()));
+	}
+
+	@Benchmark
+	public long read() throws IOException {
+		in.discard();
+		body.resetChunked(in, Long.MAX_VALUE);
+
+		long total = 0;
+		int count;
+		while( (count = body.read(scratch, 0, scratch.length)) != -1 ) {
+			total += count;
+		}
+		return total;
+	}
+
+}
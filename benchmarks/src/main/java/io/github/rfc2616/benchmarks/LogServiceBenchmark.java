@@ -0,0 +1,84 @@
+package io.github.rfc2616.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.rfc2616.utilities.LogService;
+import io.github.rfc2616.utilities.LogService.LogLevel;
+
+/**
+ * Cost of a log call to the calling thread, enabled or below the minimum level.
+ * <p>
+ * The console is swapped for a stream discarding everything while the benchmark runs. Lines
+ * the background writer cannot keep up with are dropped, which is what the calling thread
+ * would see on a flooded server too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogServiceBenchmark {
+
+	private static final PrintStream DISCARD = new PrintStream(new OutputStream() {
+		@Override
+		public void write(final int b) { /***/ }
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) { /***/ }
+	});
+
+	private final LogService logger = LogService.getInstance("HTTP-SERVER");
+
+	private PrintStream out;
+	private PrintStream err;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.out = System.out;
+		this.err = System.err;
+		System.setOut(DISCARD);
+		System.setErr(DISCARD);
+		LogService.setLevel(LogLevel.INFO);
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() {
+		LogService.flush(1000);
+		System.setOut(out);
+		System.setErr(err);
+	}
+
+	@Benchmark
+	public void info() {
+		logger.info("Connections handled by {} (max {}, queue {})", "platform threads", 1024, 256);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void infoContended() {
+		logger.info("Connections handled by {} (max {}, queue {})", "platform threads", 1024, 256);
+	}
+
+	@Benchmark
+	public void disabled() {
+		logger.debug("Request line: {}", "GET / HTTP/1.1");
+	}
+
+}
@@ -0,0 +1,32 @@
+package io.github.rfc2616.benchmarks;
+
+import java.io.InputStream;
+
+/**
+ * Source delivering the same message over and over, as a client sending one request after another.
+ */
+final class Replay extends InputStream {
+
+	private final byte[] message;
+	private int position = 0;
+
+	Replay(final byte[] message) {
+		this.message = message;
+	}
+
+	@Override
+	public int read() {
+		final int octet = message[position] & 0xFF;
+		position = (position + 1) % message.length;
+		return octet;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) {
+		final int count = Math.min(len, message.length - position);
+		System.arraycopy(message, position, b, off, count);
+		position = (position + count) % message.length;
+		return count;
+	}
+
+}
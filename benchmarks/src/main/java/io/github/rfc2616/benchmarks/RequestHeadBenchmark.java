@@ -0,0 +1,77 @@
+package io.github.rfc2616.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.InputBuffer;
+import io.github.rfc2616.http.RequestHeadParser;
+
+/**
+ * Parsing of a request head, and the lookups the handler makes on it before dispatching.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestHeadBenchmark {
+
+	private static final String CURL = "GET /live HTTP/1.1\r\n"
+			+ "Host: localhost:8080\r\n"
+			+ "User-Agent: curl/8.4.0\r\n"
+			+ "Accept: */*\r\n"
+			+ "\r\n";
+
+	private static final String BROWSER = "GET /spec?section=14.9&lang=en HTTP/1.1\r\n"
+			+ "Host: localhost:8080\r\n"
+			+ "Connection: keep-alive\r\n"
+			+ "Cache-Control: max-age=0\r\n"
+			+ "Upgrade-Insecure-Requests: 1\r\n"
+			+ "User-Agent: Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36\r\n"
+			+ "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8\r\n"
+			+ "Accept-Encoding: gzip, deflate, br\r\n"
+			+ "Accept-Language: en-US,en;q=0.9,pt-BR;q=0.8\r\n"
+			+ "Cookie: session=4f2a9c1e7b3d5a8f; theme=dark\r\n"
+			+ "If-None-Match: \"5d8c72a5edda8d6a\"\r\n"
+			+ "\r\n";
+
+	@Param({ "curl", "browser" })
+	public String client;
+
+	private InputBuffer in;
+	private final RequestHeadParser parser = new RequestHeadParser();
+
+	@Setup
+	public void setup() {
+		final String head = "curl".equals(client) ? CURL : BROWSER;
+		this.in = new InputBuffer(new Replay(head.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@Benchmark
+	public void parse(final Blackhole blackhole) throws IOException {
+		blackhole.consume(parser.parse(in));
+		blackhole.consume(parser.method());
+		blackhole.consume(parser.isVersion("HTTP/1.1"));
+		blackhole.consume(parser.target().path());
+		blackhole.consume(parser.headers().get(HeaderName.HOST));
+		blackhole.consume(parser.headers().containsToken(HeaderName.CONNECTION, "close"));
+		blackhole.consume(parser.headers().contains(HeaderName.TRANSFER_ENCODING));
+	}
+
+}
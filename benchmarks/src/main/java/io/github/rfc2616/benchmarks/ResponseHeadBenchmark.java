@@ -0,0 +1,87 @@
+package io.github.rfc2616.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.http.OutputBuffer;
+import io.github.rfc2616.http.ResponseHead;
+
+/**
+ * Filling in and writing the head of a keep-alive response, then flushing it to the socket.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseHeadBenchmark {
+
+	/**
+	 * Socket taking every byte at once.
+	 */
+	private static final class Sink implements GatheringByteChannel {
+
+		@Override
+		public int write(final ByteBuffer src) {
+			final int count = src.remaining();
+			src.position(src.limit());
+			return count;
+		}
+
+		@Override
+		public long write(final ByteBuffer[] srcs, final int offset, final int length) {
+			long count = 0;
+			for(int i = offset; i < offset + length; ++i) {
+				count += write(srcs[i]);
+			}
+			return count;
+		}
+
+		@Override
+		public long write(final ByteBuffer[] srcs) {
+			return write(srcs, 0, srcs.length);
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() { /***/ }
+
+	}
+
+	private final HttpHeaders headers = new HttpHeaders();
+	private final OutputBuffer out = new OutputBuffer(new Sink());
+
+	@Benchmark
+	public long write() throws IOException {
+		headers.clear();
+		headers.set(HeaderName.CONTENT_TYPE, "application/json");
+		headers.set(HeaderName.CONTENT_LENGTH, 27);
+		headers.set(HeaderName.CONNECTION, "keep-alive");
+		headers.set(HeaderName.KEEP_ALIVE, "timeout=5, max=100");
+
+		ResponseHead.write(out, HttpStatus.OK, headers);
+		out.flush();
+		return out.sent();
+	}
+
+}
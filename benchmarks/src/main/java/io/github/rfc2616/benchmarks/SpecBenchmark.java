@@ -0,0 +1,61 @@
+package io.github.rfc2616.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.StaticResponse;
+import io.github.rfc2616.resources.StaticResource;
+
+/**
+ * The {@code /spec} resource: building its gzip and deflate variants, and picking one per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpecBenchmark {
+
+	private static final String CONTENT_TYPE = "text/plain; charset=ASCII";
+
+	private byte[] content;
+	private StaticResource resource;
+	private final HttpHeaders request = new HttpHeaders();
+
+	@Setup
+	public void setup() throws IOException {
+		try(final InputStream in = StaticResource.class.getResourceAsStream("/rfc2616.txt")) {
+			this.content = IOUtils.toByteArray(in);
+		}
+		this.resource = StaticResource.compressible(CONTENT_TYPE, content);
+		request.set(HeaderName.ACCEPT_ENCODING, "gzip, deflate, br");
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public StaticResource compress() {
+		return StaticResource.compressible(CONTENT_TYPE, content);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public StaticResponse select() {
+		return resource.select(request);
+	}
+
+}
@@ -0,0 +1,12 @@
+package io.github.rfc2616.exceptions;
+
+import java.io.IOException;
+
+@SuppressWarnings("serial")
+public class RequestEntityTooLargeException extends IOException {
+
+	public RequestEntityTooLargeException(final long limit) {
+		super("Request body exceeds " + limit + " bytes");
+	}
+
+}
@@ -0,0 +1,85 @@
+package io.github.rfc2616.http;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte-level helpers for protocol elements, which are plain ASCII on the wire.
+ */
+public final class Ascii {
+
+	private Ascii() { /***/ }
+
+	public static final byte CR = '\r';
+	public static final byte LF = '\n';
+	public static final byte SP = ' ';
+	public static final byte HT = '\t';
+
+	// https://www.rfc-editor.org/rfc/rfc2616.html#section-2.2
+	private static final boolean[] TOKEN = new boolean[128];
+	static {
+		for(int c = 0x21; c < 0x7F; ++c) {
+			TOKEN[c] = "()<>@,;:\\\"/[]?={}".indexOf(c) == -1;
+		}
+	}
+
+	public static boolean isWhitespace(final byte b) {
+		return b == SP || b == HT;
+	}
+
+	/**
+	 * @return whether {@code b} may appear in a token: a CHAR that is neither a CTL nor a separator
+	 */
+	public static boolean isToken(final byte b) {
+		return b >= 0 && TOKEN[b];
+	}
+
+	/**
+	 * @return whether {@code s} is a non-empty token
+	 */
+	public static boolean isToken(final String s) {
+		if( s.isEmpty() ) {
+			return false;
+		}
+		for(int i = 0; i < s.length(); ++i) {
+			final char c = s.charAt(i);
+			if( c >= 128 || ! TOKEN[c] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the value of a hexadecimal digit, or {@code -1}
+	 */
+	public static int hexValue(final byte b) {
+		if( b >= '0' && b <= '9' ) {
+			return b - '0';
+		}
+		final byte lower = toLowerCase(b);
+		return lower >= 'a' && lower <= 'f' ? lower - 'a' + 10 : -1;
+	}
+
+	public static byte toLowerCase(final byte b) {
+		return b >= 'A' && b <= 'Z' ? (byte) (b | 0x20) : b;
+	}
+
+	public static boolean equalsIgnoreCase(final byte[] data, final int start, final int end, final String ascii) {
+		if( end - start != ascii.length() ) {
+			return false;
+		}
+
+		for(int i = start; i < end; ++i) {
+			if( toLowerCase(data[i]) != toLowerCase((byte) ascii.charAt(i - start)) ) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	public static String string(final byte[] data, final int start, final int end) {
+		return new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+	}
+
+}
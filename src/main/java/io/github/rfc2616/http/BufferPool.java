@@ -0,0 +1,246 @@
+package io.github.rfc2616.http;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of fixed-size direct buffers that connections read from and write to their sockets through.
+ * <p>
+ * Slabs are cut from direct memory allocated in arenas of {@link #ARENA_SLABS}, up to the pool's
+ * capacity, and kept on free lists striped by thread so that threads rarely contend for the same
+ * lock. Socket I/O on a direct buffer skips the copy through the JDK's temporary native buffer.
+ * Once the pool is exhausted, leases fall back to unpooled heap buffers.
+ * <p>
+ * Every lease must be {@link Slab#release() released} exactly once. {@link #leased()} counts the
+ * outstanding leases and, when tracking is enabled, {@link #leaks()} tells where each one was taken.
+ */
+public final class BufferPool {
+
+	public static final int SLAB_SIZE = 8192;
+	public static final int ARENA_SLABS = 64;
+
+	/**
+	 * Buffer leased from the pool.
+	 */
+	public static final class Slab {
+
+		private final BufferPool pool;
+		private final ByteBuffer buffer;
+		private final boolean pooled;
+		private final AtomicBoolean leased = new AtomicBoolean();
+
+		// Where the lease was taken, when the pool tracks them
+		private Throwable site;
+
+		private Slab(final BufferPool pool, final ByteBuffer buffer, final boolean pooled) {
+			this.pool = pool;
+			this.buffer = buffer;
+			this.pooled = pooled;
+		}
+
+		/**
+		 * @return the buffer, cleared when leased
+		 */
+		public ByteBuffer buffer() {
+			return buffer;
+		}
+
+		public boolean isDirect() {
+			return buffer.isDirect();
+		}
+
+		/**
+		 * Returns the slab to its pool; the caller must not touch its buffer any more.
+		 *
+		 * @throws IllegalStateException when the slab was released already
+		 */
+		public void release() {
+			pool.release(this);
+		}
+
+	}
+
+	private static final class Stripe {
+
+		private final Slab[] free;
+		private int size;
+
+		Stripe(final int capacity) {
+			this.free = new Slab[capacity];
+		}
+
+	}
+
+	private final int capacity;
+	private final boolean tracking;
+
+	private final Stripe[] stripes;
+	private final int mask;
+
+	// Guarded by the pool
+	private int allocated;
+
+	private final LongAdder leased = new LongAdder();
+	private final Set<Slab> outstanding;
+
+	/**
+	 * @param capacity most pooled slabs, allocated on demand
+	 * @param tracking whether to record where every outstanding lease was taken
+	 */
+	public BufferPool(final int capacity, final boolean tracking) {
+		this.capacity = Math.max(0, capacity);
+		this.tracking = tracking;
+		this.outstanding = tracking ? ConcurrentHashMap.newKeySet() : null;
+
+		int count = 1;
+		while( count < Runtime.getRuntime().availableProcessors() ) {
+			count <<= 1;
+		}
+		this.stripes = new Stripe[count];
+		this.mask = count - 1;
+		for(int i = 0; i < count; ++i) {
+			stripes[i] = new Stripe(this.capacity);
+		}
+	}
+
+	/**
+	 * Leases a cleared slab of {@link #SLAB_SIZE} bytes, pooled while the pool has some left.
+	 */
+	public Slab lease() {
+		final int home = (int) Thread.currentThread().getId() & mask;
+
+		Slab slab = null;
+		for(int i = 0; i <= mask && slab == null; ++i) {
+			final Stripe stripe = stripes[(home + i) & mask];
+			synchronized(stripe) {
+				if( stripe.size > 0 ) {
+					slab = stripe.free[--stripe.size];
+					stripe.free[stripe.size] = null;
+				}
+			}
+		}
+
+		if( slab == null ) {
+			slab = this.grow(stripes[home]);
+		}
+		if( slab == null ) {
+			slab = new Slab(this, ByteBuffer.allocate(SLAB_SIZE), false);
+		}
+
+		slab.leased.set(true);
+		slab.buffer.clear();
+		leased.increment();
+		if( tracking ) {
+			slab.site = new Throwable("Slab leased by " + Thread.currentThread().getName());
+			outstanding.add(slab);
+		}
+		return slab;
+	}
+
+	/**
+	 * Allocates the next arena, keeps one of its slabs for the caller and frees the others on {@code stripe}.
+	 */
+	private Slab grow(final Stripe stripe) {
+		final int count;
+		synchronized(this) {
+			count = Math.min(ARENA_SLABS, capacity - allocated);
+			if( count <= 0 ) {
+				return null;
+			}
+			this.allocated += count;
+		}
+
+		final ByteBuffer arena = ByteBuffer.allocateDirect(count * SLAB_SIZE);
+		final Slab[] slabs = new Slab[count];
+		for(int i = 0; i < count; ++i) {
+			arena.limit((i + 1) * SLAB_SIZE).position(i * SLAB_SIZE);
+			slabs[i] = new Slab(this, arena.slice(), true);
+		}
+
+		synchronized(stripe) {
+			for(int i = 1; i < count; ++i) {
+				stripe.free[stripe.size++] = slabs[i];
+			}
+		}
+		return slabs[0];
+	}
+
+	private void release(final Slab slab) {
+		if( ! slab.leased.compareAndSet(true, false) ) {
+			throw new IllegalStateException("Slab released twice");
+		}
+
+		leased.decrement();
+		if( tracking ) {
+			outstanding.remove(slab);
+			slab.site = null;
+		}
+
+		if( slab.pooled ) {
+			final Stripe stripe = stripes[(int) Thread.currentThread().getId() & mask];
+			synchronized(stripe) {
+				stripe.free[stripe.size++] = slab;
+			}
+		}
+	}
+
+	/**
+	 * Reads from {@code channel} into {@code b[off, off + len)} through a leased slab.
+	 *
+	 * @return the number of bytes read, possibly 0 on a non-blocking channel, or {@code -1} at end of stream
+	 */
+	public int read(final ReadableByteChannel channel, final byte[] b, final int off, final int len) throws IOException {
+		final Slab slab = this.lease();
+		try {
+			final ByteBuffer buffer = slab.buffer;
+			buffer.limit(Math.min(len, SLAB_SIZE));
+
+			final int count = channel.read(buffer);
+			if( count > 0 ) {
+				buffer.flip();
+				buffer.get(b, off, count);
+			}
+			return count;
+		} finally {
+			slab.release();
+		}
+	}
+
+	/**
+	 * @return leases not released yet
+	 */
+	public long leased() {
+		return leased.sum();
+	}
+
+	/**
+	 * @return pooled slabs allocated so far
+	 */
+	public synchronized int allocated() {
+		return allocated;
+	}
+
+	/**
+	 * @return where the outstanding leases were taken; empty unless the pool tracks them
+	 */
+	public List<Throwable> leaks() {
+		final List<Throwable> sites = new ArrayList<>();
+		if( tracking ) {
+			for(final Slab slab: outstanding) {
+				final Throwable site = slab.site;
+				if( site != null ) {
+					sites.add(site);
+				}
+			}
+		}
+		return sites;
+	}
+
+}
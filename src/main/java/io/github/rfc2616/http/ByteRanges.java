@@ -0,0 +1,267 @@
+package io.github.rfc2616.http;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Byte ranges of a {@code Range} request, resolved against the length of the selected representation.
+ * <p>
+ * Overlapping and adjacent ranges are coalesced, so no byte is sent twice. One range is answered
+ * as a plain {@code 206 Partial Content}; several as a {@code multipart/byteranges} body whose
+ * framing is laid out up front so that {@code Content-Length} is known. The bytes of every part
+ * come from a {@link Body}, which lets file regions reach the socket without a heap copy.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-14.35">RFC 2616 Section 14.35</a>
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-19.2">RFC 2616 Section 19.2</a>
+ */
+public final class ByteRanges {
+
+	public static final String UNIT = "bytes";
+
+	/**
+	 * Requests listing more ranges than this get the full representation.
+	 */
+	public static final int MAX_RANGES = 32;
+
+	/**
+	 * Source of the representation's bytes.
+	 */
+	@FunctionalInterface
+	public interface Body {
+		void writeTo(OutputBuffer out, long position, long count) throws IOException;
+	}
+
+	private final long length;
+	// first and last byte position per range, sorted and disjoint
+	private final long[] bounds;
+	private final int count;
+
+	private byte[][] partHeads;
+	private byte[] closing;
+
+	private ByteRanges(final long length, final long[] bounds, final int count) {
+		this.length = length;
+		this.bounds = bounds;
+		this.count = count;
+	}
+
+	/**
+	 * @param length length of the selected representation
+	 * @return the satisfiable ranges of {@code value} (possibly none), or {@code null} when the
+	 *         header is absent, invalid, not in {@code bytes} or lists too many ranges, in which
+	 *         case it is ignored
+	 */
+	public static ByteRanges parse(final String value, final long length) {
+		if( value == null ) {
+			return null;
+		}
+
+		final int equals = value.indexOf('=');
+		if( equals == -1 || ! value.substring(0, equals).trim().equalsIgnoreCase(UNIT) ) {
+			return null;
+		}
+
+		long[] bounds = new long[8];
+		int count = 0;
+		int specs = 0;
+
+		int start = equals + 1;
+		while( start <= value.length() ) {
+			int stop = value.indexOf(',', start);
+			if( stop == -1 ) { stop = value.length(); }
+
+			int from = start;
+			int to = stop;
+			while( from < to && value.charAt(from) <= ' ' ) { ++from; }
+			while( to > from && value.charAt(to - 1) <= ' ' ) { --to; }
+
+			// Empty list elements are allowed
+			if( from < to ) {
+				if( ++specs > MAX_RANGES ) {
+					return null;
+				}
+
+				final int dash = value.indexOf('-', from);
+				if( dash == -1 || dash >= to ) {
+					return null;
+				}
+
+				long first;
+				long last;
+				if( dash == from ) {
+					// suffix-byte-range-spec: the final bytes
+					final long suffix = number(value, dash + 1, to);
+					if( suffix < 0 ) {
+						return null;
+					}
+					first = Math.max(0, length - suffix);
+					last = suffix == 0 ? -1 : length - 1;
+				} else {
+					first = number(value, from, dash);
+					last = dash + 1 == to ? Long.MAX_VALUE : number(value, dash + 1, to);
+					if( first < 0 || last < first ) {
+						return null;
+					}
+					last = Math.min(last, length - 1);
+				}
+
+				if( first <= last ) {
+					if( count * 2 == bounds.length ) {
+						bounds = Arrays.copyOf(bounds, bounds.length * 2);
+					}
+					bounds[count * 2] = first;
+					bounds[count * 2 + 1] = last;
+					++count;
+				}
+			}
+
+			start = stop + 1;
+		}
+
+		if( specs == 0 ) {
+			return null;
+		}
+
+		return new ByteRanges(length, bounds, coalesce(bounds, count));
+	}
+
+	/**
+	 * Non-negative decimal, saturating at {@link Long#MAX_VALUE}; {@code -1} when not a number.
+	 */
+	private static long number(final String value, final int start, final int end) {
+		if( start == end ) {
+			return -1;
+		}
+
+		long number = 0;
+		for(int i = start; i < end; ++i) {
+			final char c = value.charAt(i);
+			if( c < '0' || c > '9' ) {
+				return -1;
+			}
+			number = number > (Long.MAX_VALUE - 9) / 10 ? Long.MAX_VALUE : number * 10 + (c - '0');
+		}
+
+		return number;
+	}
+
+	private static int coalesce(final long[] bounds, final int count) {
+		// Insertion sort: lists are short
+		for(int i = 1; i < count; ++i) {
+			final long first = bounds[i * 2];
+			final long last = bounds[i * 2 + 1];
+			int j = i - 1;
+			while( j >= 0 && bounds[j * 2] > first ) {
+				bounds[(j + 1) * 2] = bounds[j * 2];
+				bounds[(j + 1) * 2 + 1] = bounds[j * 2 + 1];
+				--j;
+			}
+			bounds[(j + 1) * 2] = first;
+			bounds[(j + 1) * 2 + 1] = last;
+		}
+
+		int merged = 0;
+		for(int i = 1; i < count; ++i) {
+			if( bounds[i * 2] <= bounds[merged * 2 + 1] + 1 ) {
+				bounds[merged * 2 + 1] = Math.max(bounds[merged * 2 + 1], bounds[i * 2 + 1]);
+			} else {
+				++merged;
+				bounds[merged * 2] = bounds[i * 2];
+				bounds[merged * 2 + 1] = bounds[i * 2 + 1];
+			}
+		}
+
+		return count == 0 ? 0 : merged + 1;
+	}
+
+	public boolean isSatisfiable() {
+		return count > 0;
+	}
+
+	public int count() {
+		return count;
+	}
+
+	public long first(final int index) {
+		return bounds[index * 2];
+	}
+
+	public long last(final int index) {
+		return bounds[index * 2 + 1];
+	}
+
+	public String contentRange(final int index) {
+		return UNIT + " " + first(index) + "-" + last(index) + "/" + length;
+	}
+
+	/**
+	 * Turns the head of the full response into the head of the partial one: {@code Content-Range}
+	 * and {@code Content-Length} for one range, a {@code multipart/byteranges} type for several,
+	 * and only {@code Content-Range: bytes *}{@code /length} when none is satisfiable.
+	 *
+	 * @return the status to send, {@code 206} or {@code 416}
+	 */
+	public HttpStatus applyTo(final HttpHeaders headers) {
+		if( count == 0 ) {
+			headers.clear();
+			headers.set(HeaderName.CONTENT_RANGE, UNIT + " */" + length);
+			headers.set(HeaderName.CONTENT_LENGTH, 0);
+			return HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
+		}
+
+		if( count == 1 ) {
+			headers.set(HeaderName.CONTENT_RANGE, contentRange(0));
+			headers.set(HeaderName.CONTENT_LENGTH, last(0) - first(0) + 1);
+			return HttpStatus.PARTIAL_CONTENT;
+		}
+
+		// Entity fields describe each part; the coding applies to the part bytes, not to the multipart body
+		final String contentType = headers.get(HeaderName.CONTENT_TYPE);
+		final String contentEncoding = headers.get(HeaderName.CONTENT_ENCODING);
+		headers.remove(HeaderName.CONTENT_ENCODING);
+
+		final String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+		this.partHeads = new byte[count][];
+		this.closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+
+		long total = closing.length;
+		for(int i = 0; i < count; ++i) {
+			final StringBuilder head = new StringBuilder(128).append("\r\n--").append(boundary).append("\r\n");
+			if( contentType != null ) {
+				head.append(HeaderName.CONTENT_TYPE.name()).append(": ").append(contentType).append("\r\n");
+			}
+			if( contentEncoding != null ) {
+				head.append(HeaderName.CONTENT_ENCODING.name()).append(": ").append(contentEncoding).append("\r\n");
+			}
+			head.append(HeaderName.CONTENT_RANGE.name()).append(": ").append(contentRange(i)).append("\r\n\r\n");
+
+			partHeads[i] = head.toString().getBytes(StandardCharsets.US_ASCII);
+			total += partHeads[i].length + last(i) - first(i) + 1;
+		}
+
+		headers.set(HeaderName.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+		headers.set(HeaderName.CONTENT_LENGTH, total);
+		return HttpStatus.PARTIAL_CONTENT;
+	}
+
+	/**
+	 * Sends the body announced by {@link #applyTo(HttpHeaders)}.
+	 */
+	public void writeTo(final OutputBuffer out, final Body body) throws IOException {
+		if( count == 1 ) {
+			body.writeTo(out, first(0), last(0) - first(0) + 1);
+			return;
+		}
+
+		for(int i = 0; i < count; ++i) {
+			out.write(partHeads[i]);
+			body.writeTo(out, first(i), last(i) - first(i) + 1);
+		}
+		if( closing != null ) {
+			out.write(closing);
+		}
+	}
+
+}
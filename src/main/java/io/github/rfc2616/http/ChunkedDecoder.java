@@ -0,0 +1,304 @@
+package io.github.rfc2616.http;
+
+import static io.github.rfc2616.http.Ascii.CR;
+import static io.github.rfc2616.http.Ascii.HT;
+import static io.github.rfc2616.http.Ascii.LF;
+import static io.github.rfc2616.http.Ascii.SP;
+
+import java.util.Arrays;
+
+/**
+ * Incremental decoder for the chunked transfer-coding of a request body.
+ * <p>
+ * The decoder walks the framing of whatever bytes are at hand and stops at chunk data, which the
+ * caller reads in place and reports with {@link #consume(long)}; input may be cut anywhere, so it
+ * runs the same over a blocking stream or a non-blocking buffer. Chunk sizes are parsed in place,
+ * extensions are skipped, and the trailer fields are collected into {@link #trailers()}. Nothing
+ * is allocated unless the message has trailers.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-3.6.1">RFC 2616 Section 3.6.1</a>
+ */
+public final class ChunkedDecoder {
+
+	/** Chunk data is available from {@link #position()}: {@link #remaining()} bytes in this chunk. */
+	public static final byte CONTENT = 0;
+	/** The input ended within the framing: decode again once more bytes arrived. */
+	public static final byte UNDERFLOW = 1;
+	/** The last chunk and the trailer section have been read. */
+	public static final byte COMPLETE = 2;
+	public static final byte MALFORMED = 3;
+	public static final byte TOO_LARGE = 4;
+
+	/**
+	 * Largest chunk accepted, whatever the body limit.
+	 */
+	public static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+	/**
+	 * Longest chunk-size line (extensions included) and trailer section.
+	 */
+	public static final int MAX_LINE_SIZE = 4096;
+	public static final int MAX_TRAILER_SIZE = 8192;
+
+	private static final byte S_SIZE = 0;
+	private static final byte S_SIZE_WS = 1;
+	private static final byte S_EXTENSION = 2;
+	private static final byte S_SIZE_LF = 3;
+	private static final byte S_DATA = 4;
+	private static final byte S_DATA_CR = 5;
+	private static final byte S_DATA_LF = 6;
+	private static final byte S_TRAILER_START = 7;
+	private static final byte S_TRAILER = 8;
+	private static final byte S_TRAILER_LF = 9;
+	private static final byte S_END_LF = 10;
+	private static final byte S_COMPLETE = 11;
+
+	private final HttpHeaders trailers = new HttpHeaders();
+
+	private long limit = Long.MAX_VALUE;
+
+	private byte state = S_SIZE;
+	private int digits;
+	private int lineSize;
+	private long size;
+	private long total;
+	private int position;
+
+	// Trailer line being collected, kept across calls
+	private byte[] line = new byte[0];
+	private int trailerSize;
+
+	/**
+	 * Starts a new body of at most {@code limit} content bytes.
+	 */
+	public void reset(final long limit) {
+		this.limit = limit;
+		this.state = S_SIZE;
+		this.digits = 0;
+		this.lineSize = 0;
+		this.size = 0;
+		this.total = 0;
+		this.position = 0;
+		this.trailerSize = 0;
+		this.trailers.clear();
+	}
+
+	/**
+	 * Decodes the framing in {@code data[from, to)}, up to the next chunk data or the end of the message.
+	 *
+	 * @return {@link #CONTENT}, {@link #UNDERFLOW}, {@link #COMPLETE}, {@link #MALFORMED} or {@link #TOO_LARGE};
+	 *         {@link #position()} tells where decoding stopped
+	 */
+	public byte decode(final byte[] data, final int from, final int to) {
+		int i = from;
+		try {
+			while( true ) {
+				if( state == S_DATA ) {
+					return CONTENT;
+				}
+				if( state == S_COMPLETE ) {
+					return COMPLETE;
+				}
+				if( i == to ) {
+					return UNDERFLOW;
+				}
+
+				final byte b = data[i++];
+
+				switch(state) {
+					case S_SIZE:
+						final int digit = Ascii.hexValue(b);
+						if( digit >= 0 ) {
+							this.size = (size << 4) | digit;
+							if( size > MAX_CHUNK_SIZE ) {
+								return TOO_LARGE;
+							}
+							++digits;
+						} else if( digits == 0 ) {
+							return MALFORMED;
+						} else if( b == ';' ) {
+							state = S_EXTENSION;
+						} else if( b == SP || b == HT ) {
+							state = S_SIZE_WS;
+						} else if( b == CR ) {
+							state = S_SIZE_LF;
+						} else if( b == LF ) {
+							if( ! this.startChunk() ) { return TOO_LARGE; }
+						} else {
+							return MALFORMED;
+						}
+						break;
+
+					case S_SIZE_WS:
+						if( b == ';' ) {
+							state = S_EXTENSION;
+						} else if( b == CR ) {
+							state = S_SIZE_LF;
+						} else if( b == LF ) {
+							if( ! this.startChunk() ) { return TOO_LARGE; }
+						} else if( b != SP && b != HT ) {
+							return MALFORMED;
+						}
+						break;
+
+					case S_EXTENSION:
+						// chunk-extension: ignored, up to the end of the line
+						if( b == CR ) {
+							state = S_SIZE_LF;
+						} else if( b == LF ) {
+							if( ! this.startChunk() ) { return TOO_LARGE; }
+						}
+						break;
+
+					case S_SIZE_LF:
+						if( b != LF ) { return MALFORMED; }
+						if( ! this.startChunk() ) { return TOO_LARGE; }
+						break;
+
+					case S_DATA_CR:
+						if( b == CR ) {
+							state = S_DATA_LF;
+							break;
+						}
+						// fall through: a bare LF ends the chunk data as well
+					case S_DATA_LF:
+						if( b != LF ) { return MALFORMED; }
+						this.digits = 0;
+						this.lineSize = 0;
+						this.size = 0;
+						state = S_SIZE;
+						continue;
+
+					case S_TRAILER_START:
+						if( b == CR ) {
+							state = S_END_LF;
+						} else if( b == LF ) {
+							state = S_COMPLETE;
+						} else if( b == SP || b == HT || b == ':' ) {
+							// Folded or nameless trailer fields are not accepted
+							return MALFORMED;
+						} else {
+							this.lineSize = 0;
+							if( ! this.append(b) ) { return TOO_LARGE; }
+							state = S_TRAILER;
+						}
+						continue;
+
+					case S_TRAILER:
+						if( b == CR ) {
+							state = S_TRAILER_LF;
+						} else if( b == LF ) {
+							if( ! this.addTrailer() ) { return MALFORMED; }
+							state = S_TRAILER_START;
+						} else if( ! this.append(b) ) {
+							return TOO_LARGE;
+						}
+						continue;
+
+					case S_TRAILER_LF:
+						if( b != LF || ! this.addTrailer() ) { return MALFORMED; }
+						state = S_TRAILER_START;
+						continue;
+
+					case S_END_LF:
+						if( b != LF ) { return MALFORMED; }
+						state = S_COMPLETE;
+						continue;
+
+					default:
+						return MALFORMED;
+				}
+
+				if( ++lineSize > MAX_LINE_SIZE ) {
+					return MALFORMED;
+				}
+			}
+		} finally {
+			this.position = i;
+		}
+	}
+
+	private boolean startChunk() {
+		if( size > limit - total ) {
+			return false;
+		}
+
+		state = size == 0 ? S_TRAILER_START : S_DATA;
+		return true;
+	}
+
+	private boolean append(final byte b) {
+		if( ++trailerSize > MAX_TRAILER_SIZE ) {
+			return false;
+		}
+		if( lineSize == line.length ) {
+			this.line = Arrays.copyOf(line, Math.max(64, line.length * 2));
+		}
+		line[lineSize++] = b;
+		return true;
+	}
+
+	private boolean addTrailer() {
+		int colon = 0;
+		while( colon < lineSize && line[colon] != ':' ) {
+			if( ! Ascii.isToken(line[colon]) ) {
+				return false;
+			}
+			++colon;
+		}
+		if( colon == 0 || colon == lineSize ) {
+			return false;
+		}
+
+		int start = colon + 1;
+		int end = lineSize;
+		while( start < end && Ascii.isWhitespace(line[start]) ) { ++start; }
+		while( end > start && Ascii.isWhitespace(line[end - 1]) ) { --end; }
+
+		trailers.add(HeaderName.of(Ascii.string(line, 0, colon)), Ascii.string(line, start, end));
+		return true;
+	}
+
+	/**
+	 * @return where the last {@link #decode} stopped: the first byte of chunk data after {@link #CONTENT}
+	 */
+	public int position() {
+		return position;
+	}
+
+	/**
+	 * @return bytes of the current chunk not consumed yet
+	 */
+	public long remaining() {
+		return state == S_DATA ? size : 0;
+	}
+
+	/**
+	 * Accounts for {@code count} bytes of chunk data read by the caller.
+	 */
+	public void consume(final long count) {
+		this.size -= count;
+		this.total += count;
+		if( size == 0 ) {
+			state = S_DATA_CR;
+		}
+	}
+
+	/**
+	 * @return content bytes decoded so far
+	 */
+	public long total() {
+		return total;
+	}
+
+	public boolean isComplete() {
+		return state == S_COMPLETE;
+	}
+
+	/**
+	 * Fields of the trailer section, once {@link #COMPLETE}.
+	 */
+	public HttpHeaders trailers() {
+		return trailers;
+	}
+
+}
@@ -0,0 +1,140 @@
+package io.github.rfc2616.http;
+
+import java.util.Arrays;
+
+/**
+ * Content-codings the server can store a representation in, from most to least preferred
+ * when a client accepts several of them equally.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-3.5">RFC 2616 Section 3.5</a>
+ */
+public enum ContentCoding {
+	GZIP("gzip", "x-gzip"),
+	DEFLATE("deflate", null),
+	IDENTITY("identity", null);
+
+	private final String token;
+	private final String alias;
+
+	ContentCoding(final String token, final String alias) {
+		this.token = token;
+		this.alias = alias;
+	}
+
+	public String token() {
+		return token;
+	}
+
+	boolean matches(final String value, final int start, final int end) {
+		final int length = end - start;
+		return token.length() == length && value.regionMatches(true, start, token, 0, length)
+			|| alias != null && alias.length() == length && value.regionMatches(true, start, alias, 0, length);
+	}
+
+	/**
+	 * Picks the coding to answer with, following the {@code Accept-Encoding} rules of RFC 2616
+	 * Section 14.3: the highest q-value among {@code available} wins, {@code identity} stays
+	 * acceptable unless refused, and without the field only {@code identity} is used.
+	 *
+	 * @return the chosen coding, or {@code null} when none of {@code available} is acceptable
+	 */
+	public static ContentCoding negotiate(final String acceptEncoding, final ContentCoding... available) {
+		if( acceptEncoding == null ) {
+			return contains(available, IDENTITY) ? IDENTITY : null;
+		}
+
+		final ContentCoding[] codings = values();
+		final float[] quality = new float[codings.length];
+		Arrays.fill(quality, -1);
+		float wildcard = -1;
+
+		final int length = acceptEncoding.length();
+		int start = 0;
+		while( start < length ) {
+			int stop = acceptEncoding.indexOf(',', start);
+			if( stop == -1 ) { stop = length; }
+
+			int semicolon = acceptEncoding.indexOf(';', start);
+			if( semicolon == -1 || semicolon > stop ) { semicolon = stop; }
+
+			int from = start;
+			int to = semicolon;
+			while( from < to && acceptEncoding.charAt(from) <= ' ' ) { ++from; }
+			while( to > from && acceptEncoding.charAt(to - 1) <= ' ' ) { --to; }
+
+			final float q = qvalue(acceptEncoding, semicolon, stop);
+			if( from < to && q >= 0 ) {
+				if( to - from == 1 && acceptEncoding.charAt(from) == '*' ) {
+					wildcard = q;
+				} else {
+					for(final ContentCoding coding: codings) {
+						if( coding.matches(acceptEncoding, from, to) ) {
+							quality[coding.ordinal()] = Math.max(quality[coding.ordinal()], q);
+						}
+					}
+				}
+			}
+
+			start = stop + 1;
+		}
+
+		ContentCoding chosen = null;
+		float best = 0;
+		for(final ContentCoding coding: codings) {
+			if( ! contains(available, coding) ) {
+				continue;
+			}
+
+			float q = quality[coding.ordinal()];
+			if( q < 0 ) {
+				if( coding == IDENTITY ) {
+					// Always acceptable unless refused, but below anything the client asked for
+					q = wildcard == 0 ? 0 : Float.MIN_VALUE;
+				} else {
+					q = Math.max(wildcard, 0);
+				}
+			}
+
+			if( q > best ) {
+				best = q;
+				chosen = coding;
+			}
+		}
+
+		return chosen;
+	}
+
+	/**
+	 * @return the {@code q} parameter found in {@code [start, end)}, {@code 1} when absent, or
+	 *         {@code -1} when malformed
+	 */
+	private static float qvalue(final String value, final int start, final int end) {
+		int i = value.indexOf("q=", start);
+		if( i == -1 || i >= end ) {
+			i = value.indexOf("Q=", start);
+			if( i == -1 || i >= end ) {
+				return 1;
+			}
+		}
+
+		int to = end;
+		while( to > i && value.charAt(to - 1) <= ' ' ) { --to; }
+
+		try {
+			final float q = Float.parseFloat(value.substring(i + 2, to));
+			return q < 0 || q > 1 ? -1 : q;
+		} catch(NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private static boolean contains(final ContentCoding[] codings, final ContentCoding coding) {
+		for(final ContentCoding candidate: codings) {
+			if( candidate == coding ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,40 @@
+package io.github.rfc2616.http;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Strong entity tags derived from the content they describe.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-3.11">RFC 2616 Section 3.11</a>
+ */
+public final class EntityTag {
+
+	private EntityTag() { /***/ }
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * @return a quoted tag made of the first 64 bits of the SHA-256 of {@code content}
+	 */
+	public static String of(final byte[] content) {
+		final byte[] digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256").digest(content);
+		} catch(NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+
+		final char[] tag = new char[18];
+		tag[0] = '"';
+		for(int i = 0; i < 8; ++i) {
+			tag[1 + i * 2] = HEX[(digest[i] >> 4) & 0x0F];
+			tag[2 + i * 2] = HEX[digest[i] & 0x0F];
+		}
+		tag[17] = '"';
+
+		return new String(tag);
+	}
+
+}
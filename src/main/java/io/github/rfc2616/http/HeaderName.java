@@ -0,0 +1,123 @@
+package io.github.rfc2616.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Header field name with its wire bytes encoded once.
+ * <p>
+ * Well-known names are interned constants; lookups compare them against raw buffer slices
+ * ignoring ASCII case, so finding a header never allocates. Other names are interned as they
+ * come, up to a bound past which they get a fresh instance.
+ */
+public final class HeaderName {
+
+	private static final int MAX_INTERNED = 1024;
+
+	private static final Map<String, HeaderName> KNOWN = new HashMap<>();
+	private static final ConcurrentMap<String, HeaderName> INTERNED = new ConcurrentHashMap<>();
+
+	public static final HeaderName ACCEPT = known("Accept");
+	public static final HeaderName ACCEPT_ENCODING = known("Accept-Encoding");
+	public static final HeaderName ACCEPT_RANGES = known("Accept-Ranges");
+	public static final HeaderName ALLOW = known("Allow");
+	public static final HeaderName CONNECTION = known("Connection");
+	public static final HeaderName CONTENT_ENCODING = known("Content-Encoding");
+	public static final HeaderName CONTENT_LENGTH = known("Content-Length");
+	public static final HeaderName CONTENT_RANGE = known("Content-Range");
+	public static final HeaderName CONTENT_TYPE = known("Content-Type");
+	public static final HeaderName DATE = known("Date");
+	public static final HeaderName ETAG = known("ETag");
+	public static final HeaderName EXPECT = known("Expect");
+	public static final HeaderName HOST = known("Host");
+	public static final HeaderName IF_MODIFIED_SINCE = known("If-Modified-Since");
+	public static final HeaderName IF_NONE_MATCH = known("If-None-Match");
+	public static final HeaderName IF_RANGE = known("If-Range");
+	public static final HeaderName KEEP_ALIVE = known("Keep-Alive");
+	public static final HeaderName LAST_MODIFIED = known("Last-Modified");
+	public static final HeaderName RANGE = known("Range");
+	public static final HeaderName REFERER = known("Referer");
+	public static final HeaderName RETRY_AFTER = known("Retry-After");
+	public static final HeaderName SERVER = known("Server");
+	public static final HeaderName TE = known("TE");
+	public static final HeaderName TRAILER = known("Trailer");
+	public static final HeaderName TRANSFER_ENCODING = known("Transfer-Encoding");
+	public static final HeaderName USER_AGENT = known("User-Agent");
+	public static final HeaderName VARY = known("Vary");
+
+	private final String name;
+	private final byte[] raw;
+	private final byte[] lower;
+
+	private HeaderName(final String name) {
+		this.name = name;
+		this.raw = name.getBytes(StandardCharsets.US_ASCII);
+		this.lower = name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static HeaderName known(final String name) {
+		final HeaderName header = new HeaderName(name);
+		KNOWN.put(name.toLowerCase(Locale.ROOT), header);
+		return header;
+	}
+
+	/**
+	 * @return the constant for well-known names, whatever their case, an interned instance otherwise
+	 * @throws IllegalArgumentException when {@code name} is not a token
+	 */
+	public static HeaderName of(final String name) {
+		final HeaderName known = KNOWN.get(name.toLowerCase(Locale.ROOT));
+		if( known != null ) {
+			return known;
+		}
+
+		HeaderName header = INTERNED.get(name);
+		if( header != null ) {
+			return header;
+		}
+
+		if( ! Ascii.isToken(name) ) {
+			throw new IllegalArgumentException("Invalid header name: " + name);
+		}
+		header = new HeaderName(name);
+		if( INTERNED.size() < MAX_INTERNED ) {
+			final HeaderName raced = INTERNED.putIfAbsent(name, header);
+			if( raced != null ) {
+				return raced;
+			}
+		}
+		return header;
+	}
+
+	public String name() {
+		return name;
+	}
+
+	byte[] raw() {
+		return raw;
+	}
+
+	boolean matches(final byte[] data, final int start, final int end) {
+		if( end - start != lower.length ) {
+			return false;
+		}
+
+		for(int i = 0; i < lower.length; ++i) {
+			if( Ascii.toLowerCase(data[start + i]) != lower[i] ) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
@@ -0,0 +1,92 @@
+package io.github.rfc2616.http;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.Locale;
+
+/**
+ * HTTP-date values: always sent as RFC 1123 dates, accepted in any of the three formats.
+ * <p>
+ * The current date is shared by every connection and formatted at most once per second;
+ * readers get the same pre-encoded bytes until the second changes.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-3.3.1">RFC 2616 Section 3.3.1</a>
+ */
+public final class HttpDate {
+
+	private HttpDate() { /***/ }
+
+	private static final DateTimeFormatter RFC_1123_DATE_TIME = DateTimeFormatter
+		.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+		.withZone(ZoneOffset.UTC);
+
+	// Obsolete formats recipients must still accept
+	private static final DateTimeFormatter RFC_850_DATE_TIME = new DateTimeFormatterBuilder()
+		.appendPattern("EEEE, dd-MMM-")
+		.appendValueReduced(ChronoField.YEAR, 2, 2, 1970)
+		.appendPattern(" HH:mm:ss 'GMT'")
+		.toFormatter(Locale.US);
+	private static final DateTimeFormatter ASCTIME_DATE_TIME = DateTimeFormatter
+		.ofPattern("EEE MMM ppd HH:mm:ss yyyy", Locale.US);
+
+	private static final DateTimeFormatter[] FORMATS = { RFC_1123_DATE_TIME, RFC_850_DATE_TIME, ASCTIME_DATE_TIME };
+
+	private static final class Tick {
+		final long second;
+		final byte[] raw;
+
+		Tick(final long second) {
+			this.second = second;
+			this.raw = format(second * 1000).getBytes(StandardCharsets.US_ASCII);
+		}
+	}
+
+	private static volatile Tick current = new Tick(System.currentTimeMillis() / 1000);
+
+	public static String format(final long millis) {
+		return RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis));
+	}
+
+	/**
+	 * Parses any of the three HTTP-date formats.
+	 *
+	 * @return the date in milliseconds, or {@code -1} when {@code value} is not a valid HTTP-date
+	 */
+	public static long parse(final String value) {
+		if( value == null ) {
+			return -1;
+		}
+
+		final String date = value.trim();
+		for(final DateTimeFormatter format: FORMATS) {
+			try {
+				return LocalDateTime.parse(date, format).toInstant(ZoneOffset.UTC).toEpochMilli();
+			} catch(DateTimeParseException e) { /***/ }
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return the current date, encoded; callers must not modify the array
+	 */
+	public static byte[] now() {
+		final long second = System.currentTimeMillis() / 1000;
+
+		Tick tick = current;
+		if( tick.second != second ) {
+			// Racing threads may both format the same second; either result is correct
+			tick = new Tick(second);
+			current = tick;
+		}
+
+		return tick.raw;
+	}
+
+}
@@ -0,0 +1,326 @@
+package io.github.rfc2616.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Flat header table: parallel name/value slices over a single byte array.
+ * <p>
+ * Request headers are slices of the connection's read buffer, recorded by the parser.
+ * Response headers own their array and lay every added field out as a complete
+ * {@code Name: value CRLF} line, so the whole block is written with one copy.
+ */
+public final class HttpHeaders {
+
+	private static final int SLOTS = 4;
+	private static final int CAPACITY = 512;
+	private static final int FIELDS = SLOTS * 16;
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private static final byte[] COLON_SP = { ':', Ascii.SP };
+	private static final byte[] CRLF = { Ascii.CR, Ascii.LF };
+
+	private final boolean owned;
+
+	private byte[] data;
+	private int size;
+
+	// nameStart, nameEnd, valueStart, valueEnd per field
+	private int[] fields = new int[FIELDS];
+	private int count;
+
+	/**
+	 * Creates a table owning its bytes, for headers the server produces.
+	 */
+	public HttpHeaders() {
+		this.owned = true;
+		this.data = new byte[CAPACITY];
+	}
+
+	private HttpHeaders(final byte[] data) {
+		this.owned = false;
+		this.data = data;
+	}
+
+	/**
+	 * Creates a table of slices over {@code data}, for headers the parser records.
+	 */
+	public static HttpHeaders slices() {
+		return new HttpHeaders(EMPTY);
+	}
+
+	/**
+	 * Starts over on a new backing array (slice tables) or on the owned one.
+	 */
+	public void reset(final byte[] data) {
+		if( ! owned ) {
+			this.data = data;
+		}
+		this.clear();
+	}
+
+	/**
+	 * Follows the backing array when the read buffer had to grow; offsets are unchanged.
+	 */
+	void rebase(final byte[] data) {
+		if( ! owned ) {
+			this.data = data;
+		}
+	}
+
+	public void clear() {
+		this.count = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Clears the table and gives back the storage a large message made it grow; a slice table
+	 * also lets go of the array it was reading.
+	 */
+	public void shrink() {
+		if( ! owned ) {
+			this.data = EMPTY;
+		} else if( data.length > CAPACITY ) {
+			this.data = new byte[CAPACITY];
+		}
+		if( fields.length > FIELDS ) {
+			this.fields = new int[FIELDS];
+		}
+		this.clear();
+	}
+
+	public int size() {
+		return count;
+	}
+
+	void addSlice(final int nameStart, final int nameEnd, final int valueStart, final int valueEnd) {
+		final int slot = count * SLOTS;
+		if( slot == fields.length ) {
+			this.fields = Arrays.copyOf(fields, fields.length * 2);
+		}
+
+		fields[slot] = nameStart;
+		fields[slot + 1] = nameEnd;
+		fields[slot + 2] = valueStart;
+		fields[slot + 3] = valueEnd;
+		++count;
+	}
+
+	/**
+	 * Moves the end of the last value, once a folded continuation line was joined to it.
+	 */
+	void extendLastValue(final int valueEnd) {
+		fields[(count - 1) * SLOTS + 3] = valueEnd;
+	}
+
+	/**
+	 * Drops the optional white space around every value.
+	 */
+	void trimValues() {
+		for(int slot = 0; slot < count * SLOTS; slot += SLOTS) {
+			int start = fields[slot + 2];
+			int end = fields[slot + 3];
+			while( start < end && Ascii.isWhitespace(data[start]) ) { ++start; }
+			while( end > start && Ascii.isWhitespace(data[end - 1]) ) { --end; }
+			fields[slot + 2] = start;
+			fields[slot + 3] = end;
+		}
+	}
+
+	public int indexOf(final HeaderName name) {
+		for(int slot = 0; slot < count * SLOTS; slot += SLOTS) {
+			if( name.matches(data, fields[slot], fields[slot + 1]) ) {
+				return slot / SLOTS;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains(final HeaderName name) {
+		return indexOf(name) != -1;
+	}
+
+	public String name(final int index) {
+		return Ascii.string(data, fields[index * SLOTS], fields[index * SLOTS + 1]);
+	}
+
+	public String value(final int index) {
+		return Ascii.string(data, fields[index * SLOTS + 2], fields[index * SLOTS + 3]);
+	}
+
+	/**
+	 * @return the first value of the field, or {@code null} when absent
+	 */
+	public String get(final HeaderName name) {
+		final int index = indexOf(name);
+		return index == -1 ? null : value(index);
+	}
+
+	/**
+	 * @return the first value parsed as a non-negative decimal, or {@code -1} when the field
+	 *         is absent or not a valid number
+	 */
+	public long getLong(final HeaderName name) {
+		final int index = indexOf(name);
+		if( index == -1 ) {
+			return -1;
+		}
+
+		final int start = fields[index * SLOTS + 2];
+		final int end = fields[index * SLOTS + 3];
+		if( start == end || end - start > 18 ) {
+			return -1;
+		}
+
+		long value = 0;
+		for(int i = start; i < end; ++i) {
+			final int digit = data[i] - '0';
+			if( digit < 0 || digit > 9 ) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+
+		return value;
+	}
+
+	/**
+	 * Tells whether any value of the field lists {@code token} (comma separated, any case).
+	 */
+	public boolean containsToken(final HeaderName name, final String token) {
+		for(int slot = 0; slot < count * SLOTS; slot += SLOTS) {
+			if( ! name.matches(data, fields[slot], fields[slot + 1]) ) {
+				continue;
+			}
+
+			final int end = fields[slot + 3];
+			int start = fields[slot + 2];
+			while( start < end ) {
+				int stop = start;
+				while( stop < end && data[stop] != ',' ) { ++stop; }
+
+				int from = start;
+				int to = stop;
+				while( from < to && Ascii.isWhitespace(data[from]) ) { ++from; }
+				while( to > from && Ascii.isWhitespace(data[to - 1]) ) { --to; }
+
+				if( Ascii.equalsIgnoreCase(data, from, to, token) ) {
+					return true;
+				}
+
+				start = stop + 1;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Appends a field line; CR and LF in the value are blanked so it cannot split the head, and
+	 * {@link HeaderName#of} only builds names that are tokens.
+	 */
+	public HttpHeaders add(final HeaderName name, final String value) {
+		if( ! owned ) {
+			throw new IllegalStateException("Request headers are read-only");
+		}
+
+		final byte[] raw = name.raw();
+		this.ensure(raw.length + value.length() + 4);
+
+		final int nameStart = size;
+		System.arraycopy(raw, 0, data, size, raw.length);
+		size += raw.length;
+		final int nameEnd = size;
+
+		data[size++] = ':';
+		data[size++] = Ascii.SP;
+
+		final int valueStart = size;
+		for(int i = 0; i < value.length(); ++i) {
+			final char c = value.charAt(i);
+			data[size++] = c == '\r' || c == '\n' || c > 0xFF ? Ascii.SP : (byte) c;
+		}
+		final int valueEnd = size;
+
+		data[size++] = Ascii.CR;
+		data[size++] = Ascii.LF;
+
+		this.addSlice(nameStart, nameEnd, valueStart, valueEnd);
+		return this;
+	}
+
+	/**
+	 * Appends every field of {@code other}.
+	 */
+	public HttpHeaders addAll(final HttpHeaders other) {
+		for(int index = 0; index < other.size(); ++index) {
+			this.add(HeaderName.of(other.name(index)), other.value(index));
+		}
+		return this;
+	}
+
+	/**
+	 * Replaces every existing value of the field with {@code value}.
+	 */
+	public HttpHeaders set(final HeaderName name, final String value) {
+		this.remove(name);
+		return this.add(name, value);
+	}
+
+	public HttpHeaders set(final HeaderName name, final long value) {
+		return this.set(name, Long.toString(value));
+	}
+
+	public void remove(final HeaderName name) {
+		int index;
+		while( (index = indexOf(name)) != -1 ) {
+			this.removeAt(index);
+		}
+	}
+
+	private void removeAt(final int index) {
+		final int slot = index * SLOTS;
+
+		if( owned ) {
+			// Close the gap left by the field line and shift the offsets of later fields
+			final int lineStart = fields[slot];
+			final int lineEnd = fields[slot + 3] + CRLF.length;
+			final int gap = lineEnd - lineStart;
+			System.arraycopy(data, lineEnd, data, lineStart, size - lineEnd);
+			size -= gap;
+
+			for(int later = slot + SLOTS; later < count * SLOTS; ++later) {
+				fields[later] -= gap;
+			}
+		}
+
+		System.arraycopy(fields, slot + SLOTS, fields, slot, (count - index - 1) * SLOTS);
+		--count;
+	}
+
+	private void ensure(final int extra) {
+		if( size + extra > data.length ) {
+			this.data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+		}
+	}
+
+	/**
+	 * Writes every field as a {@code Name: value CRLF} line.
+	 */
+	public void writeTo(final OutputStream out) throws IOException {
+		if( owned ) {
+			out.write(data, 0, size);
+			return;
+		}
+
+		for(int slot = 0; slot < count * SLOTS; slot += SLOTS) {
+			out.write(data, fields[slot], fields[slot + 1] - fields[slot]);
+			out.write(COLON_SP);
+			out.write(data, fields[slot + 2], fields[slot + 3] - fields[slot + 2]);
+			out.write(CRLF);
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+package io.github.rfc2616.http;
+
+import java.nio.charset.StandardCharsets;
+
+public enum HttpMethod {
+	OPTIONS, HEAD, GET, POST, PUT, DELETE, TRACE, CONNECT;
+
+	private final byte[] raw = name().getBytes(StandardCharsets.US_ASCII);
+
+	public static HttpMethod from(final String method) {
+		if (method == null) {
+			return null;
+		}
+		for (final HttpMethod m : values()) {
+			if (m.name().equalsIgnoreCase(method)) {
+				return m;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Resolves a method token straight from the request buffer, without allocating.
+	 * Matching stays case-insensitive, as it has always been for this server.
+	 */
+	public static HttpMethod from(final byte[] data, final int start, final int end) {
+		switch(end - start) {
+			case 3: return match(data, start, GET, PUT);
+			case 4: return match(data, start, POST, HEAD);
+			case 5: return match(data, start, TRACE, null);
+			case 6: return match(data, start, DELETE, null);
+			case 7: return match(data, start, OPTIONS, CONNECT);
+			default: return null;
+		}
+	}
+
+	private static HttpMethod match(final byte[] data, final int start, final HttpMethod first, final HttpMethod second) {
+		if( first.matches(data, start) ) { return first; }
+		if( second != null && second.matches(data, start) ) { return second; }
+		return null;
+	}
+
+	private boolean matches(final byte[] data, final int start) {
+		for(int i = 0; i < raw.length; ++i) {
+			// Method names are upper case letters only: clearing bit 0x20 upper-cases ASCII letters
+			if( (data[start + i] & 0xDF) != raw[i] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
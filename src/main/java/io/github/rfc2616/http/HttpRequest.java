@@ -0,0 +1,76 @@
+package io.github.rfc2616.http;
+
+/**
+ * Request as seen by an application handler: the parsed head, the body stream and the path
+ * parameters captured by the route. Valid only while the handler runs.
+ * <p>
+ * The object is reused: it is {@link #reset()} between the requests of a connection and
+ * {@link #recycle() recycled} for another connection once this one is done with it.
+ */
+public final class HttpRequest {
+
+	private final RequestHeadParser head = new RequestHeadParser();
+	private final RequestBody body = new RequestBody();
+	private final PathParameters parameters = new PathParameters();
+
+	/**
+	 * Readies the context for the next request of the connection.
+	 */
+	public void reset() {
+		body.clear();
+		parameters.reset(null);
+	}
+
+	/**
+	 * Resets the context and lets go of the connection's buffers and of the storage a large head made it grow.
+	 */
+	public void recycle() {
+		this.reset();
+		head.release();
+	}
+
+	/**
+	 * @return the parser filling this request
+	 */
+	public RequestHeadParser head() {
+		return head;
+	}
+
+	public HttpMethod method() {
+		return head.method();
+	}
+
+	public RequestTarget target() {
+		return head.target();
+	}
+
+	/**
+	 * @return the decoded request path
+	 */
+	public String path() {
+		return head.target().decodedPath();
+	}
+
+	public HttpHeaders headers() {
+		return head.headers();
+	}
+
+	/**
+	 * @return the request body, read as it arrives; empty for requests without one
+	 */
+	public RequestBody body() {
+		return body;
+	}
+
+	public PathParameters parameters() {
+		return parameters;
+	}
+
+	/**
+	 * @return the decoded path parameter {@code name}, or {@code null} when the route has none
+	 */
+	public String parameter(final String name) {
+		return parameters.get(name);
+	}
+
+}
@@ -0,0 +1,142 @@
+package io.github.rfc2616.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Response as written by an application handler.
+ * <p>
+ * What the handler writes to {@link #body()} is sent with a {@code Content-Length} once it
+ * returns. A handler producing a large or open-ended body calls {@link #stream()} instead,
+ * which commits the status and headers set so far.
+ */
+public final class HttpResponse {
+
+	/**
+	 * Size the body buffer starts at and returns to when recycled.
+	 */
+	public static final int BODY_CAPACITY = 1024;
+	/**
+	 * Largest body buffer kept from one request to the next of a connection.
+	 */
+	public static final int MAX_RETAINED_BODY = 65536;
+
+	/**
+	 * Body buffer that can give back the storage a large body made it grow.
+	 */
+	private static final class Body extends ByteArrayOutputStream {
+
+		Body() {
+			super(BODY_CAPACITY);
+		}
+
+		void reset(final int retained) {
+			this.reset();
+			if( buf.length > retained ) {
+				this.buf = new byte[BODY_CAPACITY];
+			}
+		}
+
+		int capacity() {
+			return buf.length;
+		}
+
+	}
+
+	private final HttpHeaders headers = new HttpHeaders();
+	private final Body body = new Body();
+	private Function<HttpStatus, ResponseBodyStream> opener;
+
+	private HttpStatus status = HttpStatus.OK;
+	private ResponseBodyStream stream;
+
+	/**
+	 * Attaches the response to a connection.
+	 *
+	 * @param opener opens the connection's response stream for a status
+	 */
+	public void bind(final Function<HttpStatus, ResponseBodyStream> opener) {
+		this.opener = opener;
+	}
+
+	/**
+	 * Readies the response for the next request of the connection.
+	 */
+	public void reset() {
+		this.status = HttpStatus.OK;
+		this.stream = null;
+		headers.clear();
+		body.reset(MAX_RETAINED_BODY);
+	}
+
+	/**
+	 * Resets the response, detaches it from its connection and gives back the storage a large response made it grow.
+	 */
+	public void recycle() {
+		this.reset();
+		this.opener = null;
+		headers.shrink();
+		body.reset(BODY_CAPACITY);
+	}
+
+	public HttpStatus status() {
+		return status;
+	}
+
+	public HttpResponse status(final HttpStatus status) {
+		this.status = status;
+		return this;
+	}
+
+	public HttpHeaders headers() {
+		return headers;
+	}
+
+	/**
+	 * @return the buffered body
+	 */
+	public OutputStream body() {
+		return body;
+	}
+
+	/**
+	 * @return the buffered body, as the server sends it
+	 */
+	public ByteArrayOutputStream buffer() {
+		return body;
+	}
+
+	/**
+	 * @return bytes the body buffer holds room for
+	 */
+	public int bufferCapacity() {
+		return body.capacity();
+	}
+
+	/**
+	 * Buffers {@code text} as the body, encoded as UTF-8, with its content type.
+	 */
+	public HttpResponse send(final String contentType, final String text) {
+		headers.set(HeaderName.CONTENT_TYPE, contentType);
+		final byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+		body.write(raw, 0, raw.length);
+		return this;
+	}
+
+	/**
+	 * Opens the streamed body on first call; see {@link ResponseBodyStream}.
+	 */
+	public ResponseBodyStream stream() {
+		if( stream == null ) {
+			this.stream = opener.apply(status);
+		}
+		return stream;
+	}
+
+	public boolean isStreamed() {
+		return stream != null;
+	}
+
+}
@@ -0,0 +1,191 @@
+package io.github.rfc2616.http;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reusable read buffer in front of a connection's input.
+ * <p>
+ * Bytes are pulled from the source in bulk and parsed in place. The region before the
+ * {@link #pin() pinned} floor (the head of the request being handled) is never moved by
+ * later fills, so offsets into it stay valid until {@link #discard()} starts the next message.
+ * <p>
+ * The output given at construction is flushed before every read from the source: responses to
+ * pipelined requests that are already buffered accumulate, and leave together once the next
+ * request has to be waited for.
+ */
+public final class InputBuffer extends InputStream {
+
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	private final InputStream source;
+	private final Flushable output;
+	private final int capacity;
+
+	private byte[] data;
+	private int floor = 0;
+	private int position = 0;
+	private int limit = 0;
+	private long received = 0;
+
+	public InputBuffer(final InputStream source) {
+		this(source, DEFAULT_CAPACITY, null);
+	}
+
+	public InputBuffer(final InputStream source, final int capacity) {
+		this(source, capacity, null);
+	}
+
+	public InputBuffer(final InputStream source, final Flushable output) {
+		this(source, DEFAULT_CAPACITY, output);
+	}
+
+	public InputBuffer(final InputStream source, final int capacity, final Flushable output) {
+		this.source = source;
+		this.output = output;
+		this.capacity = capacity;
+		this.data = new byte[capacity];
+	}
+
+	public byte[] array() {
+		return data;
+	}
+
+	public int position() {
+		return position;
+	}
+
+	public void position(final int position) {
+		this.position = position;
+	}
+
+	public int limit() {
+		return limit;
+	}
+
+	/**
+	 * @return bytes read from the source so far
+	 */
+	public long received() {
+		return received;
+	}
+
+	/**
+	 * Moves the unread bytes to the start of the buffer and releases the pinned region.
+	 * A buffer a large head made grow returns to its initial capacity once the rest fits in it.
+	 */
+	public void discard() {
+		final int unread = limit - position;
+		if( data.length > capacity && unread <= capacity ) {
+			final byte[] initial = new byte[capacity];
+			System.arraycopy(data, position, initial, 0, unread);
+			this.data = initial;
+		} else if( position > 0 && unread > 0 ) {
+			System.arraycopy(data, position, data, 0, unread);
+		}
+
+		this.position = 0;
+		this.limit = unread;
+		this.floor = 0;
+	}
+
+	/**
+	 * Keeps every byte before the current position in place until the next {@link #discard()}.
+	 */
+	public void pin() {
+		this.floor = position;
+	}
+
+	/**
+	 * Reads more bytes from the source after the current limit, compacting consumed bytes
+	 * or growing the buffer when there is no room left.
+	 *
+	 * @return the number of bytes read, or {@code -1} at end of stream
+	 */
+	public int fill() throws IOException {
+		if( position == limit ) {
+			this.position = floor;
+			this.limit = floor;
+		}
+
+		if( limit == data.length ) {
+			if( position > floor ) {
+				System.arraycopy(data, position, data, floor, limit - position);
+				this.limit -= position - floor;
+				this.position = floor;
+			}
+
+			if( limit == data.length ) {
+				this.data = Arrays.copyOf(data, data.length * 2);
+			}
+		}
+
+		final int count = this.readSource(data, limit, data.length - limit);
+		if( count > 0 ) {
+			this.limit += count;
+		}
+
+		return count;
+	}
+
+	private int readSource(final byte[] b, final int off, final int len) throws IOException {
+		if( output != null ) {
+			output.flush();
+		}
+		final int count = source.read(b, off, len);
+		if( count > 0 ) {
+			this.received += count;
+		}
+		return count;
+	}
+
+	@Override
+	public int read() throws IOException {
+		while( position == limit ) {
+			if( fill() == -1 ) {
+				return -1;
+			}
+		}
+
+		return data[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		if( len == 0 ) {
+			return 0;
+		}
+
+		if( position == limit ) {
+			// Nothing buffered: large reads go straight to the caller's array
+			if( len >= data.length - floor ) {
+				return this.readSource(b, off, len);
+			}
+
+			int count = 0;
+			while( count == 0 ) {
+				count = fill();
+			}
+			if( count == -1 ) {
+				return -1;
+			}
+		}
+
+		final int count = Math.min(len, limit - position);
+		System.arraycopy(data, position, b, off, count);
+		this.position += count;
+
+		return count;
+	}
+
+	/**
+	 * Bytes already buffered; the source itself is not consulted.
+	 */
+	@Override
+	public int available() {
+		return limit - position;
+	}
+
+}
@@ -0,0 +1,168 @@
+package io.github.rfc2616.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * Reusable write buffer in front of a connection's channel.
+ * <p>
+ * A response is assembled here with plain array copies and reaches the connection in one
+ * write on {@link #flush()}. A payload larger than the buffer is not copied: it leaves
+ * together with the buffered head in a single gathering write.
+ * <p>
+ * A buffer given a {@link BufferPool} leases a direct slab on its first write and gives it
+ * back on {@link #release()}, so connections waiting for their next request hold none.
+ */
+public final class OutputBuffer extends OutputStream {
+
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	private final GatheringByteChannel channel;
+	private final BufferPool pool;
+	private final int capacity;
+
+	private BufferPool.Slab slab;
+	private ByteBuffer buffered;
+	private final ByteBuffer[] gather = new ByteBuffer[2];
+	private long sent = 0;
+
+	public OutputBuffer(final GatheringByteChannel channel) {
+		this(channel, DEFAULT_CAPACITY);
+	}
+
+	public OutputBuffer(final GatheringByteChannel channel, final int capacity) {
+		this.channel = channel;
+		this.pool = null;
+		this.capacity = capacity;
+		this.buffered = ByteBuffer.allocate(capacity);
+	}
+
+	public OutputBuffer(final GatheringByteChannel channel, final BufferPool pool) {
+		this.channel = channel;
+		this.pool = pool;
+		this.capacity = BufferPool.SLAB_SIZE;
+	}
+
+	public int size() {
+		return buffered == null ? 0 : buffered.position();
+	}
+
+	/**
+	 * @return bytes written to this buffer since it was created, those still buffered included
+	 */
+	public long sent() {
+		return sent;
+	}
+
+	private ByteBuffer buffer() {
+		if( buffered == null ) {
+			this.slab = pool.lease();
+			this.buffered = slab.buffer();
+		}
+		return buffered;
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		if( ! this.buffer().hasRemaining() ) {
+			this.drain();
+		}
+		buffered.put((byte) b);
+		++sent;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException {
+		if( len <= this.buffer().remaining() ) {
+			buffered.put(b, off, len);
+			this.sent += len;
+			return;
+		}
+
+		if( len < capacity ) {
+			this.drain();
+			buffered.put(b, off, len);
+			this.sent += len;
+			return;
+		}
+
+		this.write(ByteBuffer.wrap(b, off, len));
+	}
+
+	/**
+	 * Sends the buffered bytes followed by {@code payload}, in as few writes as the channel allows.
+	 */
+	public void write(final ByteBuffer payload) throws IOException {
+		final ByteBuffer head = this.buffer();
+		this.sent += payload.remaining();
+		head.flip();
+		gather[0] = head;
+		gather[1] = payload;
+		try {
+			while( payload.hasRemaining() ) {
+				channel.write(gather);
+			}
+		} finally {
+			gather[0] = null;
+			gather[1] = null;
+			head.clear();
+		}
+	}
+
+	/**
+	 * Sends the buffered bytes, then {@code count} bytes of {@code file} from {@code position}.
+	 * When the connection is a socket channel this is a zero-copy {@code sendfile}.
+	 */
+	public void transferFrom(final FileChannel file, final long position, final long count) throws IOException {
+		this.drain();
+		this.sent += count;
+
+		long offset = position;
+		final long end = position + count;
+		while( offset < end ) {
+			final long transferred = file.transferTo(offset, end - offset, channel);
+			if( transferred <= 0 && offset >= file.size() ) {
+				throw new EOFException("File truncated while being sent");
+			}
+			offset += transferred;
+		}
+	}
+
+	private void drain() throws IOException {
+		if( buffered != null && buffered.position() > 0 ) {
+			buffered.flip();
+			try {
+				while( buffered.hasRemaining() ) {
+					channel.write(buffered);
+				}
+			} finally {
+				buffered.clear();
+			}
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		this.drain();
+	}
+
+	/**
+	 * Flushes, then gives the slab back to the pool; the next write leases another.
+	 */
+	public void release() throws IOException {
+		try {
+			this.drain();
+		} finally {
+			if( slab != null ) {
+				slab.release();
+				this.slab = null;
+				this.buffered = null;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package io.github.rfc2616.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Values a route pattern captured from the request path, as offsets into it.
+ * <p>
+ * Values are only cut out and percent-decoded when asked for, so matching a route allocates nothing.
+ */
+public final class PathParameters {
+
+	private String path;
+	private String[] names = new String[4];
+	private int[] bounds = new int[8];
+	private int size;
+
+	/**
+	 * Starts capturing from {@code path}, still percent-encoded.
+	 */
+	public void reset(final String path) {
+		this.path = path;
+		this.size = 0;
+	}
+
+	public void add(final String name, final int start, final int end) {
+		if( size == names.length ) {
+			this.names = Arrays.copyOf(names, size * 2);
+			this.bounds = Arrays.copyOf(bounds, size * 4);
+		}
+
+		names[size] = name;
+		bounds[2 * size] = start;
+		bounds[2 * size + 1] = end;
+		++size;
+	}
+
+	/**
+	 * Drops the values captured after the first {@code size}.
+	 */
+	public void truncate(final int size) {
+		this.size = Math.min(this.size, size);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public String name(final int index) {
+		return names[index];
+	}
+
+	/**
+	 * @return the decoded value at {@code index}
+	 */
+	public String value(final int index) {
+		final int start = bounds[2 * index];
+		final int end = bounds[2 * index + 1];
+		final int escape = path.indexOf('%', start);
+		if( escape < 0 || escape >= end ) {
+			return path.substring(start, end);
+		}
+
+		final byte[] raw = path.substring(start, end).getBytes(StandardCharsets.ISO_8859_1);
+		return RequestTarget.decode(raw, 0, raw.length, false);
+	}
+
+	/**
+	 * @return the decoded value captured as {@code name}, or {@code null}
+	 */
+	public String get(final String name) {
+		for(int index = 0; index < size; ++index) {
+			if( names[index].equals(name) ) {
+				return this.value(index);
+			}
+		}
+		return null;
+	}
+
+}
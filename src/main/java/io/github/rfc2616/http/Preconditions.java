@@ -0,0 +1,94 @@
+package io.github.rfc2616.http;
+
+/**
+ * Conditional GET evaluation against a representation's validators.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-14.26">RFC 2616 Section 14.26</a>
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-14.25">RFC 2616 Section 14.25</a>
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-14.27">RFC 2616 Section 14.27</a>
+ */
+public final class Preconditions {
+
+	private Preconditions() { /***/ }
+
+	/**
+	 * {@code If-None-Match} takes precedence: when present, only a matching entity tag (or
+	 * {@code *}) yields 304 and {@code If-Modified-Since} is ignored. Otherwise a valid
+	 * {@code If-Modified-Since} not older than {@code lastModified} does.
+	 *
+	 * @param lastModified modification time in milliseconds, or {@code -1} when unknown
+	 * @return {@code true} when a GET can be answered with {@code 304 Not Modified}
+	 */
+	public static boolean isNotModified(final HttpHeaders request, final String etag, final long lastModified) {
+		final String ifNoneMatch = request.get(HeaderName.IF_NONE_MATCH);
+		if( ifNoneMatch != null ) {
+			return etag != null && matches(ifNoneMatch, etag);
+		}
+
+		if( lastModified < 0 ) {
+			return false;
+		}
+
+		final long since = HttpDate.parse(request.get(HeaderName.IF_MODIFIED_SINCE));
+		// A date later than the server's current time is invalid and ignored
+		return since >= 0 && since <= System.currentTimeMillis() && lastModified <= since;
+	}
+
+	/**
+	 * {@code If-Range} lets the client's ranges apply only to the representation it already holds
+	 * part of: the entity tag must match with the strong comparison, or the date must equal
+	 * {@code lastModified} exactly.
+	 *
+	 * @param lastModified modification time in milliseconds, or {@code -1} when unknown
+	 * @return {@code true} when {@code Range} is to be honoured, {@code false} when the full
+	 *         representation must be sent
+	 */
+	public static boolean isRangeFresh(final HttpHeaders request, final String etag, final long lastModified) {
+		final String ifRange = request.get(HeaderName.IF_RANGE);
+		if( ifRange == null ) {
+			return true;
+		}
+
+		if( ifRange.startsWith("\"") || ifRange.startsWith("W/") ) {
+			return etag != null && ! etag.startsWith("W/") && ifRange.equals(etag);
+		}
+
+		final long date = HttpDate.parse(ifRange);
+		return date >= 0 && lastModified >= 0 && date == lastModified;
+	}
+
+	/**
+	 * Weak comparison, as allowed for GET: a {@code W/} prefix on either side is ignored.
+	 */
+	static boolean matches(final String list, final String etag) {
+		final int tagStart = etag.startsWith("W/") ? 2 : 0;
+		final int tagLength = etag.length() - tagStart;
+
+		final int length = list.length();
+		int start = 0;
+		while( start < length ) {
+			int stop = list.indexOf(',', start);
+			if( stop == -1 ) { stop = length; }
+
+			int from = start;
+			int to = stop;
+			while( from < to && list.charAt(from) <= ' ' ) { ++from; }
+			while( to > from && list.charAt(to - 1) <= ' ' ) { --to; }
+
+			if( to - from == 1 && list.charAt(from) == '*' ) {
+				return true;
+			}
+			if( list.startsWith("W/", from) ) {
+				from += 2;
+			}
+			if( to - from == tagLength && list.regionMatches(from, etag, tagStart, tagLength) ) {
+				return true;
+			}
+
+			start = stop + 1;
+		}
+
+		return false;
+	}
+
+}
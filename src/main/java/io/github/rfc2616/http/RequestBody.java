@@ -0,0 +1,242 @@
+package io.github.rfc2616.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+import io.github.rfc2616.exceptions.RequestEntityTooLargeException;
+
+/**
+ * Request body read straight from the connection as handlers consume it.
+ * <p>
+ * The stream ends with the message body: a {@code Content-Length} body is cut at its length, a
+ * chunked one at its last chunk, decoded in place by a {@link ChunkedDecoder} whose trailer
+ * fields are then available. Nothing is buffered beyond the connection's read buffer; a
+ * handler that needs the whole body at once {@link #spool(int) spools} it. Reading past the
+ * size limit fails with {@link RequestEntityTooLargeException}.
+ */
+public final class RequestBody extends InputStream {
+
+	private InputBuffer in;
+	private long limit;
+
+	private boolean chunked;
+	private final ChunkedDecoder decoder = new ChunkedDecoder();
+	private boolean finished = true;
+	private boolean exceeded;
+	private boolean malformed;
+	// Bytes left in the content
+	private long remaining;
+	private long received;
+
+	private final byte[] single = new byte[1];
+	// Scratch of discard(), kept with the pooled body once a request needed it
+	private byte[] skip;
+	private ReadableByteChannel channel;
+
+	/**
+	 * Starts a body of {@code length} bytes; the caller has checked it against its limit.
+	 */
+	public void reset(final InputBuffer in, final long length) {
+		this.start(in, Long.MAX_VALUE);
+		this.remaining = length;
+		this.finished = length <= 0;
+	}
+
+	/**
+	 * Starts a chunked body of at most {@code limit} bytes.
+	 */
+	public void resetChunked(final InputBuffer in, final long limit) {
+		this.start(in, limit);
+		this.chunked = true;
+		this.finished = false;
+		this.decoder.reset(limit);
+	}
+
+	/**
+	 * Starts an empty body, for requests without one.
+	 */
+	public void clear() {
+		this.start(null, 0);
+	}
+
+	private void start(final InputBuffer in, final long limit) {
+		this.in = in;
+		this.limit = limit;
+		this.chunked = false;
+		this.finished = true;
+		this.exceeded = false;
+		this.malformed = false;
+		this.remaining = 0;
+		this.received = 0;
+	}
+
+	/**
+	 * @return bytes of body content read so far
+	 */
+	public long received() {
+		return received;
+	}
+
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * @return {@code true} once reading stopped at the size limit; the rest of the body was not read
+	 */
+	public boolean isExceeded() {
+		return exceeded;
+	}
+
+	/**
+	 * @return {@code true} once reading stopped at invalid chunked framing
+	 */
+	public boolean isMalformed() {
+		return malformed;
+	}
+
+	/**
+	 * @return the trailer fields of a chunked body, once it has been read to the end
+	 */
+	public HttpHeaders trailers() {
+		return decoder.trailers();
+	}
+
+	/**
+	 * @return the body as a channel, for handlers working with buffers
+	 */
+	public ReadableByteChannel channel() {
+		if( channel == null ) {
+			this.channel = Channels.newChannel(this);
+		}
+		return channel;
+	}
+
+	@Override
+	public int read() throws IOException {
+		return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		if( len == 0 ) {
+			return 0;
+		}
+
+		if( finished ) {
+			return -1;
+		}
+
+		if( chunked ) {
+			return this.readChunked(b, off, len);
+		}
+
+		final int count = in.read(b, off, (int) Math.min(len, remaining));
+		if( count == -1 ) {
+			throw new EOFException("Request body truncated");
+		}
+
+		this.remaining -= count;
+		this.received += count;
+		if( remaining == 0 ) {
+			this.finished = true;
+		}
+
+		return count;
+	}
+
+	private int readChunked(final byte[] b, final int off, final int len) throws IOException {
+		while( true ) {
+			final byte status = decoder.decode(in.array(), in.position(), in.limit());
+			in.position(decoder.position());
+
+			switch(status) {
+				case ChunkedDecoder.CONTENT:
+					final int count = in.read(b, off, (int) Math.min(len, decoder.remaining()));
+					if( count == -1 ) {
+						throw new EOFException("Request body truncated");
+					}
+					decoder.consume(count);
+					this.received += count;
+					return count;
+
+				case ChunkedDecoder.UNDERFLOW:
+					if( in.fill() == -1 ) {
+						throw new EOFException("Request body truncated");
+					}
+					continue;
+
+				case ChunkedDecoder.COMPLETE:
+					this.finished = true;
+					return -1;
+
+				case ChunkedDecoder.TOO_LARGE:
+					this.exceeded = true;
+					this.finished = true;
+					throw new RequestEntityTooLargeException(limit);
+
+				default:
+					this.malformed = true;
+					this.finished = true;
+					throw new IOException("Malformed chunked body");
+			}
+		}
+	}
+
+	@Override
+	public int available() {
+		if( finished ) {
+			return 0;
+		}
+		return (int) Math.min(chunked ? decoder.remaining() : remaining, in.available());
+	}
+
+	/**
+	 * Reads and drops what the handler left of the body, so the next request can be read.
+	 *
+	 * @return {@code false} when more than {@code max} bytes were left: the connection has to be closed
+	 */
+	public boolean discard(final long max) throws IOException {
+		if( exceeded || malformed ) {
+			return false;
+		}
+		if( finished ) {
+			return true;
+		}
+
+		if( skip == null ) {
+			this.skip = new byte[4096];
+		}
+		long left = max;
+		while( ! finished ) {
+			if( left <= 0 || ( ! chunked && remaining > left ) || ( chunked && decoder.remaining() > left ) ) {
+				return false;
+			}
+
+			final int count = read(skip, 0, (int) Math.min(skip.length, left));
+			if( count > 0 ) {
+				left -= count;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads the rest of the body, in memory up to {@code threshold} bytes and in a temporary file beyond.
+	 */
+	public SpooledBody spool(final int threshold) throws IOException {
+		final SpooledBody body = new SpooledBody(threshold);
+		try {
+			body.readFrom(this);
+		} catch(IOException e) {
+			body.close();
+			throw e;
+		}
+		return body;
+	}
+
+}
@@ -0,0 +1,263 @@
+package io.github.rfc2616.http;
+
+import static io.github.rfc2616.http.Ascii.CR;
+import static io.github.rfc2616.http.Ascii.HT;
+import static io.github.rfc2616.http.Ascii.LF;
+import static io.github.rfc2616.http.Ascii.SP;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Single-pass request head parser.
+ * <p>
+ * Scans the connection's {@link InputBuffer} once, as a state machine, until the empty line
+ * ending the head. The request line is recorded as offsets into the buffer and the header
+ * fields as {@link HttpHeaders} slices; nothing is copied until a caller asks for a value.
+ */
+public final class RequestHeadParser {
+
+	public static final int MAX_HEAD_SIZE = 65536;
+
+	public static final byte HEAD_COMPLETE = 0;
+	public static final byte HEAD_EOF = 1;
+	public static final byte HEAD_MALFORMED = 2;
+	public static final byte HEAD_TOO_LARGE = 3;
+
+	private static final byte S_LEADING = 0;
+	private static final byte S_METHOD = 1;
+	private static final byte S_URI = 2;
+	private static final byte S_VERSION = 3;
+	private static final byte S_LINE_LF = 4;
+	private static final byte S_LINE_START = 5;
+	private static final byte S_NAME = 6;
+	private static final byte S_VALUE = 7;
+	private static final byte S_HEAD_LF = 8;
+
+	private InputBuffer buffer;
+
+	private int headStart;
+	private int headEnd;
+	private int methodStart;
+	private int methodEnd;
+	private int uriStart;
+	private int uriEnd;
+	private int versionStart;
+	private int versionEnd;
+
+	private final HttpHeaders headers = HttpHeaders.slices();
+	private final RequestTarget target = new RequestTarget();
+
+	/**
+	 * Lets go of the buffer last parsed and of the storage a large head made the field table grow.
+	 */
+	public void release() {
+		this.buffer = null;
+		headers.shrink();
+	}
+
+	public byte parse(final InputBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		// Nothing of the previous head may leak into a request that fails to parse
+		this.headStart = this.headEnd = 0;
+		this.methodStart = this.methodEnd = 0;
+		this.uriStart = this.uriEnd = 0;
+		this.versionStart = this.versionEnd = 0;
+
+		buffer.discard();
+		headers.reset(buffer.array());
+
+		byte state = S_LEADING;
+		int terminator = 0;
+		int nameStart = 0;
+		int nameEnd = 0;
+		int valueStart = 0;
+		boolean folded = false;
+
+		int i = buffer.position();
+		byte[] data = buffer.array();
+
+		while(true) {
+			if( i == buffer.limit() ) {
+				if( i >= MAX_HEAD_SIZE ) {
+					return HEAD_TOO_LARGE;
+				}
+
+				int count = 0;
+				while( count == 0 ) {
+					count = buffer.fill();
+				}
+				if( count == -1 ) {
+					return HEAD_EOF;
+				}
+
+				data = buffer.array();
+				headers.rebase(data);
+				continue;
+			}
+
+			final byte b = data[i];
+
+			switch(state) {
+				case S_LEADING:
+					// https://www.rfc-editor.org/rfc/rfc2616.html#section-4.1
+					// empty line(s) received where a Request-Line is expected are ignored
+					if( b == CR || b == LF ) {
+						break;
+					}
+					this.headStart = i;
+					this.methodStart = i;
+					state = S_METHOD;
+					continue;
+
+				case S_METHOD:
+					if( b == SP ) {
+						if( i == methodStart ) { return HEAD_MALFORMED; }
+						this.methodEnd = i;
+						this.uriStart = i + 1;
+						state = S_URI;
+					} else if( b <= SP || b == 0x7F ) {
+						return HEAD_MALFORMED;
+					}
+					break;
+
+				case S_URI:
+					if( b == SP ) {
+						if( i == uriStart ) { return HEAD_MALFORMED; }
+						this.uriEnd = i;
+						this.versionStart = i + 1;
+						state = S_VERSION;
+					} else if( b == CR || b == LF ) {
+						return HEAD_MALFORMED;
+					}
+					break;
+
+				case S_VERSION:
+					if( b == CR || b == LF ) {
+						if( i == versionStart ) { return HEAD_MALFORMED; }
+						this.versionEnd = i;
+						terminator = i;
+						state = b == CR ? S_LINE_LF : S_LINE_START;
+					} else if( b <= SP ) {
+						return HEAD_MALFORMED;
+					}
+					break;
+
+				case S_LINE_LF:
+					if( b != LF ) { return HEAD_MALFORMED; }
+					state = S_LINE_START;
+					break;
+
+				case S_LINE_START:
+					if( b == CR ) {
+						state = S_HEAD_LF;
+					} else if( b == LF ) {
+						return complete(i + 1);
+					} else if( b == SP || b == HT ) {
+						// https://www.rfc-editor.org/rfc/rfc2616.html#section-4.2
+						// A continuation line extends the previous field value: blanking the
+						// line break in place turns the fold into plain linear white space
+						if( headers.size() == 0 ) { return HEAD_MALFORMED; }
+						Arrays.fill(data, terminator, i, SP);
+						folded = true;
+						state = S_VALUE;
+					} else if( ! Ascii.isToken(b) ) {
+						return HEAD_MALFORMED;
+					} else {
+						nameStart = i;
+						folded = false;
+						state = S_NAME;
+					}
+					break;
+
+				case S_NAME:
+					if( b == ':' ) {
+						nameEnd = i;
+						valueStart = i + 1;
+						state = S_VALUE;
+					} else if( ! Ascii.isToken(b) ) {
+						return HEAD_MALFORMED;
+					}
+					break;
+
+				case S_VALUE:
+					if( b == CR || b == LF ) {
+						if( folded ) {
+							headers.extendLastValue(i);
+						} else {
+							headers.addSlice(nameStart, nameEnd, valueStart, i);
+						}
+						terminator = i;
+						state = b == CR ? S_LINE_LF : S_LINE_START;
+					}
+					break;
+
+				case S_HEAD_LF:
+					if( b != LF ) { return HEAD_MALFORMED; }
+					return complete(i + 1);
+
+				default:
+					return HEAD_MALFORMED;
+			}
+
+			++i;
+		}
+	}
+
+	private byte complete(final int end) {
+		this.headEnd = end;
+		headers.trimValues();
+		target.reset(buffer.array(), uriStart, uriEnd);
+
+		buffer.position(end);
+		buffer.pin();
+
+		return HEAD_COMPLETE;
+	}
+
+	public HttpMethod method() {
+		return HttpMethod.from(buffer.array(), methodStart, methodEnd);
+	}
+
+	public boolean isVersion(final String version) {
+		return Ascii.equalsIgnoreCase(buffer.array(), versionStart, versionEnd, version);
+	}
+
+	/**
+	 * Request-URI is {@code *}, an absolute path or an absolute http(s) URI, without control characters.
+	 */
+	public boolean isValidUri() {
+		return target.isValid();
+	}
+
+	public String uri() {
+		return Ascii.string(buffer.array(), uriStart, uriEnd);
+	}
+
+	/**
+	 * @return the request line, or {@code "-"} when the head failed before its line was complete
+	 */
+	public String requestLine() {
+		if( buffer == null || versionEnd <= methodStart ) {
+			return "-";
+		}
+		return Ascii.string(buffer.array(), methodStart, versionEnd);
+	}
+
+	public HttpHeaders headers() {
+		return headers;
+	}
+
+	public RequestTarget target() {
+		return target;
+	}
+
+	/**
+	 * Writes the head exactly as it sits in the buffer (folded lines already joined).
+	 */
+	public void writeHead(final OutputStream out) throws IOException {
+		out.write(buffer.array(), headStart, headEnd - headStart);
+	}
+
+}
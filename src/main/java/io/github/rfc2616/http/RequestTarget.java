@@ -0,0 +1,323 @@
+package io.github.rfc2616.http;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request-URI of the current request, as offsets into the parser's buffer.
+ * <p>
+ * Path and query are split once, on the first access; percent-decoding only happens when a
+ * caller asks for a decoded value. Valid until the next request head is parsed.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-5.1.2">RFC 2616 Section 5.1.2</a>
+ */
+public final class RequestTarget {
+
+	public static final byte FORM_INVALID = 0;
+	public static final byte FORM_ORIGIN = 1;
+	public static final byte FORM_ABSOLUTE = 2;
+	public static final byte FORM_ASTERISK = 3;
+
+	private static final String HTTP = "http://";
+	private static final String HTTPS = "https://";
+
+	private byte[] data;
+	private int start;
+	private int end;
+
+	private byte form;
+	private boolean split;
+	private int authorityStart;
+	private int authorityEnd;
+	private int pathStart;
+	private int pathEnd;
+	private int queryStart;
+	private int queryEnd;
+
+	private String path;
+	private String decodedPath;
+
+	private final Parameters parameters = new Parameters();
+
+	void reset(final byte[] data, final int start, final int end) {
+		this.data = data;
+		this.start = start;
+		this.end = end;
+		this.form = classify();
+		this.split = false;
+		this.path = null;
+		this.decodedPath = null;
+	}
+
+	private byte classify() {
+		if( end - start == 1 && data[start] == '*' ) {
+			return FORM_ASTERISK;
+		}
+
+		for(int i = start; i < end; ++i) {
+			if( (data[i] & 0xFF) <= Ascii.SP || data[i] == 0x7F ) {
+				return FORM_INVALID;
+			}
+		}
+
+		if( start < end && data[start] == '/' ) {
+			return FORM_ORIGIN;
+		}
+
+		if( startsWithIgnoreCase(HTTP) || startsWithIgnoreCase(HTTPS) ) {
+			return FORM_ABSOLUTE;
+		}
+
+		return FORM_INVALID;
+	}
+
+	private boolean startsWithIgnoreCase(final String prefix) {
+		return end - start > prefix.length()
+			&& Ascii.equalsIgnoreCase(data, start, start + prefix.length(), prefix);
+	}
+
+	private void split() {
+		if( split ) {
+			return;
+		}
+		this.split = true;
+
+		int i = start;
+		this.authorityStart = this.authorityEnd = start;
+
+		if( form == FORM_ABSOLUTE ) {
+			while( data[i] != ':' ) { ++i; }
+			i += 3;
+			this.authorityStart = i;
+			while( i < end && data[i] != '/' && data[i] != '?' && data[i] != '#' ) { ++i; }
+			this.authorityEnd = i;
+		}
+
+		this.pathStart = i;
+		while( i < end && data[i] != '?' && data[i] != '#' ) { ++i; }
+		this.pathEnd = i;
+
+		if( i < end && data[i] == '?' ) {
+			++i;
+		}
+		this.queryStart = i;
+		while( i < end && data[i] != '#' ) { ++i; }
+		this.queryEnd = i;
+	}
+
+	public byte form() {
+		return form;
+	}
+
+	public boolean isValid() {
+		return form != FORM_INVALID;
+	}
+
+	public boolean isAsterisk() {
+		return form == FORM_ASTERISK;
+	}
+
+	/**
+	 * @return the authority of an absolute-form target, or {@code null} for any other form
+	 */
+	public String authority() {
+		if( form != FORM_ABSOLUTE ) {
+			return null;
+		}
+		this.split();
+		return Ascii.string(data, authorityStart, authorityEnd);
+	}
+
+	/**
+	 * @return the path still percent-encoded; {@code *} for the asterisk form and {@code /} when
+	 *         an absolute-form target has an empty path
+	 */
+	public String path() {
+		if( path == null ) {
+			if( form == FORM_ASTERISK ) {
+				this.path = "*";
+			} else {
+				this.split();
+				this.path = pathStart == pathEnd ? "/" : Ascii.string(data, pathStart, pathEnd);
+			}
+		}
+		return path;
+	}
+
+	public String decodedPath() {
+		if( decodedPath == null ) {
+			if( form == FORM_ASTERISK ) {
+				this.decodedPath = "*";
+			} else {
+				this.split();
+				this.decodedPath = pathStart == pathEnd ? "/" : decode(data, pathStart, pathEnd, false);
+			}
+		}
+		return decodedPath;
+	}
+
+	/**
+	 * Compares the raw path with {@code path} without materializing it.
+	 */
+	public boolean pathEquals(final String path) {
+		if( this.path != null || form == FORM_ASTERISK ) {
+			return this.path().equals(path);
+		}
+		this.split();
+		if( pathStart == pathEnd ) {
+			return "/".equals(path);
+		}
+
+		if( pathEnd - pathStart != path.length() ) {
+			return false;
+		}
+		for(int i = pathStart; i < pathEnd; ++i) {
+			if( data[i] != path.charAt(i - pathStart) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the raw query, without the {@code ?}, or {@code null} when there is none
+	 */
+	public String query() {
+		if( form == FORM_ASTERISK ) {
+			return null;
+		}
+		this.split();
+		return queryStart == pathEnd ? null : Ascii.string(data, queryStart, queryEnd);
+	}
+
+	/**
+	 * @return a cursor over the query parameters, rewound to the first one; reused per request
+	 */
+	public Parameters parameters() {
+		if( form == FORM_ASTERISK ) {
+			parameters.reset(0, 0);
+		} else {
+			this.split();
+			parameters.reset(queryStart, queryEnd);
+		}
+		return parameters;
+	}
+
+	/**
+	 * @return the first decoded value of the query parameter, or {@code null} when absent
+	 */
+	public String parameter(final String name) {
+		final Parameters cursor = this.parameters();
+		while( cursor.next() ) {
+			if( cursor.nameEquals(name) ) {
+				return cursor.value();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return Ascii.string(data, start, end);
+	}
+
+	/**
+	 * Forward-only cursor over {@code name=value} pairs separated by {@code &}.
+	 * Names and values are only decoded when asked for.
+	 */
+	public final class Parameters {
+
+		private int position;
+		private int limit;
+		private int nameStart;
+		private int nameEnd;
+		private int valueStart;
+		private int valueEnd;
+
+		private Parameters() { /***/ }
+
+		void reset(final int position, final int limit) {
+			this.position = position;
+			this.limit = limit;
+		}
+
+		public boolean next() {
+			while( position < limit ) {
+				int i = position;
+				this.nameStart = i;
+				while( i < limit && data[i] != '=' && data[i] != '&' ) { ++i; }
+				this.nameEnd = i;
+
+				if( i < limit && data[i] == '=' ) {
+					++i;
+				}
+				this.valueStart = i;
+				while( i < limit && data[i] != '&' ) { ++i; }
+				this.valueEnd = i;
+
+				this.position = i + 1;
+
+				if( nameEnd > nameStart ) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		public String name() {
+			return decode(data, nameStart, nameEnd, true);
+		}
+
+		public String value() {
+			return decode(data, valueStart, valueEnd, true);
+		}
+
+		public boolean nameEquals(final String name) {
+			for(int i = nameStart; i < nameEnd; ++i) {
+				if( data[i] == '%' || data[i] == '+' ) {
+					return name().equals(name);
+				}
+			}
+
+			if( nameEnd - nameStart != name.length() ) {
+				return false;
+			}
+			for(int i = nameStart; i < nameEnd; ++i) {
+				if( data[i] != name.charAt(i - nameStart) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * Percent-decodes a slice as UTF-8; malformed escapes are kept literally.
+	 */
+	static String decode(final byte[] data, final int start, final int end, final boolean plusAsSpace) {
+		boolean plain = true;
+		for(int i = start; i < end && plain; ++i) {
+			plain = data[i] != '%' && data[i] >= 0 && ! (plusAsSpace && data[i] == '+');
+		}
+		if( plain ) {
+			return Ascii.string(data, start, end);
+		}
+
+		final byte[] decoded = new byte[end - start];
+		int length = 0;
+		for(int i = start; i < end; ++i) {
+			final byte b = data[i];
+			if( b == '%' && i + 2 < end && Ascii.hexValue(data[i + 1]) != -1 && Ascii.hexValue(data[i + 2]) != -1 ) {
+				decoded[length++] = (byte) (Ascii.hexValue(data[i + 1]) << 4 | Ascii.hexValue(data[i + 2]));
+				i += 2;
+			} else if( plusAsSpace && b == '+' ) {
+				decoded[length++] = Ascii.SP;
+			} else {
+				decoded[length++] = b;
+			}
+		}
+
+		return new String(decoded, 0, length, StandardCharsets.UTF_8);
+	}
+
+}
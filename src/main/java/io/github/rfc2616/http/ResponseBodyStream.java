@@ -0,0 +1,256 @@
+package io.github.rfc2616.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response body written as the handler produces it, with constant memory.
+ * <p>
+ * Output is collected up to the chunk size. A body that ends within it leaves with a
+ * {@code Content-Length}, like any buffered response; a longer one commits the head with
+ * {@code Transfer-Encoding: chunked} and goes out one chunk at a time, ending with the
+ * {@link #trailers() trailer fields}. When the handler sets {@code Content-Length} up front,
+ * the bytes are passed through unframed and checked against it.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc2616.html#section-3.6.1">RFC 2616 Section 3.6.1</a>
+ */
+public final class ResponseBodyStream extends OutputStream {
+
+	public static final String CHUNKED = "chunked";
+
+	private static final byte[] CRLF = { Ascii.CR, Ascii.LF };
+	private static final byte[] LAST_CHUNK = { '0', Ascii.CR, Ascii.LF };
+	private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+	static final byte CLOSED = 0;
+	static final byte BUFFERING = 1;
+	static final byte FIXED = 2;
+	static final byte CHUNKING = 3;
+
+	private final OutputBuffer out;
+	private final byte[] buffer;
+	private int size;
+
+	private final byte[] chunkSize = new byte[16 + CRLF.length];
+
+	private HttpStatus status;
+	private HttpHeaders headers;
+	private final HttpHeaders trailers = new HttpHeaders();
+	private boolean trailersAccepted;
+
+	private byte state = CLOSED;
+	private boolean committed;
+	private long declared;
+	private long written;
+
+	public ResponseBodyStream(final OutputBuffer out, final int chunkSize) {
+		this.out = out;
+		this.buffer = new byte[chunkSize];
+	}
+
+	/**
+	 * Starts the body of a response; {@code headers} are written when the head is committed.
+	 *
+	 * @param trailersAccepted whether the request carried {@code TE: trailers}; trailer fields
+	 *        are dropped otherwise, since the client may not expect them
+	 */
+	public void open(final HttpStatus status, final HttpHeaders headers, final boolean trailersAccepted) {
+		this.status = status;
+		this.headers = headers;
+		this.trailersAccepted = trailersAccepted;
+		this.trailers.clear();
+		this.size = 0;
+		this.committed = false;
+		this.declared = headers.getLong(HeaderName.CONTENT_LENGTH);
+		this.written = 0;
+		this.state = BUFFERING;
+	}
+
+	/**
+	 * Fields sent after a chunked body, or in the head when the body ended up with a length.
+	 */
+	public HttpHeaders trailers() {
+		return trailers;
+	}
+
+	/**
+	 * @return {@code true} once the head has left: the status can no longer change
+	 */
+	public boolean isCommitted() {
+		return committed;
+	}
+
+	/**
+	 * @return {@code true} while the body is open for writing
+	 */
+	public boolean isOpen() {
+		return state != CLOSED;
+	}
+
+	/**
+	 * @return body bytes sent so far
+	 */
+	public long written() {
+		return written;
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		this.ensureOpen();
+		if( size == buffer.length ) {
+			this.emitBuffered();
+		}
+		buffer[size++] = (byte) b;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException {
+		this.ensureOpen();
+		if( len <= buffer.length - size ) {
+			System.arraycopy(b, off, buffer, size, len);
+			this.size += len;
+			return;
+		}
+
+		int from = off;
+		int left = len;
+		if( size > 0 ) {
+			// Complete the pending chunk first, so that chunks keep their size
+			final int room = buffer.length - size;
+			System.arraycopy(b, from, buffer, size, room);
+			this.size = buffer.length;
+			this.emitBuffered();
+			from += room;
+			left -= room;
+		}
+
+		if( left >= buffer.length ) {
+			// No copy: a large write becomes a chunk of its own
+			this.emit(b, from, left);
+			return;
+		}
+		System.arraycopy(b, from, buffer, 0, left);
+		this.size = left;
+	}
+
+	/**
+	 * Sends what was written so far, committing the head if needed.
+	 */
+	@Override
+	public void flush() throws IOException {
+		if( state == CLOSED ) {
+			return;
+		}
+		this.emitBuffered();
+		out.flush();
+	}
+
+	/**
+	 * Ends the body: a last chunk and the trailers when chunked, the whole response otherwise.
+	 * The bytes stay in the connection's output buffer until it is flushed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if( state == CLOSED ) {
+			return;
+		}
+
+		if( ! committed && declared < 0 ) {
+			// Ended within one chunk: the length is known after all
+			headers.set(HeaderName.CONTENT_LENGTH, size);
+			for(int index = 0; index < trailers.size(); ++index) {
+				headers.add(HeaderName.of(trailers.name(index)), trailers.value(index));
+			}
+			this.declared = size;
+		}
+
+		this.emitBuffered();
+		this.state = CLOSED;
+
+		if( declared < 0 ) {
+			out.write(LAST_CHUNK);
+			if( trailersAccepted ) {
+				trailers.writeTo(out);
+			}
+			out.write(CRLF);
+		} else if( written != declared ) {
+			throw new IOException("Response body of " + written + " bytes, " + declared + " declared");
+		}
+	}
+
+	/**
+	 * Drops what is buffered of a body that has not been committed, so that another response
+	 * can be sent instead, and readies the stream for the next response.
+	 */
+	public void abort() {
+		this.size = 0;
+		this.committed = false;
+		this.state = CLOSED;
+	}
+
+	private void ensureOpen() throws IOException {
+		if( state == CLOSED ) {
+			throw new IOException("Response body closed");
+		}
+	}
+
+	private void emitBuffered() throws IOException {
+		if( size > 0 || ! committed ) {
+			final int count = size;
+			this.size = 0;
+			this.emit(buffer, 0, count);
+		}
+	}
+
+	private void emit(final byte[] b, final int off, final int len) throws IOException {
+		if( ! committed ) {
+			this.commit();
+		}
+		if( len == 0 ) {
+			return;
+		}
+
+		if( state == CHUNKING ) {
+			out.write(chunkSize, 0, this.encodeChunkSize(len));
+			out.write(b, off, len);
+			out.write(CRLF);
+		} else {
+			if( written + len > declared ) {
+				throw new IOException("Response body exceeds " + declared + " declared bytes");
+			}
+			out.write(b, off, len);
+		}
+
+		this.written += len;
+	}
+
+	private void commit() throws IOException {
+		if( declared < 0 ) {
+			headers.remove(HeaderName.CONTENT_LENGTH);
+			headers.set(HeaderName.TRANSFER_ENCODING, CHUNKED);
+			this.state = CHUNKING;
+		} else {
+			this.state = FIXED;
+		}
+
+		ResponseHead.write(out, status, headers);
+		this.committed = true;
+	}
+
+	private int encodeChunkSize(final int length) {
+		int digits = 0;
+		for(int value = length; value != 0; value >>>= 4) {
+			++digits;
+		}
+
+		for(int i = digits - 1, value = length; i >= 0; --i, value >>>= 4) {
+			chunkSize[i] = HEX[value & 0xF];
+		}
+		chunkSize[digits] = Ascii.CR;
+		chunkSize[digits + 1] = Ascii.LF;
+
+		return digits + CRLF.length;
+	}
+
+}
@@ -0,0 +1,53 @@
+package io.github.rfc2616.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response head encoder.
+ * <p>
+ * Status lines and the constant {@code Server}/{@code X-Powered-By} fields are encoded once,
+ * and the {@code Date} comes from the shared {@link HttpDate} clock, so writing a head is
+ * a handful of array copies.
+ */
+public final class ResponseHead {
+
+	private ResponseHead() { /***/ }
+
+	public static final String SERVER = "io.github.rfc2616.http";
+
+	private static final byte[] CRLF = { Ascii.CR, Ascii.LF };
+	private static final byte[] DATE_PREFIX = "Date: ".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] SERVER_FIELDS = ("Server: " + SERVER + "\r\n"
+			+ String.format("X-Powered-By: Java/%s (%s; %s %s; %s)\r\n",
+				System.getProperty("java.version"),
+				System.getProperty("java.vendor"),
+				System.getProperty("os.name"),
+				System.getProperty("os.arch"),
+				System.getProperty("os.version")))
+			.getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * Writes the status line, {@code Date}, the server fields, {@code headers} and the empty
+	 * line ending the head.
+	 */
+	public static void write(final OutputStream out, final HttpStatus status, final HttpHeaders headers) throws IOException {
+		out.write(status.line());
+		out.write(DATE_PREFIX);
+		out.write(HttpDate.now());
+		out.write(CRLF);
+		out.write(SERVER_FIELDS);
+		headers.writeTo(out);
+		out.write(CRLF);
+	}
+
+	/**
+	 * @return where the date value starts in a head written for {@code status}
+	 */
+	static int dateOffset(final HttpStatus status) {
+		return status.line().length + DATE_PREFIX.length;
+	}
+
+}
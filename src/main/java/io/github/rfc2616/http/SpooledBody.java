@@ -0,0 +1,113 @@
+package io.github.rfc2616.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A request body read in full: kept in memory up to a threshold, in a temporary file beyond it.
+ * <p>
+ * The file is deleted when the body is closed. Sending it back goes through
+ * {@link OutputBuffer#transferFrom}, so a spilled body never returns to the heap.
+ */
+public final class SpooledBody implements Closeable {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final int threshold;
+
+	private byte[] memory = new byte[0];
+	private FileChannel file;
+	private long size;
+
+	SpooledBody(final int threshold) {
+		this.threshold = threshold;
+	}
+
+	void readFrom(final InputStream in) throws IOException {
+		final byte[] buffer = new byte[8192];
+		int count;
+		while( (count = in.read(buffer, 0, buffer.length)) != -1 ) {
+			this.write(buffer, 0, count);
+		}
+	}
+
+	private void write(final byte[] b, final int off, final int len) throws IOException {
+		final int used = (int) size;
+		if( file == null && used + len <= threshold ) {
+			if( used + len > memory.length ) {
+				this.memory = Arrays.copyOf(memory, Math.min(threshold, Math.max(INITIAL_CAPACITY, Math.max(used + len, memory.length * 2))));
+			}
+			System.arraycopy(b, off, memory, used, len);
+		} else {
+			if( file == null ) {
+				this.spill();
+			}
+			final ByteBuffer data = ByteBuffer.wrap(b, off, len);
+			while( data.hasRemaining() ) {
+				file.write(data);
+			}
+		}
+
+		this.size += len;
+	}
+
+	private void spill() throws IOException {
+		this.file = FileChannel.open(Files.createTempFile("http-body-", ".tmp"),
+			StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+
+		final ByteBuffer data = ByteBuffer.wrap(memory, 0, (int) size);
+		while( data.hasRemaining() ) {
+			file.write(data);
+		}
+		this.memory = null;
+	}
+
+	public long size() {
+		return size;
+	}
+
+	public boolean isInMemory() {
+		return file == null;
+	}
+
+	/**
+	 * @return the content from its start; a body has one reader at a time, and closing it
+	 *         leaves the body open
+	 */
+	public InputStream openStream() throws IOException {
+		if( file == null ) {
+			return new ByteArrayInputStream(memory, 0, (int) size);
+		}
+
+		return new FilterInputStream(Channels.newInputStream(file.position(0))) {
+			@Override
+			public void close() { /***/ }
+		};
+	}
+
+	public void writeTo(final OutputBuffer out) throws IOException {
+		if( file == null ) {
+			out.write(memory, 0, (int) size);
+			return;
+		}
+		out.transferFrom(file, 0, size);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if( file != null ) {
+			// Deletes the temporary file
+			file.close();
+		}
+	}
+
+}
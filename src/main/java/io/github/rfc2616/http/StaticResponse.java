@@ -0,0 +1,182 @@
+package io.github.rfc2616.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Complete response serialized once: status line, head fields and body.
+ * <p>
+ * Only the {@code Date} value changes between sends, and connection-specific fields can be
+ * written in after the head fields. A copy with the current date patched
+ * in is made at most once per second and shared by every connection, so sending is one write.
+ * A bodyless {@code 304 Not Modified} companion is serialized alongside, for conditional requests.
+ * Head fields and body stay available to answer {@code Range} requests from the same bytes.
+ */
+public final class StaticResponse {
+
+	private static final class Snapshot {
+		final byte[] date;
+		final byte[] raw;
+
+		Snapshot(final byte[] date, final byte[] raw) {
+			this.date = date;
+			this.raw = raw;
+		}
+	}
+
+	private final HttpStatus status;
+	private final String etag;
+	private final long lastModified;
+	private final HttpHeaders headers;
+	private final byte[] body;
+	private final byte[] template;
+	private final int dateOffset;
+	// Where the empty line ending the head starts
+	private final int headEnd;
+
+	private StaticResponse notModified;
+
+	private volatile Snapshot current;
+
+	private StaticResponse(final HttpStatus status, final String etag, final long lastModified, final HttpHeaders headers, final byte[] body) {
+		final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+		try {
+			ResponseHead.write(raw, status, headers);
+			this.headEnd = raw.size() - 2;
+			raw.write(body);
+		} catch(IOException e) {
+			throw new IllegalStateException(e);
+		}
+
+		this.status = status;
+		this.etag = etag;
+		this.lastModified = lastModified;
+		this.headers = headers;
+		this.body = body;
+		this.template = raw.toByteArray();
+		this.dateOffset = ResponseHead.dateOffset(status);
+		this.current = new Snapshot(null, template);
+	}
+
+	public static StaticResponse of(final HttpStatus status, final String contentType, final byte[] body) {
+		return of(status, new HttpHeaders().set(HeaderName.CONTENT_TYPE, contentType), body);
+	}
+
+	public static StaticResponse of(final HttpStatus status, final HttpHeaders headers, final byte[] body) {
+		return of(status, headers, body, -1);
+	}
+
+	/**
+	 * Serializes {@code headers} plus {@code Content-Length}, a content-derived {@code ETag} and,
+	 * unless {@code lastModified} is negative, {@code Last-Modified} (truncated to seconds).
+	 */
+	public static StaticResponse of(final HttpStatus status, final HttpHeaders headers, final byte[] body, final long lastModified) {
+		final String etag = EntityTag.of(body);
+		final long modified = lastModified < 0 ? -1 : lastModified / 1000 * 1000;
+
+		headers.set(HeaderName.CONTENT_LENGTH, body.length);
+		headers.set(HeaderName.ETAG, etag);
+		if( modified >= 0 ) {
+			headers.set(HeaderName.LAST_MODIFIED, HttpDate.format(modified));
+		}
+		if( status == HttpStatus.OK ) {
+			headers.set(HeaderName.ACCEPT_RANGES, ByteRanges.UNIT);
+		}
+
+		final StaticResponse response = new StaticResponse(status, etag, modified, headers, body);
+
+		// https://www.rfc-editor.org/rfc/rfc2616.html#section-10.3.5
+		// 304 repeats the validator and Vary, without entity-headers or a body
+		final HttpHeaders validators = new HttpHeaders().set(HeaderName.ETAG, etag);
+		final String vary = headers.get(HeaderName.VARY);
+		if( vary != null ) {
+			validators.set(HeaderName.VARY, vary);
+		}
+		response.notModified = new StaticResponse(HttpStatus.NOT_MODIFIED, etag, modified, validators, new byte[0]);
+
+		return response;
+	}
+
+	public HttpStatus status() {
+		return status;
+	}
+
+	public String etag() {
+		return etag;
+	}
+
+	/**
+	 * @return the modification time in milliseconds, or {@code -1} when unknown
+	 */
+	public long lastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * @return the length of the body
+	 */
+	public long length() {
+		return body.length;
+	}
+
+	/**
+	 * Appends the head fields (without {@code Date}) to {@code target}, to derive another head from them.
+	 */
+	public void headersTo(final HttpHeaders target) {
+		target.addAll(headers);
+	}
+
+	/**
+	 * Sends {@code count} bytes of the body from {@code position}, with no intermediate copy
+	 * when they exceed the output buffer.
+	 */
+	public void writeBody(final OutputBuffer out, final long position, final long count) throws IOException {
+		out.write(body, (int) position, (int) count);
+	}
+
+	/**
+	 * @return this response when {@code request} holds no matching validator, its
+	 *         {@code 304 Not Modified} companion otherwise
+	 */
+	public StaticResponse select(final HttpHeaders request) {
+		if( notModified != null && Preconditions.isNotModified(request, etag, lastModified) ) {
+			return notModified;
+		}
+		return this;
+	}
+
+	public void writeTo(final OutputStream out) throws IOException {
+		out.write(this.snapshot());
+	}
+
+	/**
+	 * Writes the response with {@code fields} added to its head.
+	 */
+	public void writeTo(final OutputStream out, final HttpHeaders fields) throws IOException {
+		if( fields.size() == 0 ) {
+			this.writeTo(out);
+			return;
+		}
+
+		final byte[] raw = this.snapshot();
+		out.write(raw, 0, headEnd);
+		fields.writeTo(out);
+		out.write(raw, headEnd, raw.length - headEnd);
+	}
+
+	private byte[] snapshot() {
+		final byte[] date = HttpDate.now();
+
+		Snapshot snapshot = current;
+		if( snapshot.date != date ) {
+			final byte[] raw = template.clone();
+			System.arraycopy(date, 0, raw, dateOffset, date.length);
+			snapshot = new Snapshot(date, raw);
+			current = snapshot;
+		}
+
+		return snapshot.raw;
+	}
+
+}
@@ -0,0 +1,60 @@
+package io.github.rfc2616.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of durations over fixed buckets.
+ * <p>
+ * Every bucket is a {@link LongAdder}: threads recording at once increment striped cells
+ * instead of contending for one. A reader sums the cells without stopping the writers, so the
+ * buckets it sees may be a few recordings apart from each other.
+ */
+public final class Histogram {
+
+	/**
+	 * Upper bounds of the buckets, in microseconds; a last bucket holds everything longer.
+	 */
+	public static final long[] BOUNDS = {
+			100, 250, 500,
+			1_000, 2_500, 5_000,
+			10_000, 25_000, 50_000,
+			100_000, 250_000, 500_000,
+			1_000_000, 2_500_000, 5_000_000, 10_000_000 };
+
+	private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+	private final LongAdder sum = new LongAdder();
+
+	public Histogram() {
+		for(int i = 0; i < buckets.length; ++i) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	public void record(final long micros) {
+		int bucket = 0;
+		while( bucket < BOUNDS.length && micros > BOUNDS[bucket] ) {
+			++bucket;
+		}
+		buckets[bucket].increment();
+		sum.add(micros);
+	}
+
+	/**
+	 * @return the durations recorded in each bucket, the last one being unbounded
+	 */
+	public long[] counts() {
+		final long[] counts = new long[buckets.length];
+		for(int i = 0; i < buckets.length; ++i) {
+			counts[i] = buckets[i].sum();
+		}
+		return counts;
+	}
+
+	/**
+	 * @return total of the durations recorded, in microseconds
+	 */
+	public long sum() {
+		return sum.sum();
+	}
+
+}
@@ -0,0 +1,300 @@
+package io.github.rfc2616.metrics;
+
+import java.util.Locale;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.github.rfc2616.http.HttpMethod;
+import io.github.rfc2616.http.HttpStatus;
+
+/**
+ * Counters and latency histograms of the server, rendered in the Prometheus text format.
+ * <p>
+ * Recording never locks: counters are {@link LongAdder}s, and the counters and histogram of a
+ * route, method and status are created on their first request with a compare-and-set.
+ * {@link #render()} reads them while requests keep being recorded.
+ */
+public final class Metrics {
+
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	/**
+	 * Route of the requests no route, constant resource or file answered.
+	 */
+	public static final String UNMATCHED = "none";
+
+	/**
+	 * Route of the files served from the document root.
+	 */
+	public static final String FILES = "files";
+
+	public enum ParseError {
+		HEAD, HEAD_TOO_LARGE, CHUNKED_BODY;
+
+		private final String label = name().toLowerCase(Locale.ROOT);
+	}
+
+	public enum Timeout {
+		IDLE, HEADER, BODY;
+
+		private final String label = name().toLowerCase(Locale.ROOT);
+	}
+
+	private static final HttpMethod[] METHODS = HttpMethod.values();
+	private static final HttpStatus[] STATUSES = HttpStatus.values();
+	// Slot of the requests whose method is not known
+	private static final int OTHER = METHODS.length;
+
+	private static final String[] LE = new String[Histogram.BOUNDS.length];
+	static {
+		for(int i = 0; i < LE.length; ++i) {
+			final StringBuilder sb = new StringBuilder();
+			seconds(sb, Histogram.BOUNDS[i]);
+			LE[i] = sb.toString();
+		}
+	}
+
+	/**
+	 * Requests of one route, by method and by method and status.
+	 */
+	private static final class RouteMetrics {
+		private final AtomicReferenceArray<Histogram> durations = new AtomicReferenceArray<>(OTHER + 1);
+		private final AtomicReferenceArray<LongAdder> statuses = new AtomicReferenceArray<>((OTHER + 1) * STATUSES.length);
+	}
+
+	private final ConcurrentMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+	private final LongAdder received = new LongAdder();
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder active = new LongAdder();
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder[] parseErrors = adders(ParseError.values().length);
+	private final LongAdder[] timeouts = adders(Timeout.values().length);
+
+	// Size of the last rendering, to size the next one
+	private volatile int rendered = 4096;
+
+	private static LongAdder[] adders(final int count) {
+		final LongAdder[] adders = new LongAdder[count];
+		for(int i = 0; i < count; ++i) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	/**
+	 * Records an answered request.
+	 *
+	 * @param route  pattern of the route, or another label drawn from a small fixed set
+	 * @param method {@code null} when the request method is not known
+	 * @param micros time from the arrival of the request to the end of its response
+	 */
+	public void request(final String route, final HttpMethod method, final HttpStatus status, final long micros) {
+		RouteMetrics metrics = routes.get(route);
+		if( metrics == null ) {
+			metrics = routes.computeIfAbsent(route, r -> new RouteMetrics());
+		}
+
+		final int slot = method == null ? OTHER : method.ordinal();
+		get(metrics.durations, slot, Histogram::new).record(micros);
+		get(metrics.statuses, slot * STATUSES.length + status.ordinal(), LongAdder::new).increment();
+	}
+
+	private static <T> T get(final AtomicReferenceArray<T> array, final int index, final Supplier<T> factory) {
+		final T value = array.get(index);
+		if( value != null ) {
+			return value;
+		}
+		array.compareAndSet(index, null, factory.get());
+		return array.get(index);
+	}
+
+	public void received(final long bytes) {
+		received.add(bytes);
+	}
+
+	public void sent(final long bytes) {
+		sent.add(bytes);
+	}
+
+	public void connectionOpened() {
+		active.increment();
+		accepted.increment();
+	}
+
+	public void connectionClosed() {
+		active.decrement();
+	}
+
+	/**
+	 * Counts an opened connection as turned away instead of served.
+	 */
+	public void connectionRejected() {
+		active.decrement();
+		rejected.increment();
+	}
+
+	public void parseError(final ParseError error) {
+		parseErrors[error.ordinal()].increment();
+	}
+
+	public void timeout(final Timeout timeout) {
+		timeouts[timeout.ordinal()].increment();
+	}
+
+	/**
+	 * @return connections open
+	 */
+	public long activeConnections() {
+		return active.sum();
+	}
+
+	/**
+	 * @return requests of {@code route} answered with {@code status}, whatever their method
+	 */
+	public long requests(final String route, final HttpStatus status) {
+		final RouteMetrics metrics = routes.get(route);
+		if( metrics == null ) {
+			return 0;
+		}
+
+		long count = 0;
+		for(int slot = 0; slot <= OTHER; ++slot) {
+			final LongAdder adder = metrics.statuses.get(slot * STATUSES.length + status.ordinal());
+			if( adder != null ) {
+				count += adder.sum();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return every metric, in the Prometheus text exposition format
+	 */
+	public String render() {
+		final StringBuilder sb = new StringBuilder(rendered + 256);
+		final SortedSet<String> names = new TreeSet<>(routes.keySet());
+
+		header(sb, "http_requests_total", "counter", "Requests answered, by route, method and status code.");
+		for(final String route: names) {
+			final RouteMetrics metrics = routes.get(route);
+			for(int i = 0; i < metrics.statuses.length(); ++i) {
+				final LongAdder adder = metrics.statuses.get(i);
+				if( adder != null ) {
+					sb.append("http_requests_total");
+					labels(sb, route, i / STATUSES.length);
+					sb.append(",status=\"").append(STATUSES[i % STATUSES.length].code()).append("\"} ")
+						.append(adder.sum()).append('\n');
+				}
+			}
+		}
+
+		header(sb, "http_request_duration_seconds", "histogram", "Time from the arrival of a request to the end of its response, by route and method.");
+		for(final String route: names) {
+			final RouteMetrics metrics = routes.get(route);
+			for(int slot = 0; slot <= OTHER; ++slot) {
+				final Histogram histogram = metrics.durations.get(slot);
+				if( histogram != null ) {
+					histogram(sb, route, slot, histogram);
+				}
+			}
+		}
+
+		counter(sb, "http_received_bytes_total", "Bytes read from clients.", received);
+		counter(sb, "http_sent_bytes_total", "Bytes written to clients.", sent);
+
+		header(sb, "http_connections_active", "gauge", "Client connections open.");
+		sb.append("http_connections_active ").append(active.sum()).append('\n');
+		counter(sb, "http_connections_total", "Client connections accepted.", accepted);
+		counter(sb, "http_connections_rejected_total", "Client connections turned away while the server was saturated.", rejected);
+
+		header(sb, "http_parse_errors_total", "counter", "Requests rejected as malformed, by cause.");
+		for(final ParseError error: ParseError.values()) {
+			sb.append("http_parse_errors_total{cause=\"").append(error.label).append("\"} ")
+				.append(parseErrors[error.ordinal()].sum()).append('\n');
+		}
+
+		header(sb, "http_timeouts_total", "counter", "Connections closed on a timeout, by phase.");
+		for(final Timeout timeout: Timeout.values()) {
+			sb.append("http_timeouts_total{phase=\"").append(timeout.label).append("\"} ")
+				.append(timeouts[timeout.ordinal()].sum()).append('\n');
+		}
+
+		this.rendered = sb.length();
+		return sb.toString();
+	}
+
+	private static void histogram(final StringBuilder sb, final String route, final int slot, final Histogram histogram) {
+		final long[] counts = histogram.counts();
+
+		long cumulative = 0;
+		for(int i = 0; i < counts.length; ++i) {
+			cumulative += counts[i];
+			sb.append("http_request_duration_seconds_bucket");
+			labels(sb, route, slot);
+			sb.append(",le=\"").append(i < LE.length ? LE[i] : "+Inf").append("\"} ").append(cumulative).append('\n');
+		}
+
+		sb.append("http_request_duration_seconds_sum");
+		labels(sb, route, slot);
+		sb.append("} ");
+		seconds(sb, histogram.sum());
+		sb.append('\n');
+
+		// The total of the buckets read, so that it matches the +Inf bucket
+		sb.append("http_request_duration_seconds_count");
+		labels(sb, route, slot);
+		sb.append("} ").append(cumulative).append('\n');
+	}
+
+	private static void header(final StringBuilder sb, final String name, final String type, final String help) {
+		sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void counter(final StringBuilder sb, final String name, final String help, final LongAdder adder) {
+		header(sb, name, "counter", help);
+		sb.append(name).append(' ').append(adder.sum()).append('\n');
+	}
+
+	/**
+	 * Appends the opening of the label set of {@code route} and method {@code slot}, left open for more labels.
+	 */
+	private static void labels(final StringBuilder sb, final String route, final int slot) {
+		sb.append("{route=\"");
+		for(int i = 0; i < route.length(); ++i) {
+			final char c = route.charAt(i);
+			switch(c) {
+				case '\\': sb.append("\\\\"); break;
+				case '"': sb.append("\\\""); break;
+				case '\n': sb.append("\\n"); break;
+				default: sb.append(c);
+			}
+		}
+		sb.append("\",method=\"").append(slot == OTHER ? "OTHER" : METHODS[slot].name()).append('"');
+	}
+
+	/**
+	 * Appends {@code micros} as seconds, without trailing zeros.
+	 */
+	private static void seconds(final StringBuilder sb, final long micros) {
+		sb.append(micros / 1_000_000);
+
+		final long fraction = micros % 1_000_000;
+		if( fraction != 0 ) {
+			final String digits = Long.toString(1_000_000 + fraction);
+			int end = digits.length();
+			while( digits.charAt(end - 1) == '0' ) {
+				--end;
+			}
+			sb.append('.').append(digits, 1, end);
+		}
+	}
+
+}
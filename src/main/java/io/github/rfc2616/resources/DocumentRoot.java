@@ -0,0 +1,192 @@
+package io.github.rfc2616.resources;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Directory whose files are served for GET requests.
+ * <p>
+ * Files up to {@link #CACHEABLE_SIZE} are kept in memory as ready-made responses (compressed
+ * variants included, for textual types) until their size or modification time changes; the
+ * check costs one {@code stat} per request. Larger files are left to the caller to stream.
+ * Once the cache holds {@link #CACHE_CAPACITY} bytes, deleted files and then the least recently
+ * served ones make room for new files.
+ */
+public final class DocumentRoot {
+
+	public static final long CACHEABLE_SIZE = 64 * 1024;
+	public static final long CACHE_CAPACITY = 32 * 1024 * 1024;
+
+	private static final String INDEX = "index.html";
+
+	private final Path root;
+
+	private final Map<Path, FileEntry> cache = new ConcurrentHashMap<>();
+	private final AtomicLong cachedBytes = new AtomicLong();
+
+	public DocumentRoot(final Path root) throws IOException {
+		this.root = root.toRealPath();
+		if( ! Files.isDirectory(this.root) ) {
+			throw new NotDirectoryException(root.toString());
+		}
+	}
+
+	public Path root() {
+		return root;
+	}
+
+	/**
+	 * @param path decoded absolute request path
+	 * @return the regular file the path names ({@code index.html} for directories), or
+	 *         {@code null} when there is none or the path is not allowed
+	 */
+	public FileEntry lookup(final String path) throws IOException {
+		Path file = resolve(path);
+		if( file == null ) {
+			return null;
+		}
+
+		BasicFileAttributes attributes = attributes(file);
+		if( attributes != null && attributes.isDirectory() ) {
+			file = file.resolve(INDEX);
+			attributes = attributes(file);
+		}
+		if( attributes == null || ! attributes.isRegularFile() ) {
+			this.drop(file);
+			return null;
+		}
+
+		final long size = attributes.size();
+		final long lastModified = attributes.lastModifiedTime().toMillis();
+
+		final FileEntry cached = cache.get(file);
+		if( cached != null ) {
+			if( cached.size() == size && cached.lastModified() == lastModified ) {
+				cached.used = System.nanoTime();
+				return cached;
+			}
+			this.drop(file);
+		}
+
+		// Checked on every (re)load: the file may have been replaced by a link pointing outside of the root
+		if( ! file.toRealPath().startsWith(root) ) {
+			return null;
+		}
+
+		final String contentType = MimeTypes.forFileName(file.getFileName().toString());
+		if( size > CACHEABLE_SIZE ) {
+			return new FileEntry(file, size, lastModified, contentType, null);
+		}
+		if( cachedBytes.get() + size > CACHE_CAPACITY && ! this.evict(size) ) {
+			return new FileEntry(file, size, lastModified, contentType, null);
+		}
+
+		final byte[] content = Files.readAllBytes(file);
+		if( content.length != size ) {
+			// Changed while being read: stream it this time, cache it on a later request
+			return new FileEntry(file, size, lastModified, contentType, null);
+		}
+
+		final StaticResource resource = MimeTypes.isCompressible(contentType)
+			? StaticResource.compressible(contentType, content, lastModified)
+			: StaticResource.identity(contentType, content, lastModified);
+
+		final FileEntry entry = new FileEntry(file, size, lastModified, contentType, resource);
+		entry.used = System.nanoTime();
+		if( cache.putIfAbsent(file, entry) == null ) {
+			cachedBytes.addAndGet(size);
+		}
+
+		return entry;
+	}
+
+	private void drop(final Path file) {
+		final FileEntry cached = cache.remove(file);
+		if( cached != null ) {
+			cachedBytes.addAndGet(-cached.size());
+		}
+	}
+
+	/**
+	 * Frees room for {@code size} more bytes: files deleted since they were cached go first,
+	 * then the least recently served ones.
+	 *
+	 * @return whether there is room now
+	 */
+	private synchronized boolean evict(final long size) {
+		final List<FileEntry> entries = new ArrayList<>(cache.values());
+		for(final FileEntry entry: entries) {
+			if( ! Files.isRegularFile(entry.path()) ) {
+				this.drop(entry.path());
+			}
+		}
+
+		entries.sort(Comparator.comparingLong(entry -> entry.used));
+		for(final FileEntry entry: entries) {
+			if( cachedBytes.get() + size <= CACHE_CAPACITY ) {
+				break;
+			}
+			if( cache.remove(entry.path(), entry) ) {
+				cachedBytes.addAndGet(-entry.size());
+			}
+		}
+
+		return cachedBytes.get() + size <= CACHE_CAPACITY;
+	}
+
+	/**
+	 * @return bytes of the files held in memory
+	 */
+	public long cachedBytes() {
+		return cachedBytes.get();
+	}
+
+	/**
+	 * Maps a request path below the root. Segments starting with a dot ({@code ..} and hidden
+	 * files) are refused, so the result can never leave the root.
+	 */
+	private Path resolve(final String path) {
+		if( path.isEmpty() || path.charAt(0) != '/' || path.indexOf('\0') != -1 || path.indexOf('\\') != -1 ) {
+			return null;
+		}
+
+		int start = 1;
+		while( start < path.length() ) {
+			int stop = path.indexOf('/', start);
+			if( stop == -1 ) { stop = path.length(); }
+
+			if( stop > start && path.charAt(start) == '.' ) {
+				return null;
+			}
+
+			start = stop + 1;
+		}
+
+		try {
+			final Path file = root.resolve(path.substring(1)).normalize();
+			return file.startsWith(root) ? file : null;
+		} catch(InvalidPathException e) {
+			return null;
+		}
+	}
+
+	private static BasicFileAttributes attributes(final Path file) throws IOException {
+		try {
+			return Files.readAttributes(file, BasicFileAttributes.class);
+		} catch(NoSuchFileException | NotDirectoryException e) {
+			return null;
+		}
+	}
+
+}
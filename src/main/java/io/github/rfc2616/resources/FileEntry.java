@@ -0,0 +1,61 @@
+package io.github.rfc2616.resources;
+
+import java.nio.file.Path;
+
+/**
+ * A regular file found under the {@link DocumentRoot}.
+ * <p>
+ * Small files come with their {@link #cached() cached} representations; larger ones are
+ * streamed from {@link #path()} by the caller.
+ */
+public final class FileEntry {
+
+	private final Path path;
+	private final long size;
+	private final long lastModified;
+	private final String contentType;
+	private final StaticResource cached;
+
+	// Last time the cached entry was served, for eviction; approximate across threads
+	long used;
+
+	FileEntry(final Path path, final long size, final long lastModified, final String contentType, final StaticResource cached) {
+		this.path = path;
+		this.size = size;
+		this.lastModified = lastModified;
+		this.contentType = contentType;
+		this.cached = cached;
+	}
+
+	public Path path() {
+		return path;
+	}
+
+	public long size() {
+		return size;
+	}
+
+	public long lastModified() {
+		return lastModified;
+	}
+
+	public String contentType() {
+		return contentType;
+	}
+
+	/**
+	 * @return the in-memory representations, or {@code null} when the file must be streamed
+	 */
+	public StaticResource cached() {
+		return cached;
+	}
+
+	/**
+	 * Validator for streamed files, derived from size and modification time (seconds) so that
+	 * it costs no read of the content.
+	 */
+	public String etag() {
+		return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified / 1000) + "\"";
+	}
+
+}
@@ -0,0 +1,78 @@
+package io.github.rfc2616.resources;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Media types by file extension, loaded once.
+ */
+public final class MimeTypes {
+
+	private MimeTypes() { /***/ }
+
+	public static final String DEFAULT = "application/octet-stream";
+
+	private static final Map<String, String> TYPES = new HashMap<>();
+
+	static {
+		TYPES.put("html", "text/html; charset=UTF-8");
+		TYPES.put("htm", "text/html; charset=UTF-8");
+		TYPES.put("css", "text/css; charset=UTF-8");
+		TYPES.put("js", "application/javascript");
+		TYPES.put("mjs", "application/javascript");
+		TYPES.put("json", "application/json");
+		TYPES.put("map", "application/json");
+		TYPES.put("xml", "application/xml");
+		TYPES.put("txt", "text/plain; charset=UTF-8");
+		TYPES.put("csv", "text/csv; charset=UTF-8");
+		TYPES.put("md", "text/markdown; charset=UTF-8");
+		TYPES.put("svg", "image/svg+xml");
+		TYPES.put("png", "image/png");
+		TYPES.put("jpg", "image/jpeg");
+		TYPES.put("jpeg", "image/jpeg");
+		TYPES.put("gif", "image/gif");
+		TYPES.put("webp", "image/webp");
+		TYPES.put("ico", "image/x-icon");
+		TYPES.put("woff", "font/woff");
+		TYPES.put("woff2", "font/woff2");
+		TYPES.put("ttf", "font/ttf");
+		TYPES.put("otf", "font/otf");
+		TYPES.put("wasm", "application/wasm");
+		TYPES.put("pdf", "application/pdf");
+		TYPES.put("zip", "application/zip");
+		TYPES.put("gz", "application/gzip");
+		TYPES.put("tar", "application/x-tar");
+		TYPES.put("mp3", "audio/mpeg");
+		TYPES.put("ogg", "audio/ogg");
+		TYPES.put("wav", "audio/wav");
+		TYPES.put("mp4", "video/mp4");
+		TYPES.put("webm", "video/webm");
+	}
+
+	/**
+	 * @return the media type for the extension of {@code fileName}, or {@link #DEFAULT}
+	 */
+	public static String forFileName(final String fileName) {
+		final int dot = fileName.lastIndexOf('.');
+		if( dot == -1 || dot == fileName.length() - 1 ) {
+			return DEFAULT;
+		}
+
+		final String type = TYPES.get(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+		return type != null ? type : DEFAULT;
+	}
+
+	/**
+	 * Textual types shrink well; images, audio, video, fonts and archives are compressed already.
+	 */
+	public static boolean isCompressible(final String type) {
+		return type.startsWith("text/")
+			|| type.startsWith("application/javascript")
+			|| type.startsWith("application/json")
+			|| type.startsWith("application/xml")
+			|| type.startsWith("image/svg+xml")
+			|| type.startsWith("application/wasm");
+	}
+
+}
@@ -0,0 +1,155 @@
+package io.github.rfc2616.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+
+import io.github.rfc2616.http.ContentCoding;
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.http.StaticResponse;
+
+/**
+ * Representations of one resource, loaded and compressed once.
+ * <p>
+ * Each variant is kept as a complete {@link StaticResponse}; serving a request only
+ * negotiates the coding from {@code Accept-Encoding} and sends the matching snapshot.
+ */
+public final class StaticResource {
+
+	private final Map<ContentCoding, StaticResponse> variants = new EnumMap<>(ContentCoding.class);
+	private final ContentCoding[] codings;
+
+	private StaticResource(final Map<ContentCoding, StaticResponse> variants) {
+		this.variants.putAll(variants);
+		this.codings = variants.keySet().toArray(new ContentCoding[0]);
+	}
+
+	/**
+	 * Wraps a response that has a single representation.
+	 */
+	public static StaticResource of(final StaticResponse response) {
+		final Map<ContentCoding, StaticResponse> variants = new EnumMap<>(ContentCoding.class);
+		variants.put(ContentCoding.IDENTITY, response);
+		return new StaticResource(variants);
+	}
+
+	/**
+	 * Keeps {@code content} as its only representation, for types that do not compress.
+	 */
+	public static StaticResource identity(final String contentType, final byte[] content, final long lastModified) {
+		final Map<ContentCoding, StaticResponse> variants = new EnumMap<>(ContentCoding.class);
+		variants.put(ContentCoding.IDENTITY, variant(contentType, ContentCoding.IDENTITY, content, lastModified, false));
+		return new StaticResource(variants);
+	}
+
+	public static StaticResource compressible(final String contentType, final byte[] content) {
+		return compressible(contentType, content, -1);
+	}
+
+	/**
+	 * Keeps {@code content} as is plus its gzip and deflate encodings, when they are smaller.
+	 * Every variant carries its own content-derived {@code ETag}.
+	 *
+	 * @param lastModified modification time in milliseconds, or {@code -1} to send no {@code Last-Modified}
+	 */
+	public static StaticResource compressible(final String contentType, final byte[] content, final long lastModified) {
+		final byte[] gzip = gzip(content);
+		final byte[] deflate = deflate(content);
+		if( gzip.length >= content.length && deflate.length >= content.length ) {
+			// Nothing to negotiate: the response does not vary with Accept-Encoding
+			return identity(contentType, content, lastModified);
+		}
+
+		final Map<ContentCoding, StaticResponse> variants = new EnumMap<>(ContentCoding.class);
+		variants.put(ContentCoding.IDENTITY, variant(contentType, ContentCoding.IDENTITY, content, lastModified, true));
+		if( gzip.length < content.length ) {
+			variants.put(ContentCoding.GZIP, variant(contentType, ContentCoding.GZIP, gzip, lastModified, true));
+		}
+		if( deflate.length < content.length ) {
+			variants.put(ContentCoding.DEFLATE, variant(contentType, ContentCoding.DEFLATE, deflate, lastModified, true));
+		}
+
+		return new StaticResource(variants);
+	}
+
+	/**
+	 * Loads a classpath resource, see {@link #compressible(String, byte[], long)}. The last
+	 * modification comes from the resource (the JAR entry time), or the loading time otherwise.
+	 */
+	public static StaticResource classpath(final String name, final String contentType) throws IOException {
+		final URL url = StaticResource.class.getResource(name);
+		if( url == null ) {
+			throw new IOException("Resource not found: " + name);
+		}
+
+		final URLConnection connection = url.openConnection();
+		final long modified = connection.getLastModified();
+
+		try(final InputStream in = connection.getInputStream()) {
+			return compressible(contentType, IOUtils.toByteArray(in), modified > 0 ? modified : System.currentTimeMillis());
+		}
+	}
+
+	private static StaticResponse variant(final String contentType, final ContentCoding coding, final byte[] body, final long lastModified, final boolean vary) {
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set(HeaderName.CONTENT_TYPE, contentType);
+		if( coding != ContentCoding.IDENTITY ) {
+			headers.set(HeaderName.CONTENT_ENCODING, coding.token());
+		}
+		if( vary ) {
+			headers.set(HeaderName.VARY, HeaderName.ACCEPT_ENCODING.name());
+		}
+
+		return StaticResponse.of(HttpStatus.OK, headers, body, lastModified);
+	}
+
+	/**
+	 * @return the variant the client accepts best, as {@code 304 Not Modified} when the request
+	 *         validators match it, or {@code null} when the client accepts no variant
+	 */
+	public StaticResponse select(final HttpHeaders request) {
+		if( codings.length == 1 ) {
+			return variants.get(codings[0]).select(request);
+		}
+
+		final ContentCoding coding = ContentCoding.negotiate(request.get(HeaderName.ACCEPT_ENCODING), codings);
+		return coding == null ? null : variants.get(coding).select(request);
+	}
+
+	private static byte[] gzip(final byte[] content) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try(final OutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+			gzip.write(content);
+		} catch(IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] deflate(final byte[] content) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		// HTTP "deflate" is the zlib format, which DeflaterOutputStream produces by default
+		try(final OutputStream deflate = new DeflaterOutputStream(out, deflater)) {
+			deflate.write(content);
+		} catch(IOException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			deflater.end();
+		}
+		return out.toByteArray();
+	}
+
+}
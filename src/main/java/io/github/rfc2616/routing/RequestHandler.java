@@ -0,0 +1,19 @@
+package io.github.rfc2616.routing;
+
+import java.io.IOException;
+
+import io.github.rfc2616.http.HttpRequest;
+import io.github.rfc2616.http.HttpResponse;
+
+/**
+ * Application code answering the requests of a {@link Router route}.
+ * <p>
+ * Handlers run on connection threads and are shared by all of them. An exception thrown
+ * before the response is streamed turns into a {@code 500 Internal Server Error}.
+ */
+@FunctionalInterface
+public interface RequestHandler {
+
+	void handle(HttpRequest request, HttpResponse response) throws IOException;
+
+}
@@ -0,0 +1,49 @@
+package io.github.rfc2616.routing;
+
+import io.github.rfc2616.http.HttpMethod;
+
+/**
+ * Handlers registered for one path pattern, by method.
+ * The {@code Allow} value is rebuilt on registration, not per request.
+ */
+public final class Route {
+
+	private final String pattern;
+	private final RequestHandler[] handlers = new RequestHandler[HttpMethod.values().length];
+	private String allow = HttpMethod.OPTIONS.name();
+
+	Route(final String pattern) {
+		this.pattern = pattern;
+	}
+
+	public String pattern() {
+		return pattern;
+	}
+
+	/**
+	 * @return the handler for {@code method}, or {@code null} when the route does not support it
+	 */
+	public RequestHandler handler(final HttpMethod method) {
+		return handlers[method.ordinal()];
+	}
+
+	/**
+	 * @return the methods of the route as an {@code Allow} value; {@code OPTIONS} is always answered
+	 */
+	public String allow() {
+		return allow;
+	}
+
+	void add(final HttpMethod method, final RequestHandler handler) {
+		handlers[method.ordinal()] = handler;
+
+		final StringBuilder methods = new StringBuilder();
+		for(final HttpMethod candidate: HttpMethod.values()) {
+			if( candidate == HttpMethod.OPTIONS || handlers[candidate.ordinal()] != null ) {
+				methods.append(methods.length() == 0 ? "" : ", ").append(candidate.name());
+			}
+		}
+		this.allow = methods.toString();
+	}
+
+}
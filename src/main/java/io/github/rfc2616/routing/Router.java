@@ -0,0 +1,231 @@
+package io.github.rfc2616.routing;
+
+import java.util.Arrays;
+
+import io.github.rfc2616.http.HttpMethod;
+import io.github.rfc2616.http.PathParameters;
+
+/**
+ * Maps request paths to {@link Route routes}.
+ * <p>
+ * Patterns are made of literal text, {@code {name}} parameters spanning one path segment and a
+ * trailing {@code *} capturing the rest of the path, as in {@code /users/{id}/files/*}. They are
+ * compiled into a radix trie on registration, so a lookup walks the path once; literal text wins
+ * over a parameter, which wins over the wildcard. Routes are registered before the server starts.
+ */
+public final class Router {
+
+	public static final String WILDCARD = "*";
+
+	private static final class Node {
+
+		String prefix;
+		Node[] children = new Node[0];
+
+		Node parameter;
+		String parameterName;
+		Node wildcard;
+
+		Route route;
+
+		Node(final String prefix) {
+			this.prefix = prefix;
+		}
+
+		Node child(final char first) {
+			for(final Node child: children) {
+				if( child.prefix.charAt(0) == first ) {
+					return child;
+				}
+			}
+			return null;
+		}
+
+		void replace(final Node previous, final Node child) {
+			for(int i = 0; i < children.length; ++i) {
+				if( children[i] == previous ) {
+					children[i] = child;
+				}
+			}
+		}
+
+		void add(final Node child) {
+			this.children = Arrays.copyOf(children, children.length + 1);
+			children[children.length - 1] = child;
+		}
+
+	}
+
+	private final Node root = new Node("");
+
+	public Router get(final String pattern, final RequestHandler handler) {
+		return this.route(HttpMethod.GET, pattern, handler);
+	}
+
+	public Router post(final String pattern, final RequestHandler handler) {
+		return this.route(HttpMethod.POST, pattern, handler);
+	}
+
+	public Router put(final String pattern, final RequestHandler handler) {
+		return this.route(HttpMethod.PUT, pattern, handler);
+	}
+
+	public Router delete(final String pattern, final RequestHandler handler) {
+		return this.route(HttpMethod.DELETE, pattern, handler);
+	}
+
+	/**
+	 * Registers {@code handler} for {@code method} on {@code pattern}, replacing any previous one.
+	 *
+	 * @throws IllegalArgumentException when the pattern is malformed, or names a parameter
+	 *         differently from a pattern registered before at the same place
+	 */
+	public synchronized Router route(final HttpMethod method, final String pattern, final RequestHandler handler) {
+		if( pattern.isEmpty() || pattern.charAt(0) != '/' ) {
+			throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+		}
+
+		final Node node = this.insert(pattern);
+		if( node.route == null ) {
+			node.route = new Route(pattern);
+		}
+		node.route.add(method, handler);
+
+		return this;
+	}
+
+	private Node insert(final String pattern) {
+		Node node = root;
+
+		int i = 0;
+		while( i < pattern.length() ) {
+			final char c = pattern.charAt(i);
+
+			if( c == '{' ) {
+				final int close = pattern.indexOf('}', i);
+				if( close < 0 || pattern.charAt(i - 1) != '/' || ( close + 1 < pattern.length() && pattern.charAt(close + 1) != '/' ) ) {
+					throw new IllegalArgumentException("Parameter must span a whole segment: " + pattern);
+				}
+
+				final String name = pattern.substring(i + 1, close);
+				if( name.isEmpty() || name.indexOf('{') >= 0 ) {
+					throw new IllegalArgumentException("Invalid parameter name: " + pattern);
+				}
+				if( node.parameter == null ) {
+					node.parameter = new Node("");
+					node.parameterName = name;
+				} else if( ! node.parameterName.equals(name) ) {
+					throw new IllegalArgumentException("Parameter {" + name + "} conflicts with {" + node.parameterName + "}: " + pattern);
+				}
+
+				node = node.parameter;
+				i = close + 1;
+			} else if( c == '*' ) {
+				if( i + 1 != pattern.length() || pattern.charAt(i - 1) != '/' ) {
+					throw new IllegalArgumentException("Wildcard must end the pattern: " + pattern);
+				}
+				if( node.wildcard == null ) {
+					node.wildcard = new Node("");
+				}
+
+				node = node.wildcard;
+				i = pattern.length();
+			} else {
+				int end = i;
+				while( end < pattern.length() && pattern.charAt(end) != '{' && pattern.charAt(end) != '*' ) {
+					++end;
+				}
+
+				node = this.insertText(node, pattern.substring(i, end));
+				i = end;
+			}
+		}
+
+		return node;
+	}
+
+	private Node insertText(final Node parent, final String text) {
+		Node node = parent;
+		String rest = text;
+
+		while(true) {
+			final Node child = node.child(rest.charAt(0));
+			if( child == null ) {
+				final Node leaf = new Node(rest);
+				node.add(leaf);
+				return leaf;
+			}
+
+			int common = 0;
+			final int max = Math.min(child.prefix.length(), rest.length());
+			while( common < max && child.prefix.charAt(common) == rest.charAt(common) ) {
+				++common;
+			}
+
+			Node next = child;
+			if( common < child.prefix.length() ) {
+				// Split the edge where the new text departs from it
+				next = new Node(child.prefix.substring(0, common));
+				child.prefix = child.prefix.substring(common);
+				next.add(child);
+				node.replace(child, next);
+			}
+
+			if( common == rest.length() ) {
+				return next;
+			}
+
+			node = next;
+			rest = rest.substring(common);
+		}
+	}
+
+	/**
+	 * Finds the route of {@code path}, still percent-encoded, capturing its parameters.
+	 *
+	 * @return the route, or {@code null} when no pattern matches
+	 */
+	public Route find(final String path, final PathParameters parameters) {
+		parameters.reset(path);
+		return this.find(root, path, 0, parameters);
+	}
+
+	private Route find(final Node node, final String path, final int position, final PathParameters parameters) {
+		if( position == path.length() && node.route != null ) {
+			return node.route;
+		}
+
+		if( position < path.length() ) {
+			final Node child = node.child(path.charAt(position));
+			if( child != null && path.startsWith(child.prefix, position) ) {
+				final Route route = this.find(child, path, position + child.prefix.length(), parameters);
+				if( route != null ) {
+					return route;
+				}
+			}
+
+			if( node.parameter != null && path.charAt(position) != '/' ) {
+				int end = path.indexOf('/', position);
+				if( end < 0 ) {
+					end = path.length();
+				}
+
+				final int captured = parameters.size();
+				parameters.add(node.parameterName, position, end);
+				final Route route = this.find(node.parameter, path, end, parameters);
+				if( route != null ) {
+					return route;
+				}
+				parameters.truncate(captured);
+			}
+		}
+
+		if( node.wildcard != null ) {
+			parameters.add(WILDCARD, position, path.length());
+			return node.wildcard.route;
+		}
+
+		return null;
+	}
+
+}
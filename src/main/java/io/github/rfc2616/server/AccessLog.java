@@ -0,0 +1,327 @@
+package io.github.rfc2616.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import io.github.rfc2616.utilities.AppProperties;
+import io.github.rfc2616.utilities.LogService;
+import io.github.rfc2616.utilities.RingBuffer;
+
+/**
+ * Access log in the Common or Combined Log Format, with the request duration appended in microseconds.
+ * <p>
+ * Request threads only queue a record. The writer thread formats the records into a large direct
+ * buffer and appends it to the file in one write per {@link #INTERVAL}, or whenever the buffer
+ * fills. The file is rotated once it grows past its maximum size or gets older than the rotation
+ * period: it is renamed with the time of rotation appended and a new one is started. Records
+ * keep going to the file as it was when either step fails, and rotation is tried again later.
+ */
+final class AccessLog implements Runnable {
+	private final LogService logger = LogService.getInstance("HTTP-SERVER");
+
+	static final int CAPACITY = 16384;
+	static final int BUFFER_SIZE = 65536;
+	static final long INTERVAL = 100L;
+	static final long ROTATE_RETRY = TimeUnit.MINUTES.toMillis(1);
+
+	// Room kept after an escaped field for the rest of the line, which is never truncated
+	private static final int RESERVE = 256;
+	// Most bytes a char of an escaped field takes: the three UTF-8 bytes of a BMP char, each as \xhh
+	private static final int ESCAPED_CHAR = 12;
+
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter
+			.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.US)
+			.withZone(ZoneId.systemDefault());
+	private static final DateTimeFormatter SUFFIX = DateTimeFormatter
+			.ofPattern("yyyyMMdd-HHmmss", Locale.US)
+			.withZone(ZoneId.systemDefault());
+
+	private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * One served request, as the handler saw it.
+	 */
+	static final class Record {
+		private final long time = System.currentTimeMillis();
+		private final String client;
+		private final String requestLine;
+		private final int status;
+		private final long bytes;
+		private final long micros;
+		private final String referer;
+		private final String userAgent;
+
+		Record(final String client, final String requestLine, final int status, final long bytes,
+				final long micros, final String referer, final String userAgent) {
+			this.client = client;
+			this.requestLine = requestLine;
+			this.status = status;
+			this.bytes = bytes;
+			this.micros = micros;
+			this.referer = referer;
+			this.userAgent = userAgent;
+		}
+	}
+
+	private final Path path;
+	private final boolean combined;
+	private final long maxSize;
+	private final long rotatePeriod;
+
+	private final RingBuffer<Record> ring = new RingBuffer<>(CAPACITY);
+	private final LongAdder dropped = new LongAdder();
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final Thread thread;
+
+	private volatile boolean running = true;
+
+	// Guarded by the writer
+	private FileChannel channel;
+	private long size;
+	private long opened;
+	private long rotateAfter;
+	private long second = Long.MIN_VALUE;
+	private byte[] timestamp;
+
+	AccessLog(final Path path) throws IOException {
+		this.path = path;
+		this.combined = ! AppProperties.ACCESS_LOG_COMMON.equals(AppProperties.getAccessLogFormat());
+		this.maxSize = AppProperties.getAccessLogMaxSize();
+		this.rotatePeriod = TimeUnit.HOURS.toMillis(AppProperties.getAccessLogRotateHours());
+
+		this.open();
+
+		this.thread = new Thread(this, "http-access-log");
+		this.thread.setDaemon(true);
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	/**
+	 * Stops the writer once the records queued so far are written, and closes the file.
+	 */
+	void shutdown() {
+		this.running = false;
+		LockSupport.unpark(thread);
+		try {
+			thread.join(TimeUnit.SECONDS.toMillis(5));
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Queues {@code record}; returns at once, dropping it when the writer is too far behind.
+	 */
+	void log(final Record record) {
+		if( ! ring.offer(record) ) {
+			dropped.increment();
+		}
+	}
+
+	@Override
+	public void run() {
+		while( true ) {
+			final boolean stopping = ! running;
+			try {
+				this.drain();
+			} catch(IOException e) {
+				logger.error("Access log not written: {}", e.getMessage());
+				buffer.clear();
+			}
+
+			if( stopping ) {
+				break;
+			}
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(INTERVAL));
+		}
+
+		try {
+			channel.close();
+		} catch(IOException e) { /***/ }
+	}
+
+	private void drain() throws IOException {
+		Record record;
+		while( (record = ring.poll()) != null ) {
+			if( buffer.remaining() < this.estimate(record) ) {
+				this.write();
+			}
+			this.format(record);
+		}
+		this.write();
+
+		final long lost = dropped.sumThenReset();
+		if( lost > 0 ) {
+			logger.warning("{} access log records dropped", lost);
+		}
+
+		final long now = System.currentTimeMillis();
+		if( now >= rotateAfter && ( size >= maxSize || ( rotatePeriod > 0 && now - opened >= rotatePeriod ) ) ) {
+			this.rotate(now);
+		}
+	}
+
+	private void write() throws IOException {
+		buffer.flip();
+		while( buffer.hasRemaining() ) {
+			this.size += channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	private void open() throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		this.size = channel.size();
+		this.opened = System.currentTimeMillis();
+	}
+
+	/**
+	 * Renames the file while still open, then switches to a new one: until both succeeded the
+	 * current channel stays in use.
+	 */
+	private void rotate(final long now) {
+		Path target = path.resolveSibling(path.getFileName() + "." + SUFFIX.format(Instant.ofEpochMilli(now)));
+		for(int i = 1; Files.exists(target); ++i) {
+			target = path.resolveSibling(path.getFileName() + "." + SUFFIX.format(Instant.ofEpochMilli(now)) + "-" + i);
+		}
+
+		final FileChannel previous = this.channel;
+		try {
+			// Already gone when a previous attempt could not open the new file
+			if( Files.exists(path) ) {
+				Files.move(path, target, StandardCopyOption.ATOMIC_MOVE);
+			}
+			this.open();
+		} catch(IOException e) {
+			logger.error("Access log not rotated: {}", e.getMessage());
+			this.rotateAfter = now + ROTATE_RETRY;
+			return;
+		}
+
+		try {
+			previous.close();
+		} catch(IOException e) { /***/ }
+	}
+
+	/**
+	 * @return an upper bound of the bytes {@code record} takes once formatted
+	 */
+	private int estimate(final Record record) {
+		// The escaped fields stop short of the reserve, so it is part of the bound
+		int length = RESERVE + 128 + record.client.length() + ESCAPED_CHAR * record.requestLine.length();
+		if( combined ) {
+			length += ESCAPED_CHAR * (length(record.referer) + length(record.userAgent));
+		}
+		return Math.min(length, BUFFER_SIZE);
+	}
+
+	private static int length(final String value) {
+		return value == null ? 1 : value.length();
+	}
+
+	/**
+	 * {@code host - - [time] "request" status bytes ["referer" "user-agent"] micros}
+	 */
+	private void format(final Record record) {
+		this.put(record.client);
+		this.put(" - - [");
+		buffer.put(this.timestamp(record.time));
+		this.put("] \"");
+		this.putEscaped(record.requestLine);
+		this.put("\" ");
+		this.putNumber(record.status);
+		buffer.put((byte) ' ');
+		if( record.bytes > 0 ) {
+			this.putNumber(record.bytes);
+		} else {
+			buffer.put((byte) '-');
+		}
+
+		if( combined ) {
+			this.put(" \"");
+			this.putEscaped(record.referer == null ? "-" : record.referer);
+			this.put("\" \"");
+			this.putEscaped(record.userAgent == null ? "-" : record.userAgent);
+			buffer.put((byte) '"');
+		}
+
+		buffer.put((byte) ' ');
+		this.putNumber(record.micros);
+		buffer.put((byte) '\n');
+	}
+
+	private byte[] timestamp(final long time) {
+		final long current = time / 1000;
+		if( current != second ) {
+			this.second = current;
+			this.timestamp = TIMESTAMP.format(Instant.ofEpochSecond(current)).getBytes(StandardCharsets.US_ASCII);
+		}
+		return timestamp;
+	}
+
+	private void put(final String value) {
+		for(int i = 0; i < value.length() && buffer.hasRemaining(); ++i) {
+			buffer.put((byte) value.charAt(i));
+		}
+	}
+
+	/**
+	 * Writes {@code value} with quotes, backslashes and bytes outside printable ASCII escaped,
+	 * cut short if it would not leave the rest of the line room in the buffer.
+	 * <p>
+	 * Fields read off the wire hold one char per byte, escaped as that byte; chars above
+	 * {@code 0xFF} can only come from the application, and are escaped as their UTF-8 bytes.
+	 */
+	private void putEscaped(final String value) {
+		for(int i = 0; i < value.length() && buffer.remaining() > RESERVE; ++i) {
+			final char c = value.charAt(i);
+			if( c == '"' || c == '\\' ) {
+				buffer.put((byte) '\\').put((byte) c);
+			} else if( c >= 0x20 && c <= 0x7E ) {
+				buffer.put((byte) c);
+			} else if( c <= 0xFF ) {
+				this.putHex(c);
+			} else if( c < 0x800 ) {
+				this.putHex(0xC0 | c >> 6);
+				this.putHex(0x80 | c & 0x3F);
+			} else if( Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1)) ) {
+				final int code = Character.toCodePoint(c, value.charAt(++i));
+				this.putHex(0xF0 | code >> 18);
+				this.putHex(0x80 | code >> 12 & 0x3F);
+				this.putHex(0x80 | code >> 6 & 0x3F);
+				this.putHex(0x80 | code & 0x3F);
+			} else {
+				// A lone surrogate is logged as U+FFFD, as a UTF-8 encoder would replace it
+				final int code = Character.isSurrogate(c) ? 0xFFFD : c;
+				this.putHex(0xE0 | code >> 12);
+				this.putHex(0x80 | code >> 6 & 0x3F);
+				this.putHex(0x80 | code & 0x3F);
+			}
+		}
+	}
+
+	private void putHex(final int octet) {
+		buffer.put((byte) '\\').put((byte) 'x').put(HEX[(octet >> 4) & 0xF]).put(HEX[octet & 0xF]);
+	}
+
+	private void putNumber(final long value) {
+		this.put(Long.toString(value));
+	}
+
+}
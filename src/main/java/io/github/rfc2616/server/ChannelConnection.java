@@ -0,0 +1,263 @@
+package io.github.rfc2616.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.github.rfc2616.http.BufferPool;
+import io.github.rfc2616.metrics.Metrics;
+import io.github.rfc2616.utilities.AppProperties;
+import io.github.rfc2616.utilities.LogService;
+
+/**
+ * Non-blocking connection owned by an {@link EventLoop}.
+ * <p>
+ * While idle the connection holds no thread: the loop watches it for read readiness and
+ * dispatches its handler to the executor once bytes arrive, and the {@link TimerWheel} closes
+ * it when the keep-alive timeout passes first. A handler thread that runs out
+ * of input (or socket buffer space) in the middle of a request parks here until the loop
+ * signals readiness again. It parks on a {@link Condition} rather than a monitor, so that a
+ * virtual thread waiting on a slow client leaves its carrier thread free.
+ */
+final class ChannelConnection implements Connection {
+	private final LogService logger = LogService.getInstance("HTTP-SERVER");
+
+	private final SocketChannel channel;
+	private String remoteAddress;
+	private final EventLoop loop;
+	private final ConnectionExecutor executor;
+	private final ClientRequestHandler handler;
+	private final TimerWheel timers = Worker.timers();
+	private final BufferPool buffers = Worker.buffers();
+	private final Metrics metrics = Worker.metrics();
+	private final AtomicBoolean open = new AtomicBoolean(true);
+	private final TimerWheel.Timeout idle = new TimerWheel.Timeout(this::closeIfIdle);
+	private final long keepAliveTimeout = TimeUnit.SECONDS.toMillis(AppProperties.getKeepAliveTimeout());
+
+	private final InputStream input = new ChannelInputStream();
+	private final GatheringByteChannel output = new ChannelOutput();
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition readiness = lock.newCondition();
+
+	private SelectionKey key;
+	// Guarded by the lock
+	private boolean busy = false;
+	private int readyOps = 0;
+
+	ChannelConnection(final SocketChannel channel, final EventLoop loop, final ConnectionExecutor executor) {
+		this.channel = channel;
+		this.loop = loop;
+		this.executor = executor;
+		this.handler = new ClientRequestHandler(this);
+	}
+
+	SocketChannel channel() {
+		return channel;
+	}
+
+	void registered(final SelectionKey key) {
+		this.key = key;
+		// Until the first request arrives, the connection gets as long as a request head would
+		timers.schedule(idle, TimeUnit.SECONDS.toMillis(AppProperties.getHeaderTimeout()));
+	}
+
+	/**
+	 * Invoked by the event loop when the channel became ready for the given operations.
+	 */
+	void ready(final int ops) {
+		lock.lock();
+		try {
+			if( ! busy ) {
+				this.busy = true;
+				timers.cancel(idle);
+				executor.execute(handler);
+				return;
+			}
+
+			this.readyOps |= ops;
+			readiness.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Drops the connection once it stayed idle past its timeout.
+	 */
+	private void closeIfIdle() {
+		lock.lock();
+		try {
+			if( busy || ! channel.isOpen() ) {
+				return;
+			}
+
+			try {
+				channel.close();
+			} catch(IOException e) { /***/ }
+			this.closed();
+		} finally {
+			lock.unlock();
+		}
+
+		metrics.timeout(Metrics.Timeout.IDLE);
+		logger.info("Idle client connection terminated.");
+	}
+
+	@Override
+	public InputStream getInputStream() {
+		return input;
+	}
+
+	@Override
+	public GatheringByteChannel getOutputChannel() {
+		return output;
+	}
+
+	@Override
+	public boolean suspend() {
+		lock.lock();
+		try {
+			this.busy = false;
+			this.readyOps = 0;
+			timers.schedule(idle, keepAliveTimeout);
+			loop.interest(key, SelectionKey.OP_READ);
+		} finally {
+			lock.unlock();
+		}
+
+		return true;
+	}
+
+	@Override
+	public String getRemoteAddress() {
+		if( remoteAddress == null ) {
+			final InetAddress address = channel.socket().getInetAddress();
+			this.remoteAddress = address == null ? "-" : address.getHostAddress();
+		}
+		return remoteAddress;
+	}
+
+	@Override
+	public void close() throws IOException {
+		timers.cancel(idle);
+		channel.close();
+		this.closed();
+
+		lock.lock();
+		try {
+			readiness.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Counts the connection closed and gives its slot back, once whichever thread closed it.
+	 */
+	private void closed() {
+		if( open.compareAndSet(true, false) ) {
+			metrics.connectionClosed();
+			executor.release();
+		}
+	}
+
+	/**
+	 * Parks the handler thread until the loop signals {@code op}; like a blocking socket, the
+	 * wait has no limit of its own: the handler's deadlines close the connection, which ends it.
+	 */
+	private void await(final int op) throws IOException {
+		lock.lock();
+		try {
+			this.readyOps &= ~op;
+			loop.interest(key, op);
+
+			while( (readyOps & op) == 0 ) {
+				if( ! channel.isOpen() ) {
+					throw new ClosedChannelException();
+				}
+
+				try {
+					readiness.await();
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new ClosedChannelException();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private final class ChannelInputStream extends InputStream {
+
+		private final byte[] octet = new byte[1];
+
+		@Override
+		public int read() throws IOException {
+			return read(octet, 0, 1) == -1 ? -1 : (octet[0] & 0xFF);
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			if( len == 0 ) { return 0; }
+
+			while(true) {
+				// Read through a pooled direct slab: the handler thread holds it only for the call
+				final int count = buffers.read(channel, b, off, len);
+				if( count != 0 ) {
+					return count;
+				}
+				await(SelectionKey.OP_READ);
+			}
+		}
+
+	}
+
+	private final class ChannelOutput implements GatheringByteChannel {
+
+		@Override
+		public int write(final ByteBuffer src) throws IOException {
+			return (int) write(new ByteBuffer[] { src }, 0, 1);
+		}
+
+		@Override
+		public long write(final ByteBuffer[] srcs) throws IOException {
+			return write(srcs, 0, srcs.length);
+		}
+
+		@Override
+		public long write(final ByteBuffer[] srcs, final int offset, final int length) throws IOException {
+			long total = 0;
+			while( srcs[offset + length - 1].hasRemaining() ) {
+				final long count = channel.write(srcs, offset, length);
+				if( count == 0 ) {
+					await(SelectionKey.OP_WRITE);
+				}
+				total += count;
+			}
+			return total;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return channel.isOpen();
+		}
+
+		@Override
+		public void close() throws IOException {
+			ChannelConnection.this.close();
+		}
+
+	}
+
+}
@@ -1,190 +1,444 @@
 package io.github.rfc2616.server;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.Socket;
-import java.net.SocketTimeoutException;
-import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Locale;
-import java.util.Map;
-import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.zip.GZIPOutputStream;
-
-import org.apache.commons.io.IOUtils;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import io.github.rfc2616.exceptions.CloseConnectionException;
+import io.github.rfc2616.http.ByteRanges;
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpDate;
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.HttpMethod;
+import io.github.rfc2616.http.HttpRequest;
+import io.github.rfc2616.http.HttpResponse;
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.http.InputBuffer;
+import io.github.rfc2616.http.OutputBuffer;
+import io.github.rfc2616.http.Preconditions;
+import io.github.rfc2616.http.RequestBody;
+import io.github.rfc2616.http.RequestHeadParser;
+import io.github.rfc2616.http.RequestTarget;
+import io.github.rfc2616.http.ResponseBodyStream;
+import io.github.rfc2616.http.ResponseHead;
+import io.github.rfc2616.http.StaticResponse;
+import io.github.rfc2616.metrics.Metrics;
+import io.github.rfc2616.resources.DocumentRoot;
+import io.github.rfc2616.resources.FileEntry;
+import io.github.rfc2616.resources.StaticResource;
+import io.github.rfc2616.routing.RequestHandler;
+import io.github.rfc2616.routing.Route;
+import io.github.rfc2616.routing.Router;
+import io.github.rfc2616.utilities.AppProperties;
 import io.github.rfc2616.utilities.LogService;
 
 public class ClientRequestHandler implements Runnable {
 	private final LogService logger = LogService.getInstance("HTTP-SERVER");
 
-	private Socket client;
+	private final Connection connection;
 
-	private InputStream in;
-	private OutputStream out;
+	private InputBuffer in;
+	private OutputBuffer out;
+	private ResponseBodyStream responseStream;
 
-	public ClientRequestHandler(Socket c) {
-		this.client = c;
+	private RequestHeadParser parser;
+
+	public ClientRequestHandler(SocketChannel c) {
+		this.connection = new SocketConnection(c);
 	}
 
-	private boolean interrupt = false;
+	ClientRequestHandler(Connection c) {
+		this.connection = c;
+	}
 
-	final int socket_timeout = 10000;
+	private boolean interrupt = false;
 
 	@Override
 	public void run() {
-		try {
-			this.client.setSoTimeout(socket_timeout);
-			this.in = client.getInputStream();
-			this.out = client.getOutputStream();
-		} catch(IOException e) {
-			logger.warning("Request startup error: {}", e.getMessage());
-			return;
+		if( this.in == null ) {
+			try {
+				this.out = new OutputBuffer(connection.getOutputChannel(), Worker.buffers());
+				// Responses to pipelined requests leave together, when the next request has to be read
+				this.in = new InputBuffer(new BodyProgressInput(connection.getInputStream()), this.out);
+				this.responseStream = new ResponseBodyStream(this.out, AppProperties.getChunkSize());
+			} catch(IOException e) {
+				logger.warning("Request startup error: {}", e.getMessage());
+				return;
+			}
 		}
 
+		this.attach();
+
 		while(true) {
 			try {
 				this.handle();
 				if(!interrupt) {
+					if( this.in.available() == 0 ) {
+						// End of the batch: hand the thread back while the connection waits for its next request
+						out.release();
+						this.detach();
+						if( connection.suspend() ) {
+							return;
+						}
+						this.attach();
+					}
 					continue;
 				}
-			} catch (SocketTimeoutException e) {
-				logger.warning(e.getMessage());
 			} catch (CloseConnectionException e) {
 				logger.warning("Connection closed");
 			} catch (IOException e) {
 				logger.warning("Request handling error: {}", e.getMessage());
+			} catch (RuntimeException e) {
+				// The connection still gets closed and its buffers and contexts released
+				logger.error("Request handling failure", e);
 			}
 			break;
 		}
 
+		timers.cancel(this.deadline);
+		this.detach();
+
 		try {
-			client.close();
+			// Answers already given to the batch still go out before the connection closes
+			out.release();
 		} catch (IOException e) { /***/ }
+		this.countTraffic();
 
-		logger.info("Client connection terminated.");
-	}
-
-	private static enum HttpMethod {
-		OPTIONS, HEAD, GET, POST, PUT, DELETE, TRACE, CONNECT;
-
-		static HttpMethod from(final String method) {
-			if (method == null) {
-				return null;
-			}
-			for (final HttpMethod m : values()) {
-				if (m.name().equalsIgnoreCase(method)) {
-					return m;
-				}
-			}
-			return null;
-		}
+		try {
+			connection.close();
+		} catch (IOException e) { /***/ }
 
+		logger.info("Client connection terminated.");
 	}
 
 	private static final String CRLF = "\r\n";
-	private static final byte[] CRLF_RAW = CRLF.getBytes(StandardCharsets.US_ASCII);
 
-	private boolean isUrlAsterisk = false;
+	static final int RETRY_AFTER_SECONDS = 1;
 
-	private HttpMethod requestMethod = null;
-	private URL requestUrl = null;
+	// Pre-encoded so that a saturated server can turn a connection away from the accept thread
+	static final byte[] SERVICE_UNAVAILABLE_RAW = ("HTTP/1.1 503 Service Unavailable" + CRLF
+			+ "Server: " + ResponseHead.SERVER + CRLF
+			+ "Retry-After: " + RETRY_AFTER_SECONDS + CRLF
+			+ "Content-Length: 0" + CRLF
+			+ "Connection: close" + CRLF
+			+ CRLF).getBytes(StandardCharsets.US_ASCII);
 
-	private ByteArrayOutputStream httpRawRequestHeaders = new ByteArrayOutputStream();
-	private Map<String, List<String>> httpRequestHeaders = new LinkedHashMap<>();
-	private ByteArrayOutputStream httpRequestBody = new ByteArrayOutputStream();
-	private Map<String, List<String>> httpResponseHeaders = new LinkedHashMap<>();
-	private ByteArrayOutputStream httpResponseBody = new ByteArrayOutputStream();
+	private HttpMethod requestMethod = null;
+	private FileEntry requestedFile = null;
+	private RequestTarget requestTarget;
+
+	private Exchange exchange;
+	private HttpRequest httpRequest;
+	private HttpResponse httpResponse;
+	private HttpHeaders httpRequestHeaders;
+	private RequestBody httpRequestBody;
+	private HttpHeaders httpResponseHeaders;
+	private ByteArrayOutputStream httpResponseBody;
+
+	private final Function<HttpStatus, ResponseBodyStream> opener = this::openResponseStream;
+	private final Router router = Worker.router();
+
+	private final long maxBodySize = AppProperties.getMaxBodySize();
+	private final int bodyMemoryThreshold = AppProperties.getBodyMemoryThreshold();
+
+	static final byte PHASE_NONE = 0;
+	static final byte PHASE_IDLE = 1;
+	static final byte PHASE_HEADER = 2;
+	static final byte PHASE_BODY = 3;
+
+	private final TimerWheel timers = Worker.timers();
+	private final TimerWheel.Timeout deadline = new TimerWheel.Timeout(this::expire);
+	private volatile byte phase = PHASE_NONE;
+
+	private final int keepAliveSeconds = AppProperties.getKeepAliveTimeout();
+	private final long keepAliveTimeout = TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+	private final long headerTimeout = TimeUnit.SECONDS.toMillis(AppProperties.getHeaderTimeout());
+	private final long bodyTimeout = TimeUnit.SECONDS.toMillis(AppProperties.getBodyTimeout());
+	private final int maxRequests = AppProperties.getKeepAliveRequests();
+	private int requests = 0;
+
+	private final HttpHeaders connectionFields = new HttpHeaders();
+
+	private final AccessLog accessLog = Worker.accessLog();
+	private final Metrics metrics = Worker.metrics();
+	private long requestStart;
+	private long requestSent;
+	private HttpStatus responseStatus;
+	private String requestRoute;
+
+	// Traffic of the connection counted in the metrics so far
+	private long countedIn;
+	private long countedOut;
+
+	/**
+	 * Takes request and response contexts from the pool for the requests at hand.
+	 */
+	private void attach() {
+		this.exchange = Exchange.acquire(this.opener);
+		this.httpRequest = exchange.request;
+		this.httpResponse = exchange.response;
+		this.parser = httpRequest.head();
+		this.requestTarget = parser.target();
+		this.httpRequestHeaders = parser.headers();
+		this.httpRequestBody = httpRequest.body();
+		this.httpResponseHeaders = httpResponse.headers();
+		this.httpResponseBody = httpResponse.buffer();
+	}
+
+	/**
+	 * Gives the contexts back to the pool, before waiting for more requests or closing.
+	 */
+	private void detach() {
+		if (this.exchange != null) {
+			this.exchange.release();
+			this.exchange = null;
+		}
+	}
 
 	private void cleanup() {
 		this.requestMethod = null;
-		this.requestUrl = null;
-		this.httpRequestHeaders.clear();
-		this.httpResponseHeaders.clear();
-		this.httpRequestBody.reset();
-		this.httpResponseBody.reset();
+		this.requestedFile = null;
+		this.responseStatus = null;
+		this.requestRoute = Metrics.UNMATCHED;
+		this.httpRequest.reset();
+		this.httpResponse.reset();
+		this.responseStream.abort();
 	}
 
 	private byte handle() throws IOException {
 		this.cleanup();
-		
+
+		this.awaitRequest();
+		this.requestStart = System.nanoTime();
+		this.requestSent = out.sent();
+
 		this.startHandleHttpRequest();
+		this.disarm();
 
 		if (this.requestMethod != null) {
 			this.continueHandleHttpRequest();
 		}
-		out.flush();
+
+		this.finishBodyPayload();
+		this.recordRequest();
 
 		return this.checkCloseConnection();
 	}
 	
+	/**
+	 * Records the request in the metrics and the access log, once answered.
+	 */
+	private void recordRequest() {
+		this.countTraffic();
+		if (this.responseStatus == null) {
+			return;
+		}
+
+		final long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - this.requestStart);
+		this.metrics.request(this.requestRoute, this.requestMethod, this.responseStatus, micros);
+
+		if (this.accessLog == null) {
+			return;
+		}
+
+		this.accessLog.log(new AccessLog.Record(
+				this.connection.getRemoteAddress(),
+				this.parser.requestLine(),
+				this.responseStatus.code(),
+				this.out.sent() - this.requestSent,
+				micros,
+				this.httpRequestHeaders.get(HeaderName.REFERER),
+				this.httpRequestHeaders.get(HeaderName.USER_AGENT)));
+	}
+
+	/**
+	 * Adds the bytes read and written since last counted to the metrics.
+	 */
+	private void countTraffic() {
+		final long received = this.in.received();
+		final long sent = this.out.sent();
+		this.metrics.received(received - this.countedIn);
+		this.metrics.sent(sent - this.countedOut);
+		this.countedIn = received;
+		this.countedOut = sent;
+	}
+
 	private byte checkCloseConnection() throws IOException {
-		final List<String> connectionHeader = this.httpRequestHeaders.get("connection");
-		if ( connectionHeader != null && ! connectionHeader.isEmpty() && "close".equalsIgnoreCase(connectionHeader.get(0)) ) {
+		if ( this.httpRequestHeaders.containsToken(HeaderName.CONNECTION, "close") ) {
 			logger.warning("Client has requested server to close connection");
 			throw new CloseConnectionException();
 		}
 
+		if ( this.isRequestLimitReached() ) {
+			logger.info("Connection served its {} requests", this.maxRequests);
+			throw new CloseConnectionException();
+		}
+
 		return 0;
 	}
 
-	private void startHandleHttpRequest() throws IOException {
-		final ByteArrayOutputStream cache = new ByteArrayOutputStream();
-		
-		int octet0 = 0;
-		int octet1 = 0;
-		int octet2 = 0;
-		int octet3 = 0;
-
-		int octet = -1;
-		while ((octet = in.read()) != -1) {
-			cache.write(octet);
-
-			octet0 = octet1;
-			octet1 = octet2;
-			octet2 = octet3;
-			octet3 = octet;
-
-			if (	octet0 == '\r' 
-				&&	octet1 == '\n'
-				&&	octet2 == '\r' 
-				&&	octet3 == '\n'
-			) {
-
-				final byte[] rawHeaders = cache.toByteArray();
-				this.httpRawRequestHeaders.write(rawHeaders);
-				this.analyseRequestHeader(Arrays.copyOfRange(rawHeaders, 0, rawHeaders.length - 4));
+	private boolean isRequestLimitReached() {
+		return this.maxRequests > 0 && this.requests >= this.maxRequests;
+	}
+
+	/**
+	 * Waits for the first byte of the next request, under the keep-alive timeout once the
+	 * connection has served a request, then gives the whole head the header timeout.
+	 */
+	private void awaitRequest() throws IOException {
+		if (this.in.available() == 0) {
+			if (this.requests == 0) {
+				this.arm(PHASE_HEADER, this.headerTimeout);
+			} else {
+				this.arm(PHASE_IDLE, this.keepAliveTimeout);
+			}
+
+			int count = 0;
+			while (count == 0) {
+				count = this.in.fill();
+			}
+			if (count == -1) {
+				throw new CloseConnectionException();
+			}
+		}
+
+		this.arm(PHASE_HEADER, this.headerTimeout);
+	}
+
+	private void arm(final byte phase, final long timeout) {
+		this.phase = phase;
+		timers.schedule(this.deadline, timeout);
+	}
+
+	private void disarm() {
+		this.phase = PHASE_NONE;
+		timers.cancel(this.deadline);
+	}
+
+	/**
+	 * Runs on the timer thread: closing the connection ends whatever read is waiting on it.
+	 */
+	private void expire() {
+		switch (this.phase) {
+			case PHASE_IDLE:
+				metrics.timeout(Metrics.Timeout.IDLE);
+				logger.info("Keep-alive timeout");
+				break;
+			case PHASE_HEADER:
+				metrics.timeout(Metrics.Timeout.HEADER);
+				logger.warning("Request head not received in time");
 				break;
+			case PHASE_BODY:
+				metrics.timeout(Metrics.Timeout.BODY);
+				logger.warning("Request body stalled");
+				break;
+			default:
+				return;
+		}
 
+		try {
+			connection.close();
+		} catch (IOException e) { /***/ }
+	}
+
+	/**
+	 * Adds {@code Connection: close} to the last response of the connection, and the limits it
+	 * is kept open with to the others.
+	 */
+	private void connectionFieldsTo(final HttpHeaders headers) {
+		if (this.interrupt || this.isRequestLimitReached()
+				|| this.httpRequestHeaders.containsToken(HeaderName.CONNECTION, "close")) {
+			headers.set(HeaderName.CONNECTION, "close");
+			return;
+		}
+
+		if (this.maxRequests > 0) {
+			headers.set(HeaderName.KEEP_ALIVE, "timeout=" + this.keepAliveSeconds + ", max=" + (this.maxRequests - this.requests));
+		} else {
+			headers.set(HeaderName.KEEP_ALIVE, "timeout=" + this.keepAliveSeconds);
+		}
+	}
+
+	/**
+	 * Connection input pushing the body deadline back whenever body bytes arrive.
+	 */
+	private final class BodyProgressInput extends FilterInputStream {
+
+		BodyProgressInput(final InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int octet = super.read();
+			if (octet != -1 && phase == PHASE_BODY) {
+				timers.schedule(deadline, bodyTimeout);
+			}
+			return octet;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			final int count = super.read(b, off, len);
+			if (count > 0 && phase == PHASE_BODY) {
+				timers.schedule(deadline, bodyTimeout);
 			}
+			return count;
+		}
+
+	}
 
+	private void startHandleHttpRequest() throws IOException {
+		final byte status = this.parser.parse(this.in);
+
+		switch(status) {
+			case RequestHeadParser.HEAD_COMPLETE:
+				++this.requests;
+				this.analyseRequestHeader();
+				return;
+			case RequestHeadParser.HEAD_MALFORMED:
+				metrics.parseError(Metrics.ParseError.HEAD);
+				this.interrupt = true;
+				this.sendBadRequest("Invalid HTTP Request");
+				return;
+			case RequestHeadParser.HEAD_TOO_LARGE:
+				metrics.parseError(Metrics.ParseError.HEAD_TOO_LARGE);
+				this.interrupt = true;
+				this.sendBadRequest("HTTP Request Header Too Large");
+				return;
+			default:
+				// Peer has closed its side of the connection: there is no request to wait for
+				throw new CloseConnectionException();
 		}
 	}
 
 	static final byte Q_BAD_REQUEST = -1;
 	static final byte Q_NOT_FOUND = -2;
+	static final byte Q_METHOD_NOT_ALLOWED = -3;
 	static final byte Q_SERVER_ERROR = 1;
+	static final byte Q_FILE = 2;
+	static final byte Q_STREAMED = 3;
 
 	private byte validateMessagePayloadRequirement() throws IOException {
 		final boolean bodyExpected 
 				=	HttpMethod.POST.equals(this.requestMethod) 
 				||	HttpMethod.PUT.equals(this.requestMethod);
 
-		final boolean contentLengthProvided = this.httpRequestHeaders.containsKey("content-length");
-		final boolean transferEncodingProvided = this.httpRequestHeaders.containsKey("transfer-encoding");
+		final boolean contentLengthProvided = this.httpRequestHeaders.contains(HeaderName.CONTENT_LENGTH);
+		final boolean transferEncodingProvided = this.httpRequestHeaders.contains(HeaderName.TRANSFER_ENCODING);
+
+		if( contentLengthProvided && ! transferEncodingProvided && this.httpRequestHeaders.getLong(HeaderName.CONTENT_LENGTH) < 0 ) {
+			this.interrupt = true;
+			this.sendBadRequest("Invalid Content-Length");
+			return 1;
+		}
 
 		if (bodyExpected) {
 			if( ! contentLengthProvided && ! transferEncodingProvided ) {
@@ -201,10 +455,17 @@ public class ClientRequestHandler implements Runnable {
 
 		if (payloadRequirements == 1) { return 0; }
 
-		this.extractBodyPayload();
+		if (this.openBodyPayload() == 1) { return 0; }
 
-		this.httpResponseHeaders.put("Content-Length", Collections.singletonList("0"));
+		if (HttpMethod.GET.equals(this.requestMethod)) {
+			final StaticResource resource = StaticRoutes.get(getPath());
+			if (resource != null) {
+				this.requestRoute = getPath();
+				return this.sendResource(resource);
+			}
+		}
 
+		// No Content-Length preset: a streamed body without one goes out chunked, a buffered one gets its size
 		byte returnCode = 0;
 		switch (this.requestMethod) {
 		case OPTIONS:
@@ -213,14 +474,31 @@ public class ClientRequestHandler implements Runnable {
 		case TRACE:
 			returnCode = this.handleTraceRequests();
 			break;
-		case GET:
-			returnCode = this.handleGetRequests();
-			break;
-		case POST:
-			returnCode = this.handlePostRequests();
-			break;
 		default:
-			return this.sendMethodNotAllowed();
+			returnCode = this.handleRoutedRequests();
+		}
+
+		if (returnCode == Q_STREAMED) {
+			return 0;
+		}
+
+		if (returnCode != 0 && this.responseStream.isCommitted()) {
+			// Part of the response is on the wire already: closing is the only way to signal the failure
+			logger.warning("Streamed response failed after {} bytes", this.responseStream.written());
+			this.interrupt = true;
+			return 0;
+		}
+		this.responseStream.abort();
+
+		if (this.httpRequestBody.isExceeded()) {
+			this.interrupt = true;
+			return this.sendRequestEntityTooLarge();
+		}
+
+		if (this.httpRequestBody.isMalformed()) {
+			metrics.parseError(Metrics.ParseError.CHUNKED_BODY);
+			this.interrupt = true;
+			return this.sendBadRequest("Malformed chunked body");
 		}
 
 		if (returnCode == Q_BAD_REQUEST) {
@@ -231,6 +509,15 @@ public class ClientRequestHandler implements Runnable {
 			return this.sendResourceNotFound();
 		}
 
+		if (returnCode == Q_METHOD_NOT_ALLOWED) {
+			return this.sendMethodNotAllowed();
+		}
+
+		if (returnCode == Q_FILE) {
+			// Outside of the handler guard: a failure while streaming must drop the connection
+			return this.sendFile();
+		}
+
 		if (returnCode != 0) {
 			return this.sendServerError(null);
 		}
@@ -254,537 +541,328 @@ public class ClientRequestHandler implements Runnable {
 		}
 	}
 	
-	private byte handleGetRequests() {
-		try {
-			return doHandleGetRequests();
-		} catch (IOException e) {
-			return 1;
-		}
-	}
-
-	private byte handlePostRequests() {
+	private byte handleRoutedRequests() {
 		try {
-			return doHandlePostRequests();
+			return doHandleRoutedRequests();
 		} catch (IOException e) {
 			return 1;
 		}
 	}
 	
 	private final String getPath() {
-		return this.isUrlAsterisk ? "*" : this.requestUrl.getPath();
+		return this.requestTarget.path();
 	}
 
 	private byte doHandleOptionsRequests() throws IOException {
 		final String path = getPath();
 
 		switch (path) {
-			case "*": return this.ping();
+			case "*":
+				this.requestRoute = path;
+				return this.ping();
 			default:
-				return Q_NOT_FOUND;
+				return this.doHandleRoutedRequests();
 		}
 		
 	}
 	
 	private byte doHandleTraceRequests() throws IOException {
-		final byte[] raw = this.httpRawRequestHeaders.toByteArray();
+		this.parser.writeHead(this.httpResponseBody);
 
-		this.httpResponseHeaders.put("Content-Type", Collections.singletonList("message/http"));
-		this.httpResponseHeaders.put("Content-Length", Collections.singletonList(Integer.toString(raw.length)));
-		this.httpResponseBody.write(raw);
+		this.httpResponseHeaders.set(HeaderName.CONTENT_TYPE, "message/http");
+		this.httpResponseHeaders.set(HeaderName.CONTENT_LENGTH, this.httpResponseBody.size());
 
-		logger.info("[TRACE]\n{}", new String(raw, StandardCharsets.US_ASCII));
+		logger.info("[TRACE]\n{}", this.httpResponseBody.toString(StandardCharsets.US_ASCII.name()));
 		return 0;
 	}
 
 	private byte doHandleGetRequests() throws IOException {
-		final String path = getPath(); 
-
-		switch (path) {
-			case "/live":
-			case "/ready":
-				return this.liveness();
-			case "/spec":
-				return this.spec();
-			case "/page":
-				return this.page();
-			case "/app.js":
-				return this.appJs();
-			case "/":
-				return this.sendBasicBody();
-			default:
-				return Q_NOT_FOUND;
+		// Constant resources are answered from StaticRoutes before dispatching here
+		final DocumentRoot documentRoot = Worker.documentRoot();
+		if (documentRoot != null) {
+			this.requestedFile = documentRoot.lookup(this.requestTarget.decodedPath());
+			if (this.requestedFile != null) {
+				this.requestRoute = Metrics.FILES;
+				return Q_FILE;
+			}
 		}
-	}
-
-	private byte doHandlePostRequests() throws IOException {
-		final String path = getPath();
 
-		switch (path) {
-			case "/echo":
-				return this.echo();
-			default:
-				return Q_NOT_FOUND;
-		}
+		return Q_NOT_FOUND;
 	}
 
-	private byte extractBodyPayload() throws IOException {
-		final List<String> transferEncoding = this.httpRequestHeaders.get("transfer-encoding");
-
-		if( transferEncoding == null ) {
-			return extractBodyByContent();
+	private byte doHandleRoutedRequests() throws IOException {
+		final Route route = this.router.find(getPath(), this.httpRequest.parameters());
+		if (route == null) {
+			switch (this.requestMethod) {
+				case GET: return this.doHandleGetRequests();
+				case OPTIONS:
+				case POST: return Q_NOT_FOUND;
+				default:
+					return Q_METHOD_NOT_ALLOWED;
+			}
 		}
 
-		return extractBodyByTransfer(transferEncoding);
-	}
-
-	private byte extractBodyByContent() throws IOException {
-		final List<String> contentLength = this.httpRequestHeaders.get("content-length");
-
-		if (contentLength == null || contentLength.isEmpty()) {
-			return 0;
+		this.requestRoute = route.pattern();
+		final RequestHandler handler = route.handler(this.requestMethod);
+		if (handler == null) {
+			// Answers OPTIONS by itself, and goes along with a 405 otherwise
+			this.httpResponseHeaders.set(HeaderName.ALLOW, route.allow());
+			return HttpMethod.OPTIONS.equals(this.requestMethod) ? 0 : Q_METHOD_NOT_ALLOWED;
 		}
 
-		final int length = Integer.parseInt(contentLength.get(0));
-		int remainingLength = length;
-
-		final int maxLength = 1024;
-		final byte[] chunkData = new byte[maxLength];
-
-		while (remainingLength > 0) {
-			final int chunkSize = remainingLength > maxLength ? maxLength : remainingLength;
-
-			this.in.read(chunkData, 0, chunkSize);
-			this.httpRequestBody.write(chunkData, 0, chunkSize);
+		try {
+			handler.handle(this.httpRequest, this.httpResponse);
+		} catch (RuntimeException e) {
+			logger.error("Handler of " + route.pattern() + " failed", e);
+			return Q_SERVER_ERROR;
+		}
 
-			remainingLength -= chunkSize;
+		if (this.httpResponse.isStreamed()) {
+			// Ends a streamed body the handler left open
+			this.responseStream.close();
+			return Q_STREAMED;
 		}
 
 		return 0;
 	}
 
-	static final byte HEX_BASE = 16;
-
-	private byte extractBodyByTransfer(final List<String> transferEncoding) throws IOException {
-		StringBuilder chunkLengthStage = new StringBuilder("");
-
-		// Octets used to check end of line
-		int octet0 = 0;
-		int octet1 = 0;
-
-		int octet = 0;
-		while (true) {
-			octet = this.in.read();
-
-			octet0 = octet1;
-			octet1 = octet;
-
-			if( octet == '\r' ) { continue; }
-
-			if ( octet != '\n' && octet0 != '\r' ) {
-				chunkLengthStage.append( (char)octet );
-				continue;
-			}
-
-			final int chunkLength = Integer.parseInt(chunkLengthStage.toString(), HEX_BASE);
-
-			if(chunkLength == 0) {
-				/*
-				 * Read the last two octets, which are expected to be: '\r' (char 13) and '\n' (char 10),
-				 * ending the full chunk payload parsing 
-				 */
-				this.in.readNBytes(2);
-				break;
-			}
-
-			final byte[] chunkData = this.in.readNBytes(chunkLength);
-			this.httpRequestBody.write(chunkData);
-			
-			/*
-			 * Read the next two octets, which are expected to be: '\r' (char 13) and '\n' (char 10),
-			 * ending the actual chunk data
-			 */
-			this.in.readNBytes(2);
-
-			// reset the chunk length control
-			chunkLengthStage = new StringBuilder("");
-
-			// reset the octets used to check end of line
-			octet0 = 0;
-			octet1 = 0;
+	private byte openBodyPayload() throws IOException {
+		if( this.httpRequestHeaders.contains(HeaderName.TRANSFER_ENCODING) ) {
+			this.httpRequestBody.resetChunked(this.in, this.maxBodySize);
+			this.arm(PHASE_BODY, this.bodyTimeout);
+			return 0;
 		}
 
-		return 0;
-	}
-
-	private byte analyseRequestHeader(byte[] raw) throws IOException {
-		final String CRLF_RE = "\\r\\n";
-
-		// https://www.rfc-editor.org/rfc/rfc2616.html#section-2.2
-		/*
-		 	HTTP/1.1 header field values can be folded onto multiple lines if the
-   			continuation line begins with a space or horizontal tab. All linear
-   			white space, including folding, has the same semantics as SP.
-   			A recipient MAY replace any linear white space with a single SP before
-   			interpreting the field value or forwarding the message downstream.
-		 */
-		// https://www.rfc-editor.org/rfc/rfc2616.html#section-4.2
-		/*
-			Header fields can be extended over multiple lines by preceding each extra line with at least one SP or HT. 
-		 */
-		final String data = new String(raw, StandardCharsets.US_ASCII).replaceAll("\\r\\n[\\s\\t]+", "\u0000\u0000\u0000");
-		final String[] entries = data.split(CRLF_RE);
-
-		if (entries.length == 0) {
+		final long length = this.httpRequestHeaders.getLong(HeaderName.CONTENT_LENGTH);
+		if (length > this.maxBodySize) {
+			// Refused before any of it is read: the connection cannot be reused
 			this.interrupt = true;
-			return sendBadRequest("Invalid HTTP Request");
+			this.sendRequestEntityTooLarge();
+			return 1;
 		}
 
-		// https://www.rfc-editor.org/rfc/rfc2616.html#section-4.1
-		/*
-		 	In the interest of robustness, servers SHOULD ignore any empty
-   			line(s) received where a Request-Line is expected. In other words, if
-   			the server is reading the protocol stream at the beginning of a
-   			message and receives a CRLF first, it should ignore the CRLF.
-		 */
-		int startLine = 0;
-		while(true) {
-			if( ! entries[startLine].replaceAll("[\\s\\t]", "").isEmpty() ) {
-				break;
-			}
-			++startLine;
+		this.httpRequestBody.reset(this.in, length);
+		if (length > 0) {
+			this.arm(PHASE_BODY, this.bodyTimeout);
 		}
+		return 0;
+	}
 
-		final String methodLine = entries[startLine];
-		final String[] methodContent = methodLine.split("\\s");
-		if (methodContent.length != 3) {
+	private void finishBodyPayload() throws IOException {
+		// Whatever the handler left unread would be taken for the next request
+		if (!this.interrupt && !this.httpRequestBody.discard(this.bodyMemoryThreshold)) {
 			this.interrupt = true;
-			return sendBadRequest("Invalid HTTP Method Sintax");
 		}
+		this.disarm();
+	}
 
-		logger.info(methodLine);
+	private byte analyseRequestHeader() throws IOException {
+		logger.debug(parser.requestLine());
 
-		final String httpVersion = methodContent[2];
-		if ( ! "HTTP/1.1".equalsIgnoreCase(httpVersion) ) {
+		if ( ! parser.isVersion("HTTP/1.1") ) {
 			this.interrupt = true;
 			return sendVersionNotSupported();
 		}
 
-		final String methodLineLower = methodLine.toUpperCase();
-		final String method = methodLineLower.substring(0, methodLineLower.indexOf(" "));
-
-		final HttpMethod httpMethod = HttpMethod.from(method);
+		final HttpMethod httpMethod = parser.method();
 		if (httpMethod == null) {
 			this.interrupt = true;
 			return sendMethodNotImplemented();
 		}
 
-		if (!methodLineLower.toUpperCase().startsWith(httpMethod.name() + " ")) {
-			this.interrupt = true;
-			return sendBadRequest("Invalid HTTP Method Sintax");
-		}
-
-		final String uri = methodContent[1];
-		if (!validateURI(uri)) {
+		if ( ! parser.isValidUri() ) {
 			this.interrupt = true;
 			return sendBadRequest("Invalid HTTP URI");
 		}
 
-		httpRequestHeaders.put(null, Collections.singletonList(methodLine));
-		for (int i = startLine + 1; i < entries.length; ++i) {
-			final String entry = entries[i];
-			final String header = entry.substring(0, entry.indexOf(':')).toLowerCase();
-			final String value = entry.substring(entry.indexOf(':') + 1).trim().replaceAll("[\u0000]{3}", "\r\n ");
-			httpRequestHeaders.putIfAbsent(header, new LinkedList<>());
-			httpRequestHeaders.get(header).add(value);
-		}
-
-		if( this.httpRequestHeaders.containsKey("user-agent")) {
-			logger.info(this.httpRequestHeaders.get("user-agent").get(0));
+		final String userAgent = this.httpRequestHeaders.get(HeaderName.USER_AGENT);
+		if( userAgent != null ) {
+			logger.debug(userAgent);
 		}
 
 		this.requestMethod = httpMethod;
-		
-		this.isUrlAsterisk = uri.equals("*");
-
-		if ( ! isUrlAsterisk) {
-			this.requestUrl = new URL("http://localhost" + uri);
-		}
 
 		return 0;
 	}
 
-	private static final String gmt() {
-		final DateTimeFormatter RFC_1123_DATE_TIME = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
-		final ZonedDateTime dt = ZonedDateTime.now(ZoneId.of("GMT"));
-
-		return dt.format(RFC_1123_DATE_TIME);
+	/**
+	 * Notes the status of the response being sent.
+	 */
+	private void statusSent(final HttpStatus status) {
+		this.responseStatus = status;
+		logger.debug(status.statusLine());
 	}
 
-	private byte sendStatusLine(final String statusLine) throws IOException {
-		logger.info(statusLine);
-		out.write((statusLine + CRLF).getBytes(StandardCharsets.US_ASCII));
+	private byte sendHead(final HttpStatus status) throws IOException {
+		this.statusSent(status);
+		this.connectionFieldsTo(this.httpResponseHeaders);
+		ResponseHead.write(out, status, this.httpResponseHeaders);
 
 		return 0;
 	}
 
-	private byte sendDateHeader() throws IOException {
-		out.write(String.format("Date: %s%s", gmt(), CRLF).getBytes(StandardCharsets.US_ASCII));
-
-		return 0;
-	}
-
-	private byte sendServerHeader() throws IOException {
-		final String javaVendor = System.getProperty("java.vendor");
-		final String javaVersion = System.getProperty("java.version");
-		final String osName = System.getProperty("os.name");
-		final String osArchitecture = System.getProperty("os.arch");
-		final String osVersion = System.getProperty("os.version");
-
-		out.write( ("Server: io.github.rfc2616.http"+CRLF)
-				.getBytes(StandardCharsets.US_ASCII)
-			);
-		out.write(String.format("X-Powered-By: Java/%s (%s; %s %s; %s)%s",
-				javaVersion,
-				javaVendor,
-				osName,
-				osArchitecture,
-				osVersion,
-				CRLF
-			).getBytes(StandardCharsets.US_ASCII));
-
-		return 0;
-	}
+	private byte sendError(final HttpStatus status, final String cause) throws IOException {
+		this.httpResponseHeaders.clear();
 
-	private byte sendETagHeader() throws IOException {
-		out.write(("ETag:\"" + UUID.randomUUID().toString() + "\"" + CRLF).getBytes(StandardCharsets.US_ASCII));
+		if (cause == null) {
+			this.httpResponseHeaders.set(HeaderName.CONTENT_LENGTH, 0);
+			return this.sendHead(status);
+		}
 
-		return 0;
-	}
+		final byte[] raw = cause.getBytes(StandardCharsets.US_ASCII);
 
-	private byte sendContentHeader(final String type, final int length) throws IOException {
-		out.write(("Content-Type: " + type + CRLF).getBytes(StandardCharsets.US_ASCII));
-		out.write(("Content-Length: " + length + CRLF).getBytes(StandardCharsets.US_ASCII));
+		this.httpResponseHeaders.set(HeaderName.CONTENT_TYPE, "text/plain");
+		this.httpResponseHeaders.set(HeaderName.CONTENT_LENGTH, raw.length);
+		this.sendHead(status);
+		out.write(raw);
 
 		return 0;
 	}
 
 	private byte ping() throws IOException {
-		this.httpResponseHeaders.put("Content-Length", Collections.singletonList("0"));
+		this.httpResponseHeaders.set(HeaderName.CONTENT_LENGTH, 0);
 		this.httpResponseBody.write(new byte[] {});
 
 		return 0;
 	}
 
-	private byte liveness() throws IOException {
-		final String html = "{\"status\":\"UP\",\"checks\":[]}";
-		final byte[] raw = html.getBytes(StandardCharsets.UTF_8);
-
-		this.httpResponseHeaders.put("Content-Type", Collections.singletonList("application/json"));
-		this.httpResponseHeaders.put("Content-Length", Collections.singletonList(Integer.toString(raw.length)));
-		this.httpResponseBody.write(raw);
-
-		return 0;
-	}
-
-	private byte spec() throws IOException {
-		final InputStream in = getClass().getResourceAsStream("/rfc2616.txt");
-
-		final ByteArrayOutputStream cache = new ByteArrayOutputStream();
-		final GZIPOutputStream gzip = new GZIPOutputStream(cache);
-		IOUtils.copy(in, gzip);
-		in.close();
-
-		final byte[] raw = cache.toByteArray();
-
-		this.httpResponseHeaders.put("Content-Type", Collections.singletonList("text/plain; charset=ASCII"));
-		this.httpResponseHeaders.put("Content-Encoding", Collections.singletonList("gzip"));
-		this.httpResponseHeaders.put("Content-Length", Collections.singletonList(Integer.toString(raw.length)));
-		this.httpResponseBody.write(raw);
-
-		return 0;
+	private byte sendBadRequest(String cause) throws IOException {
+		return this.sendError(HttpStatus.BAD_REQUEST, cause);
 	}
 
-	private byte page() throws IOException {
-		final StringBuilder sb = new StringBuilder("");
-		sb.append("<!DOCTYPE html>\n");
-		sb.append("<html>\n");
-		sb.append("<head>\n");
-		sb.append("<meta charset=\"UTF-8\">\n");
-		sb.append("<title>Page</title>\n");
-		sb.append("</head>\n");
-		sb.append("<body>\n");
-		sb.append("<script type=\"text/javascript\" src=\"/app.js\"></script>\n");
-		sb.append("</body>\n");
-		sb.append("</html>\n");
-
-		final byte[] raw = sb.toString().getBytes(StandardCharsets.UTF_8);
-
-		this.httpResponseHeaders.put("Content-Type", Collections.singletonList("text/html; charset=UTF-8"));
-		this.httpResponseHeaders.put("Content-Length", Collections.singletonList(Integer.toString(raw.length)));
-		this.httpResponseBody.write(raw);
-
-		return 0;
+	private byte sendRequestEntityTooLarge() throws IOException {
+		return this.sendError(HttpStatus.REQUEST_ENTITY_TOO_LARGE, "Request body exceeds " + this.maxBodySize + " bytes");
 	}
 
-	private byte appJs() throws IOException {
-		final StringBuilder sb = new StringBuilder("");
-		sb.append("(function(){document.write(\"Hello, there!\");})();");
-
-		final byte[] raw = sb.toString().getBytes(StandardCharsets.UTF_8);
-
-		this.httpResponseHeaders.put("Content-Type", Collections.singletonList("application/javascript"));
-		this.httpResponseHeaders.put("Content-Length", Collections.singletonList(Integer.toString(raw.length)));
-		this.httpResponseBody.write(raw);
-
-		return 0;
+	private byte sendResourceNotFound() throws IOException {
+		return this.sendError(HttpStatus.NOT_FOUND, "The requested resource could not be found");
 	}
-
-	private byte echo() throws IOException {
-		final List<String> contentType = this.httpRequestHeaders.get("content-type");
-		final byte[] raw = this.httpResponseBody.toByteArray();
-
-		this.httpResponseHeaders.put("Content-Type", contentType);
-		this.httpResponseHeaders.put("Content-Length", Collections.singletonList(Integer.toString(raw.length)));
-		this.httpResponseBody.write(raw);
-
-		return 0;
+	
+	private byte sendVersionNotSupported() throws IOException {
+		return this.sendError(HttpStatus.HTTP_VERSION_NOT_SUPPORTED, null);
 	}
 
-	private byte sendBasicBody() throws IOException {
-		final String html = "<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n"
-				+ "<title>Basic HTTP Server</title>\n</head>\n<body>\nIt works</body>\n"
-				+ "</html>\n";
-		final byte[] raw = html.getBytes(StandardCharsets.UTF_8);
-
-		this.httpResponseHeaders.put("Content-Type", Collections.singletonList("text/html; charset=UTF-8"));
-		this.httpResponseHeaders.put("Content-Length", Collections.singletonList(Integer.toString(raw.length)));
-		this.httpResponseBody.write(raw);
-
-		return 0;
+	private byte sendMethodNotImplemented() throws IOException {
+		return this.sendError(HttpStatus.NOT_IMPLEMENTED, null);
 	}
 
-	private byte sendCustomHeaders() throws IOException {
-		for (final Map.Entry<String, List<String>> entry : this.httpResponseHeaders.entrySet()) {
-			for (final String value : entry.getValue()) {
-				out.write((entry.getKey() + ": " + value + CRLF).getBytes(StandardCharsets.US_ASCII));
-			}
+	private byte sendMethodNotAllowed() throws IOException {
+		final String allow = this.httpResponseHeaders.get(HeaderName.ALLOW);
+		this.httpResponseHeaders.clear();
+		if (allow != null) {
+			this.httpResponseHeaders.set(HeaderName.ALLOW, allow);
 		}
-
-		return 0;
+		this.httpResponseHeaders.set(HeaderName.CONTENT_LENGTH, 0);
+		return this.sendHead(HttpStatus.METHOD_NOT_ALLOWED);
 	}
 
-	private byte mountCustomBody() throws IOException {
-		out.write(this.httpResponseBody.toByteArray());
-
-		return 0;
+	private byte sendLengthRequired() throws IOException {
+		return this.sendError(HttpStatus.LENGTH_REQUIRED, null);
 	}
 
-	private byte mountTerminateConnection() throws IOException {
-		out.write(CRLF_RAW);
-
-		return 0;
+	private byte sendServerError(String cause) throws IOException {
+		return this.sendError(HttpStatus.INTERNAL_SERVER_ERROR, cause);
 	}
 
-	private byte sendBadRequest(String cause) throws IOException {
-		this.sendStatusLine("HTTP/1.1 400 Bad Request");
-		this.sendDateHeader();
-		this.sendServerHeader();
-
-		if (cause == null) {
-			return this.mountTerminateConnection();
+	private byte sendResource(final StaticResource resource) throws IOException {
+		final StaticResponse snapshot = resource.select(this.httpRequestHeaders);
+		if (snapshot == null) {
+			return this.sendError(HttpStatus.NOT_ACCEPTABLE, "No acceptable content-coding");
 		}
 
-		final byte[] raw = cause.getBytes(StandardCharsets.US_ASCII);
-
-		this.sendContentHeader("text/plain", raw.length);
-		this.mountTerminateConnection();
-		out.write(raw);
+		if (snapshot.status() == HttpStatus.OK) {
+			final ByteRanges ranges = this.requestedRanges(snapshot.etag(), snapshot.lastModified(), snapshot.length());
+			if (ranges != null) {
+				this.httpResponseHeaders.clear();
+				snapshot.headersTo(this.httpResponseHeaders);
+				return this.sendRanges(ranges, snapshot::writeBody);
+			}
+		}
 
-		return 0;
+		return this.sendStatic(snapshot);
 	}
 
-	private byte sendResourceNotFound() throws IOException {
-		final byte[] raw = "The requested resource could not be found".getBytes(StandardCharsets.US_ASCII);
-
-		this.sendStatusLine("HTTP/1.1 404 Not Found");
-		this.sendDateHeader();
-		this.sendServerHeader();
-		this.sendContentHeader("text/plain", raw.length);
-		this.mountTerminateConnection();
+	private byte sendFile() throws IOException {
+		final FileEntry file = this.requestedFile;
+		if (file.cached() != null) {
+			return this.sendResource(file.cached());
+		}
 
-		out.write(raw);
+		final String etag = file.etag();
+		final long lastModified = file.lastModified() / 1000 * 1000;
+		this.httpResponseHeaders.clear();
+		this.httpResponseHeaders.set(HeaderName.ETAG, etag);
 
-		return 0;
-	}
-	
-	private byte sendVersionNotSupported() throws IOException {
-		this.sendStatusLine("HTTP/1.1 505 HTTP Version not supported");
-		this.sendDateHeader();
-		this.sendServerHeader();
+		if (Preconditions.isNotModified(this.httpRequestHeaders, etag, lastModified)) {
+			return this.sendHead(HttpStatus.NOT_MODIFIED);
+		}
 
-		return this.mountTerminateConnection();
-	}
+		this.httpResponseHeaders.set(HeaderName.LAST_MODIFIED, HttpDate.format(lastModified));
+		this.httpResponseHeaders.set(HeaderName.CONTENT_TYPE, file.contentType());
+		this.httpResponseHeaders.set(HeaderName.CONTENT_LENGTH, file.size());
+		this.httpResponseHeaders.set(HeaderName.ACCEPT_RANGES, ByteRanges.UNIT);
 
-	private byte sendMethodNotImplemented() throws IOException {
-		this.sendStatusLine("HTTP/1.1 501 Not Implemented");
-		this.sendDateHeader();
-		this.sendServerHeader();
+		final ByteRanges ranges = this.requestedRanges(etag, lastModified, file.size());
 
-		return this.mountTerminateConnection();
-	}
+		try (final FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+			if (ranges != null) {
+				return this.sendRanges(ranges, (output, position, count) -> output.transferFrom(channel, position, count));
+			}
 
-	private byte sendMethodNotAllowed() throws IOException {
-		this.sendStatusLine("HTTP/1.1 405 Method Not Allowed");
-		this.sendDateHeader();
-		this.sendServerHeader();
+			this.sendHead(HttpStatus.OK);
+			out.transferFrom(channel, 0, file.size());
+		}
 
-		return this.mountTerminateConnection();
+		return 0;
 	}
 
-	private byte sendLengthRequired() throws IOException {
-		this.sendStatusLine("HTTP/1.1 411 Length Required");
-		this.sendDateHeader();
-		this.sendServerHeader();
+	/**
+	 * @return the ranges of a {@code Range} request still valid for the representation, or
+	 *         {@code null} when the full representation is to be sent
+	 */
+	private ByteRanges requestedRanges(final String etag, final long lastModified, final long length) {
+		final String range = this.httpRequestHeaders.get(HeaderName.RANGE);
+		if (range == null || !Preconditions.isRangeFresh(this.httpRequestHeaders, etag, lastModified)) {
+			return null;
+		}
 
-		return this.mountTerminateConnection();
+		return ByteRanges.parse(range, length);
 	}
 
-	private byte sendServerError(String cause) throws IOException {
-		this.sendStatusLine("HTTP/1.1 500 Server Error");
-		this.sendDateHeader();
-		this.sendServerHeader();
-
-		if (cause == null) {
-			return this.mountTerminateConnection();
-		}
-
-		final byte[] raw = cause.getBytes(StandardCharsets.US_ASCII);
+	private byte sendRanges(final ByteRanges ranges, final ByteRanges.Body body) throws IOException {
+		this.sendHead(ranges.applyTo(this.httpResponseHeaders));
+		ranges.writeTo(out, body);
 
-		this.sendContentHeader("text/plain", raw.length);
-		this.mountTerminateConnection();
+		return 0;
+	}
 
-		out.write(raw);
+	private byte sendStatic(final StaticResponse snapshot) throws IOException {
+		this.statusSent(snapshot.status());
+		this.connectionFields.clear();
+		this.connectionFieldsTo(this.connectionFields);
+		snapshot.writeTo(out, this.connectionFields);
 
 		return 0;
 	}
 
-	private boolean validateURI(String uri) {
-		final Pattern uriPattern = Pattern.compile("^\\/\\S*$|^\\*$");
-		final Matcher uriMatcher = uriPattern.matcher(uri);
+	/**
+	 * Starts a body the handler writes as it goes; see {@link ResponseBodyStream}.
+	 */
+	private ResponseBodyStream openResponseStream(final HttpStatus status) {
+		this.statusSent(status);
+		this.connectionFieldsTo(this.httpResponseHeaders);
+		this.responseStream.open(status, this.httpResponseHeaders, this.httpRequestHeaders.containsToken(HeaderName.TE, "trailers"));
 
-		return uriMatcher.matches();
+		return this.responseStream;
 	}
 
 	private byte sendResponse() throws IOException {
-		this.sendStatusLine("HTTP/1.1 200 OK");
+		this.httpResponseHeaders.set(HeaderName.CONTENT_LENGTH, this.httpResponseBody.size());
+		this.sendHead(this.httpResponse.status());
 
-		this.sendDateHeader();
-		this.sendServerHeader();
-		this.sendETagHeader();
-		this.sendCustomHeaders();
-		this.mountTerminateConnection();
+		this.httpResponseBody.writeTo(out);
 
-		return this.mountCustomBody();
+		return 0;
 	}
 
 }
@@ -0,0 +1,34 @@
+package io.github.rfc2616.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * Transport a {@link ClientRequestHandler} reads requests from and writes responses to.
+ */
+interface Connection extends Closeable {
+
+	InputStream getInputStream() throws IOException;
+
+	/**
+	 * Channel responses are written to; it blocks the caller while the socket buffer is full.
+	 */
+	GatheringByteChannel getOutputChannel() throws IOException;
+
+	/**
+	 * Called once a request was fully answered and no further input is buffered.
+	 *
+	 * @return {@code true} when the connection was handed back to its owner and the
+	 *         calling thread must leave the handler; {@code false} to keep reading on
+	 *         the calling thread.
+	 */
+	boolean suspend() throws IOException;
+
+	/**
+	 * @return the address of the client, as logged
+	 */
+	String getRemoteAddress();
+
+}
@@ -0,0 +1,152 @@
+package io.github.rfc2616.server;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.rfc2616.utilities.AppProperties;
+
+/**
+ * Dedicated executor for connection handlers.
+ * <p>
+ * At most {@code maxConnections} handlers run at once and at most {@code queueCapacity}
+ * more wait for a thread. Connections beyond that are not admitted: depending on the
+ * overload policy they are either answered right away with {@code 503} or left in the
+ * listen backlog until a slot frees up.
+ * <p>
+ * Connections of the event loops hold a slot from {@link #admit()} until they close, and have
+ * at most one dispatch pending each: the dispatch queue never holds more than there are slots.
+ */
+final class ConnectionExecutor implements Executor {
+
+	static final long KEEP_ALIVE_SECONDS = 60L;
+
+	private final int maxConnections;
+	private final int queueCapacity;
+	private final boolean blockOnOverload;
+
+	private final Executor executor;
+	private final Semaphore running;
+	private final Semaphore slots;
+
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicInteger queued = new AtomicInteger();
+
+	ConnectionExecutor() {
+		this.maxConnections = AppProperties.getMaxConnections(ConnectionThreads.defaultMaxConnections());
+		this.queueCapacity = AppProperties.getConnectionQueue();
+		this.blockOnOverload = AppProperties.OVERLOAD_BLOCK.equals(AppProperties.getOverloadPolicy());
+		this.slots = new Semaphore(maxConnections + queueCapacity);
+
+		final ThreadFactory factory = ConnectionThreads.newThreadFactory();
+
+		if( ConnectionThreads.isVirtual() ) {
+			// Virtual threads are never pooled: queued connections are threads parked for a permit
+			this.running = new Semaphore(maxConnections);
+			this.executor = task -> factory.newThread(task).start();
+		} else {
+			final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+					maxConnections, maxConnections,
+					KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(maxConnections + queueCapacity),
+					factory
+				);
+			pool.allowCoreThreadTimeOut(true);
+
+			this.running = null;
+			this.executor = pool;
+		}
+	}
+
+	/**
+	 * Under the {@code block} overload policy, waits for a free slot before the next accept.
+	 */
+	void awaitCapacity() {
+		if( blockOnOverload ) {
+			slots.acquireUninterruptibly();
+		}
+	}
+
+	/**
+	 * Runs a connection handler for its whole lifetime, if a slot is available.
+	 *
+	 * @return {@code false} when the server is saturated and the connection was not admitted
+	 */
+	boolean submit(final Runnable connection) {
+		if( ! blockOnOverload && ! slots.tryAcquire() ) {
+			return false;
+		}
+
+		executor.execute(track(connection, true));
+		return true;
+	}
+
+	/**
+	 * Takes a slot for an event-loop connection, until {@link #release()}.
+	 *
+	 * @return {@code false} when the server is saturated and the connection was not admitted
+	 */
+	boolean admit() {
+		return blockOnOverload || slots.tryAcquire();
+	}
+
+	/**
+	 * Gives back the slot of an event-loop connection, once closed.
+	 */
+	void release() {
+		slots.release();
+	}
+
+	/**
+	 * Runs a single dispatch of an event-loop connection, which was {@link #admit() admitted}.
+	 */
+	@Override
+	public void execute(final Runnable task) {
+		executor.execute(track(task, false));
+	}
+
+	private Runnable track(final Runnable task, final boolean holdsSlot) {
+		queued.incrementAndGet();
+
+		return () -> {
+			if( running != null ) {
+				running.acquireUninterruptibly();
+			}
+			queued.decrementAndGet();
+			active.incrementAndGet();
+
+			try {
+				task.run();
+			} finally {
+				active.decrementAndGet();
+				if( running != null ) {
+					running.release();
+				}
+				if( holdsSlot ) {
+					slots.release();
+				}
+			}
+		};
+	}
+
+	int getActiveCount() {
+		return active.get();
+	}
+
+	int getQueuedCount() {
+		return queued.get();
+	}
+
+	int getMaxConnections() {
+		return maxConnections;
+	}
+
+	int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+}
@@ -0,0 +1,41 @@
+package io.github.rfc2616.server;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads running the blocking {@link ClientRequestHandler#run()} loops.
+ * <p>
+ * This is the Java 8 variant: handlers run on pooled platform threads. The multi-release
+ * JAR ships a Java 21 variant under {@code META-INF/versions/21} that runs every
+ * connection on its own virtual thread.
+ */
+final class ConnectionThreads {
+
+	private ConnectionThreads() { /***/ }
+
+	static final int DEFAULT_PLATFORM_CONNECTIONS = 256;
+
+	static boolean isVirtual() {
+		return false;
+	}
+
+	static ThreadFactory newThreadFactory() {
+		final AtomicInteger sequence = new AtomicInteger();
+
+		return task -> {
+			final Thread thread = new Thread(task, "http-connection-" + sequence.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	static int defaultMaxConnections() {
+		return DEFAULT_PLATFORM_CONNECTIONS;
+	}
+
+	static String describe() {
+		return "platform threads";
+	}
+
+}
@@ -0,0 +1,35 @@
+package io.github.rfc2616.server;
+
+import java.io.IOException;
+
+import org.apache.commons.io.IOUtils;
+
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpRequest;
+import io.github.rfc2616.http.HttpResponse;
+import io.github.rfc2616.http.ResponseBodyStream;
+import io.github.rfc2616.routing.RequestHandler;
+
+/**
+ * {@code POST /echo}: streams the request body back with its content type.
+ */
+final class Echo implements RequestHandler {
+
+	@Override
+	public void handle(final HttpRequest request, final HttpResponse response) throws IOException {
+		final String contentType = request.headers().get(HeaderName.CONTENT_TYPE);
+		if( contentType != null ) {
+			response.headers().set(HeaderName.CONTENT_TYPE, contentType);
+		}
+
+		// A chunked request is echoed chunked; a sized one keeps its length
+		if( ! request.headers().contains(HeaderName.TRANSFER_ENCODING) ) {
+			response.headers().set(HeaderName.CONTENT_LENGTH, Math.max(0, request.headers().getLong(HeaderName.CONTENT_LENGTH)));
+		}
+
+		final ResponseBodyStream body = response.stream();
+		IOUtils.copy(request.body(), body);
+		body.close();
+	}
+
+}
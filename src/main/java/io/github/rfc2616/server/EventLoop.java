@@ -0,0 +1,117 @@
+package io.github.rfc2616.server;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import io.github.rfc2616.utilities.LogService;
+
+/**
+ * Selector thread owning the read/write readiness of its connections.
+ * <p>
+ * Interest changes requested by handler threads are queued and applied by the loop itself,
+ * so the selector is only ever touched from its own thread.
+ */
+final class EventLoop implements Runnable {
+	private final LogService logger = LogService.getInstance("HTTP-SERVER");
+
+	private final Selector selector;
+	private final ConnectionExecutor executor;
+	private final Thread thread;
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+	private volatile boolean running = true;
+
+	EventLoop(final int id, final ConnectionExecutor executor) throws IOException {
+		this.selector = Selector.open();
+		this.executor = executor;
+		this.thread = new Thread(this, "http-io-" + id);
+		this.thread.setDaemon(true);
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	void shutdown() {
+		this.running = false;
+		selector.wakeup();
+	}
+
+	void register(final SocketChannel channel) throws IOException {
+		channel.configureBlocking(false);
+
+		final ChannelConnection connection = new ChannelConnection(channel, this, executor);
+		execute(() -> {
+			try {
+				connection.registered(channel.register(selector, SelectionKey.OP_READ, connection));
+			} catch(ClosedChannelException e) {
+				// Gives the slot of the connection back
+				try { connection.close(); } catch(IOException ex) { /***/ }
+			}
+		});
+	}
+
+	void interest(final SelectionKey key, final int ops) {
+		execute(() -> {
+			if( key.isValid() ) {
+				key.interestOps(ops);
+			}
+		});
+	}
+
+	private void execute(final Runnable task) {
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	@Override
+	public void run() {
+		while(running) {
+			try {
+				selector.select();
+			} catch(IOException e) {
+				logger.error("Event loop failure", e);
+				break;
+			}
+
+			Runnable task;
+			while( (task = tasks.poll()) != null ) {
+				task.run();
+			}
+
+			final Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+			while( selected.hasNext() ) {
+				final SelectionKey key = selected.next();
+				selected.remove();
+
+				final int ops;
+				try {
+					ops = key.readyOps();
+					key.interestOps(0);
+				} catch(CancelledKeyException e) {
+					continue;
+				}
+
+				((ChannelConnection) key.attachment()).ready(ops);
+			}
+		}
+
+		for(final SelectionKey key: selector.keys()) {
+			try {
+				key.channel().close();
+			} catch(IOException e) { /***/ }
+		}
+
+		try {
+			selector.close();
+		} catch(IOException e) { /***/ }
+	}
+
+}
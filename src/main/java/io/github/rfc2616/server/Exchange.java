@@ -0,0 +1,91 @@
+package io.github.rfc2616.server;
+
+import java.util.function.Function;
+
+import io.github.rfc2616.http.HttpRequest;
+import io.github.rfc2616.http.HttpResponse;
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.http.ResponseBodyStream;
+
+/**
+ * Request and response contexts a connection works with while it has requests to serve.
+ * <p>
+ * A connection takes one from a shared pool when it is handed a thread and gives it back before
+ * waiting for its next batch of requests or when it closes: idle connections hold none, and the
+ * contexts, reset between requests, are allocated once for the life of the server. The pool is
+ * striped by thread, like the {@link io.github.rfc2616.http.BufferPool}, so that connections
+ * switching batches rarely contend for the same lock.
+ */
+final class Exchange {
+
+	static final int POOL_SIZE = 256;
+
+	private static final class Stripe {
+
+		private final Exchange[] free;
+		private int size;
+
+		Stripe(final int capacity) {
+			this.free = new Exchange[capacity];
+		}
+
+	}
+
+	private static final Stripe[] STRIPES;
+	private static final int MASK;
+	static {
+		int count = 1;
+		while( count < Runtime.getRuntime().availableProcessors() ) {
+			count <<= 1;
+		}
+		STRIPES = new Stripe[count];
+		MASK = count - 1;
+		for(int i = 0; i < count; ++i) {
+			STRIPES[i] = new Stripe(Math.max(8, POOL_SIZE / count));
+		}
+	}
+
+	final HttpRequest request = new HttpRequest();
+	final HttpResponse response = new HttpResponse();
+
+	private Exchange() { /***/ }
+
+	/**
+	 * @param opener opens the connection's response stream for a status
+	 */
+	static Exchange acquire(final Function<HttpStatus, ResponseBodyStream> opener) {
+		final Stripe stripe = stripe();
+		Exchange exchange = null;
+		synchronized(stripe) {
+			if( stripe.size > 0 ) {
+				exchange = stripe.free[--stripe.size];
+				stripe.free[stripe.size] = null;
+			}
+		}
+		if( exchange == null ) {
+			exchange = new Exchange();
+		}
+		exchange.response.bind(opener);
+		return exchange;
+	}
+
+	/**
+	 * Recycles the contexts into the pool; the caller must not use them any more.
+	 */
+	void release() {
+		request.recycle();
+		response.recycle();
+
+		final Stripe stripe = stripe();
+		synchronized(stripe) {
+			if( stripe.size < stripe.free.length ) {
+				stripe.free[stripe.size++] = this;
+			}
+		}
+	}
+
+	private static Stripe stripe() {
+		return STRIPES[(int) Thread.currentThread().getId() & MASK];
+	}
+
+}
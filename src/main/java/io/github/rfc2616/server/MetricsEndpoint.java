@@ -0,0 +1,24 @@
+package io.github.rfc2616.server;
+
+import io.github.rfc2616.http.HttpRequest;
+import io.github.rfc2616.http.HttpResponse;
+import io.github.rfc2616.metrics.Metrics;
+import io.github.rfc2616.routing.RequestHandler;
+
+/**
+ * {@code GET /metrics}: the server's {@link Metrics} in the Prometheus text format.
+ */
+final class MetricsEndpoint implements RequestHandler {
+
+	private final Metrics metrics;
+
+	MetricsEndpoint(final Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void handle(final HttpRequest request, final HttpResponse response) {
+		response.send(Metrics.CONTENT_TYPE, metrics.render());
+	}
+
+}
@@ -0,0 +1,63 @@
+package io.github.rfc2616.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.github.rfc2616.metrics.Metrics;
+
+/**
+ * Blocking connection: the handler thread stays with the socket for its whole lifetime.
+ */
+class SocketConnection implements Connection {
+
+	private final SocketChannel channel;
+	private String remoteAddress;
+	private final Metrics metrics = Worker.metrics();
+	private final AtomicBoolean open = new AtomicBoolean(true);
+
+	SocketConnection(final SocketChannel channel) {
+		this.channel = channel;
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		// No SO_TIMEOUT: the handler's deadlines close the channel, which ends a blocked read.
+		// Reads go straight into the caller's array: a pooled slab would stay leased for as long
+		// as an idle keep-alive connection blocks, and save no copy over the JDK's own
+		return channel.socket().getInputStream();
+	}
+
+	@Override
+	public GatheringByteChannel getOutputChannel() {
+		return channel;
+	}
+
+	@Override
+	public boolean suspend() {
+		return false;
+	}
+
+	@Override
+	public String getRemoteAddress() {
+		if( remoteAddress == null ) {
+			final InetAddress address = channel.socket().getInetAddress();
+			this.remoteAddress = address == null ? "-" : address.getHostAddress();
+		}
+		return remoteAddress;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+
+		// Closed by the handler thread or by an expired deadline, counted once
+		if( open.compareAndSet(true, false) ) {
+			metrics.connectionClosed();
+		}
+	}
+
+}
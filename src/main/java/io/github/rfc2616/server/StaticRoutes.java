@@ -0,0 +1,77 @@
+package io.github.rfc2616.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.http.StaticResponse;
+import io.github.rfc2616.resources.StaticResource;
+
+/**
+ * GET routes whose whole response never changes, served from pre-serialized snapshots.
+ * Resources with several content-codings pick their snapshot by {@code Accept-Encoding}.
+ */
+public final class StaticRoutes {
+
+	private StaticRoutes() { /***/ }
+
+	private static final Map<String, StaticResource> ROUTES = new ConcurrentHashMap<>();
+
+	static {
+		final StaticResponse liveness = text("application/json", "{\"status\":\"UP\",\"checks\":[]}");
+		register("/live", liveness);
+		register("/ready", liveness);
+
+		register("/", text("text/html; charset=UTF-8",
+				"<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n"
+				+ "<title>Basic HTTP Server</title>\n</head>\n<body>\nIt works</body>\n"
+				+ "</html>\n"));
+
+		register("/page", text("text/html; charset=UTF-8",
+				"<!DOCTYPE html>\n"
+				+ "<html>\n"
+				+ "<head>\n"
+				+ "<meta charset=\"UTF-8\">\n"
+				+ "<title>Page</title>\n"
+				+ "</head>\n"
+				+ "<body>\n"
+				+ "<script type=\"text/javascript\" src=\"/app.js\"></script>\n"
+				+ "</body>\n"
+				+ "</html>\n"));
+
+		register("/app.js", text("application/javascript", "(function(){document.write(\"Hello, there!\");})();"));
+
+		try {
+			register("/spec", StaticResource.classpath("/rfc2616.txt", "text/plain; charset=ASCII"));
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static StaticResponse text(final String contentType, final String body) {
+		return StaticResponse.of(HttpStatus.OK, contentType, body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Serves {@code response} for every GET on {@code path}, replacing any previous snapshot.
+	 */
+	public static void register(final String path, final StaticResponse response) {
+		register(path, StaticResource.of(response));
+	}
+
+	public static void register(final String path, final StaticResource resource) {
+		ROUTES.put(path, resource);
+	}
+
+	public static StaticResource unregister(final String path) {
+		return ROUTES.remove(path);
+	}
+
+	static StaticResource get(final String path) {
+		return ROUTES.get(path);
+	}
+
+}
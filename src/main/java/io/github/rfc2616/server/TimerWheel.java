@@ -0,0 +1,187 @@
+package io.github.rfc2616.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import io.github.rfc2616.utilities.LogService;
+
+/**
+ * Hashed timing wheel holding the idle and read deadlines of every connection.
+ * <p>
+ * Deadlines fall in {@link #SLOTS} buckets of one {@link #TICK} each, so arming, moving or
+ * cancelling one costs the same whatever the number of connections. Pushing a deadline
+ * further away, which every request does, is a single volatile write: the timer thread moves
+ * the entry when it reaches the bucket it was in. Deadlines fire up to one tick late.
+ */
+final class TimerWheel implements Runnable {
+	private final LogService logger = LogService.getInstance("HTTP-SERVER");
+
+	static final long TICK = 100L;
+	static final int SLOTS = 512;
+
+	private static final long UNLINKED = Long.MAX_VALUE;
+	private static final long ORIGIN = System.nanoTime();
+
+	/**
+	 * Reusable deadline running its task when it expires.
+	 */
+	static final class Timeout {
+
+		private static final AtomicLongFieldUpdater<Timeout> DEADLINE = AtomicLongFieldUpdater.newUpdater(Timeout.class, "deadline");
+
+		private final Runnable task;
+
+		// 0 while not armed
+		private volatile long deadline;
+		// Time the bucket holding this entry is due, UNLINKED when in none
+		private volatile long due = UNLINKED;
+
+		// Guarded by the wheel
+		private Timeout previous;
+		private Timeout next;
+
+		Timeout(final Runnable task) {
+			this.task = task;
+		}
+
+	}
+
+	private final Timeout[] buckets = new Timeout[SLOTS];
+	private final Thread thread;
+
+	private volatile boolean running = true;
+	// Last tick processed, guarded by the wheel
+	private long tick = now() / TICK;
+
+	TimerWheel() {
+		this.thread = new Thread(this, "http-timer");
+		this.thread.setDaemon(true);
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	void shutdown() {
+		this.running = false;
+		thread.interrupt();
+	}
+
+	/**
+	 * @return milliseconds on the wheel's clock, always positive
+	 */
+	static long now() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ORIGIN) + 1;
+	}
+
+	/**
+	 * Arms {@code timeout} to expire {@code delay} milliseconds from now, replacing its current deadline.
+	 */
+	void schedule(final Timeout timeout, final long delay) {
+		final long deadline = now() + Math.max(1, delay);
+		timeout.deadline = deadline;
+
+		// Linked in a bucket due no later: the timer thread moves it from there
+		if( timeout.due > deadline ) {
+			synchronized(this) {
+				this.link(timeout, deadline);
+			}
+		}
+	}
+
+	/**
+	 * Disarms {@code timeout}; it leaves its bucket when the timer thread reaches it.
+	 */
+	void cancel(final Timeout timeout) {
+		timeout.deadline = 0;
+	}
+
+	private void link(final Timeout timeout, final long deadline) {
+		final long target = Math.max(deadline / TICK, tick + 1);
+		if( timeout.due <= target * TICK ) {
+			return;
+		}
+
+		this.unlink(timeout);
+
+		final int slot = (int) (target % SLOTS);
+		timeout.next = buckets[slot];
+		if( timeout.next != null ) {
+			timeout.next.previous = timeout;
+		}
+		buckets[slot] = timeout;
+		timeout.due = target * TICK;
+	}
+
+	private void unlink(final Timeout timeout) {
+		if( timeout.due == UNLINKED ) {
+			return;
+		}
+
+		if( timeout.previous != null ) {
+			timeout.previous.next = timeout.next;
+		} else {
+			buckets[(int) (timeout.due / TICK % SLOTS)] = timeout.next;
+		}
+		if( timeout.next != null ) {
+			timeout.next.previous = timeout.previous;
+		}
+
+		timeout.previous = null;
+		timeout.next = null;
+		timeout.due = UNLINKED;
+	}
+
+	@Override
+	public void run() {
+		final List<Timeout> expired = new ArrayList<>();
+
+		while(running) {
+			try {
+				Thread.sleep(TICK - now() % TICK);
+			} catch(InterruptedException e) {
+				continue;
+			}
+
+			synchronized(this) {
+				final long now = now();
+				while( tick < now / TICK ) {
+					this.expire(++tick, now, expired);
+				}
+			}
+
+			for(final Timeout timeout: expired) {
+				try {
+					timeout.task.run();
+				} catch(RuntimeException e) {
+					logger.error("Timeout task failure", e);
+				}
+			}
+			expired.clear();
+		}
+	}
+
+	private void expire(final long current, final long now, final List<Timeout> expired) {
+		Timeout timeout = buckets[(int) (current % SLOTS)];
+		while( timeout != null ) {
+			final Timeout next = timeout.next;
+
+			if( timeout.due <= current * TICK ) {
+				this.unlink(timeout);
+
+				// Read after unlinking: a concurrent schedule() either sees the entry unlinked or is seen here
+				final long deadline = timeout.deadline;
+				if( deadline > now || ( deadline != 0 && ! Timeout.DEADLINE.compareAndSet(timeout, deadline, 0) ) ) {
+					this.link(timeout, timeout.deadline);
+				} else if( deadline != 0 ) {
+					expired.add(timeout);
+				}
+			}
+
+			timeout = next;
+		}
+	}
+
+}
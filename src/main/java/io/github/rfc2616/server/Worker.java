@@ -1,10 +1,17 @@
 package io.github.rfc2616.server;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.util.concurrent.CompletableFuture;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Paths;
 
+import io.github.rfc2616.http.BufferPool;
+import io.github.rfc2616.metrics.Metrics;
+import io.github.rfc2616.resources.DocumentRoot;
+import io.github.rfc2616.routing.Router;
 import io.github.rfc2616.utilities.AppProperties;
 import io.github.rfc2616.utilities.LogService;
 
@@ -14,41 +21,219 @@ public class Worker {
 	public static void main(String[] args) throws IOException {
 		worker.start();
 	}
-	
+
 	public static void terminate() {
 		worker.stop();
 	}
-	
+
 	private final LogService logger = LogService.getInstance("HTTP-SERVER");
-	
-	private ServerSocket server;
-	
+
+	private ServerSocketChannel server;
+
+	private EventLoop[] loops = new EventLoop[0];
+
+	private ConnectionExecutor executor;
+
+	private DocumentRoot documentRoot;
+
+	private TimerWheel timers;
+
+	private BufferPool buffers;
+
+	private AccessLog accessLog;
+
+	private final Metrics metrics = new Metrics();
+
+	private final Router router = new Router()
+			.post("/echo", new Echo())
+			.get("/metrics", new MetricsEndpoint(metrics));
+
+	public static int getActiveConnections() {
+		return worker.executor == null ? 0 : worker.executor.getActiveCount();
+	}
+
+	public static int getQueuedConnections() {
+		return worker.executor == null ? 0 : worker.executor.getQueuedCount();
+	}
+
+	static DocumentRoot documentRoot() {
+		return worker.documentRoot;
+	}
+
+	/**
+	 * Application routes; register them before {@link #main(String[])} starts the server.
+	 */
+	public static Router router() {
+		return worker.router;
+	}
+
+	static TimerWheel timers() {
+		return worker.timers;
+	}
+
+	/**
+	 * @return the access log, or {@code null} when disabled
+	 */
+	static AccessLog accessLog() {
+		return worker.accessLog;
+	}
+
+	/**
+	 * Counters and latency histograms served at {@code GET /metrics}.
+	 */
+	public static Metrics metrics() {
+		return worker.metrics;
+	}
+
+	/**
+	 * Direct buffers connections read and write their sockets through.
+	 */
+	public static BufferPool buffers() {
+		return worker.buffers;
+	}
+
 	private void stop() {
 		try {
-			if(!server.isClosed()) {
+			if(server.isOpen()) {
 				server.close();
 				logger.info("Service terminated.");
 			}
 		} catch(IOException e) {}
+
+		for(final EventLoop loop: loops) {
+			loop.shutdown();
+		}
+
+		if( timers != null ) {
+			timers.shutdown();
+		}
+
+		if( accessLog != null ) {
+			accessLog.shutdown();
+			this.accessLog = null;
+		}
 	}
 
 	private void start() throws IOException {
 		Runtime.getRuntime().addShutdownHook(new Thread(()-> stop()));
 
 		final int port = AppProperties.getPort();
-		this.server = new ServerSocket(port);
+
+		this.timers = new TimerWheel();
+		timers.start();
+
+		this.buffers = new BufferPool(AppProperties.getBufferSlabs(), AppProperties.isBufferTracking());
+
+		this.executor = new ConnectionExecutor();
+		logger.info("Connections handled by {} (max {}, queue {})",
+				ConnectionThreads.describe(), executor.getMaxConnections(), executor.getQueueCapacity());
+
+		final String accessLog = AppProperties.getAccessLog();
+		if( accessLog != null ) {
+			this.accessLog = new AccessLog(Paths.get(accessLog));
+			this.accessLog.start();
+			logger.info("Logging requests to {}", accessLog);
+		}
+
+		final String documentRoot = AppProperties.getDocumentRoot();
+		if( documentRoot != null ) {
+			this.documentRoot = new DocumentRoot(Paths.get(documentRoot));
+			logger.info("Serving files from {}", this.documentRoot.root());
+		}
+
+		this.server = ServerSocketChannel.open();
+		server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+		server.bind(new InetSocketAddress(port));
+
+		if( AppProperties.IO_MODE_NIO.equals(AppProperties.getIoMode()) ) {
+			this.startEventLoops(port);
+			return;
+		}
+
 		logger.info("Listening on port {}", port);
 
 		while(true) {
-			Socket client = null;
+			executor.awaitCapacity();
+
+			SocketChannel client = null;
 			try {
-				client = server.accept();
-				logger.info("Connection received!");
+				client = this.accept();
 			} catch(IOException e) {
 				break;
 			}
 
-			CompletableFuture.runAsync(new ClientRequestHandler(client));
+			metrics.connectionOpened();
+			if( ! executor.submit(new ClientRequestHandler(client)) ) {
+				metrics.connectionRejected();
+				this.reject(client);
+			}
+		}
+	}
+
+	private SocketChannel accept() throws IOException {
+		final SocketChannel client = server.accept();
+		logger.info("Connection received!");
+
+		try {
+			client.setOption(StandardSocketOptions.TCP_NODELAY, AppProperties.isTcpNoDelay());
+		} catch(IOException e) {
+			logger.warning("TCP_NODELAY not applied: {}", e.getMessage());
+		}
+
+		return client;
+	}
+
+	private void reject(final SocketChannel client) {
+		logger.warning("Server saturated ({} active, {} queued): connection rejected",
+				executor.getActiveCount(), executor.getQueuedCount());
+
+		try {
+			client.write(ByteBuffer.wrap(ClientRequestHandler.SERVICE_UNAVAILABLE_RAW));
+		} catch(IOException e) { /***/ }
+
+		try {
+			client.close();
+		} catch(IOException e) { /***/ }
+	}
+
+	private void startEventLoops(final int port) throws IOException {
+		final EventLoop[] loops = new EventLoop[AppProperties.getIoThreads()];
+		for(int i = 0; i < loops.length; ++i) {
+			loops[i] = new EventLoop(i, executor);
+			loops[i].start();
+		}
+		this.loops = loops;
+
+		logger.info("Listening on port {} ({} event loops)", port, loops.length);
+
+		int next = 0;
+		while(true) {
+			executor.awaitCapacity();
+
+			SocketChannel client = null;
+			try {
+				client = this.accept();
+			} catch(IOException e) {
+				break;
+			}
+
+			metrics.connectionOpened();
+			if( ! executor.admit() ) {
+				metrics.connectionRejected();
+				this.reject(client);
+				continue;
+			}
+
+			try {
+				loops[next].register(client);
+			} catch(IOException e) {
+				logger.warning("Connection registration error: {}", e.getMessage());
+				try { client.close(); } catch(IOException ex) { /***/ }
+				metrics.connectionClosed();
+				executor.release();
+			}
+
+			next = (next + 1) % loops.length;
 		}
 	}
 
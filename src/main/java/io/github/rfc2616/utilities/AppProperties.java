@@ -41,4 +41,270 @@ public final class AppProperties {
 			);
 	}
 
+	public static final String IO_MODE_BLOCKING = "blocking";
+	public static final String IO_MODE_NIO = "nio";
+
+	public static String getIoMode() {
+		return nullValue(
+				System.getProperty(Constants.PROPERTY_IO_MODE),
+				System.getenv(Constants.ENV_IO_MODE),
+				IO_MODE_BLOCKING
+			).toLowerCase();
+	}
+
+	private static final String DEFAULT_IO_THREADS = Integer.toString(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+	public static int getIoThreads() {
+		final String threads = nullValue(
+				System.getProperty(Constants.PROPERTY_IO_THREADS),
+				System.getenv(Constants.ENV_IO_THREADS),
+				DEFAULT_IO_THREADS
+			);
+		return Math.max(1, Integer.parseInt(threads));
+	}
+
+	public static boolean isVirtualThreadsEnabled() {
+		return Boolean.parseBoolean(nullValue(
+				System.getProperty(Constants.PROPERTY_VIRTUAL_THREADS),
+				System.getenv(Constants.ENV_VIRTUAL_THREADS),
+				"true"
+			));
+	}
+
+	/**
+	 * Responses leave in one coalesced write, so Nagle's algorithm only adds latency.
+	 */
+	public static boolean isTcpNoDelay() {
+		return Boolean.parseBoolean(nullValue(
+				System.getProperty(Constants.PROPERTY_TCP_NODELAY),
+				System.getenv(Constants.ENV_TCP_NODELAY),
+				"true"
+			));
+	}
+
+	/**
+	 * @return the directory served for GET requests no route answers, or {@code null} when disabled
+	 */
+	public static String getDocumentRoot() {
+		final String documentRoot = System.getProperty(Constants.PROPERTY_DOCUMENT_ROOT);
+		return documentRoot != null ? documentRoot : System.getenv(Constants.ENV_DOCUMENT_ROOT);
+	}
+
+	private static final String DEFAULT_BODY_MAX = Long.toString(10L * 1024 * 1024);
+
+	/**
+	 * @return the largest request body accepted, in bytes; larger ones are answered with 413
+	 */
+	public static long getMaxBodySize() {
+		final String max = nullValue(
+				System.getProperty(Constants.PROPERTY_BODY_MAX),
+				System.getenv(Constants.ENV_BODY_MAX),
+				DEFAULT_BODY_MAX
+			);
+		return Math.max(0, Long.parseLong(max));
+	}
+
+	private static final String DEFAULT_BODY_MEMORY = Integer.toString(64 * 1024);
+
+	/**
+	 * @return the size up to which a buffered request body stays in memory before spilling to a temporary file
+	 */
+	public static int getBodyMemoryThreshold() {
+		final String threshold = nullValue(
+				System.getProperty(Constants.PROPERTY_BODY_MEMORY),
+				System.getenv(Constants.ENV_BODY_MEMORY),
+				DEFAULT_BODY_MEMORY
+			);
+		return Math.max(0, Integer.parseInt(threshold));
+	}
+
+	private static final String DEFAULT_CHUNK_SIZE = "8192";
+
+	/**
+	 * @return the amount of streamed response body collected before it is sent as one chunk
+	 */
+	public static int getChunkSize() {
+		final String size = nullValue(
+				System.getProperty(Constants.PROPERTY_CHUNK_SIZE),
+				System.getenv(Constants.ENV_CHUNK_SIZE),
+				DEFAULT_CHUNK_SIZE
+			);
+		return Math.max(64, Integer.parseInt(size));
+	}
+
+	private static final String DEFAULT_KEEPALIVE_TIMEOUT = "5";
+
+	/**
+	 * @return seconds an idle persistent connection is kept open for its next request
+	 */
+	public static int getKeepAliveTimeout() {
+		final String timeout = nullValue(
+				System.getProperty(Constants.PROPERTY_KEEPALIVE_TIMEOUT),
+				System.getenv(Constants.ENV_KEEPALIVE_TIMEOUT),
+				DEFAULT_KEEPALIVE_TIMEOUT
+			);
+		return Math.max(1, Integer.parseInt(timeout));
+	}
+
+	private static final String DEFAULT_KEEPALIVE_REQUESTS = "1000";
+
+	/**
+	 * @return requests served on one connection before it is closed, {@code 0} for no limit
+	 */
+	public static int getKeepAliveRequests() {
+		final String requests = nullValue(
+				System.getProperty(Constants.PROPERTY_KEEPALIVE_REQUESTS),
+				System.getenv(Constants.ENV_KEEPALIVE_REQUESTS),
+				DEFAULT_KEEPALIVE_REQUESTS
+			);
+		return Math.max(0, Integer.parseInt(requests));
+	}
+
+	private static final String DEFAULT_HEADER_TIMEOUT = "10";
+
+	/**
+	 * @return seconds allowed to receive a complete request head
+	 */
+	public static int getHeaderTimeout() {
+		final String timeout = nullValue(
+				System.getProperty(Constants.PROPERTY_HEADER_TIMEOUT),
+				System.getenv(Constants.ENV_HEADER_TIMEOUT),
+				DEFAULT_HEADER_TIMEOUT
+			);
+		return Math.max(1, Integer.parseInt(timeout));
+	}
+
+	private static final String DEFAULT_BODY_TIMEOUT = "10";
+
+	/**
+	 * @return longest pause, in seconds, while a request body is being received
+	 */
+	public static int getBodyTimeout() {
+		final String timeout = nullValue(
+				System.getProperty(Constants.PROPERTY_BODY_TIMEOUT),
+				System.getenv(Constants.ENV_BODY_TIMEOUT),
+				DEFAULT_BODY_TIMEOUT
+			);
+		return Math.max(1, Integer.parseInt(timeout));
+	}
+
+	private static final String DEFAULT_BUFFER_SLABS = "1024";
+
+	/**
+	 * @return the most direct buffers pooled for socket reads and writes
+	 */
+	public static int getBufferSlabs() {
+		final String slabs = nullValue(
+				System.getProperty(Constants.PROPERTY_BUFFER_SLABS),
+				System.getenv(Constants.ENV_BUFFER_SLABS),
+				DEFAULT_BUFFER_SLABS
+			);
+		return Math.max(0, Integer.parseInt(slabs));
+	}
+
+	/**
+	 * @return whether the buffer pool records where every outstanding buffer was leased
+	 */
+	public static boolean isBufferTracking() {
+		return Boolean.parseBoolean(nullValue(
+				System.getProperty(Constants.PROPERTY_BUFFER_TRACKING),
+				System.getenv(Constants.ENV_BUFFER_TRACKING),
+				"false"
+			));
+	}
+
+	public static int getMaxConnections(final int defaultValue) {
+		final String max = nullValue(
+				System.getProperty(Constants.PROPERTY_MAX_CONNECTIONS),
+				System.getenv(Constants.ENV_MAX_CONNECTIONS),
+				Integer.toString(defaultValue)
+			);
+		return Math.max(1, Integer.parseInt(max));
+	}
+
+	private static final String DEFAULT_CONNECTION_QUEUE = "128";
+
+	public static int getConnectionQueue() {
+		final String queue = nullValue(
+				System.getProperty(Constants.PROPERTY_CONNECTION_QUEUE),
+				System.getenv(Constants.ENV_CONNECTION_QUEUE),
+				DEFAULT_CONNECTION_QUEUE
+			);
+		return Math.max(0, Integer.parseInt(queue));
+	}
+
+	public static final String OVERLOAD_REJECT = "reject";
+	public static final String OVERLOAD_BLOCK = "block";
+
+	public static String getOverloadPolicy() {
+		return nullValue(
+				System.getProperty(Constants.PROPERTY_OVERLOAD_POLICY),
+				System.getenv(Constants.ENV_OVERLOAD_POLICY),
+				OVERLOAD_REJECT
+			).toLowerCase();
+	}
+
+	/**
+	 * @return the least severe level logged: {@code debug}, {@code info}, {@code warn} or {@code error}
+	 */
+	public static LogService.LogLevel getLogLevel() {
+		final String level = nullValue(
+				System.getProperty(Constants.PROPERTY_LOG_LEVEL),
+				System.getenv(Constants.ENV_LOG_LEVEL),
+				"info"
+			);
+		try {
+			return LogService.LogLevel.valueOf(level.trim().toUpperCase());
+		} catch(IllegalArgumentException e) {
+			return LogService.LogLevel.INFO;
+		}
+	}
+
+	/**
+	 * @return the file requests are logged to, or {@code null} when the access log is disabled
+	 */
+	public static String getAccessLog() {
+		final String accessLog = System.getProperty(Constants.PROPERTY_ACCESS_LOG);
+		return accessLog != null ? accessLog : System.getenv(Constants.ENV_ACCESS_LOG);
+	}
+
+	public static final String ACCESS_LOG_COMMON = "common";
+	public static final String ACCESS_LOG_COMBINED = "combined";
+
+	public static String getAccessLogFormat() {
+		return nullValue(
+				System.getProperty(Constants.PROPERTY_ACCESS_LOG_FORMAT),
+				System.getenv(Constants.ENV_ACCESS_LOG_FORMAT),
+				ACCESS_LOG_COMBINED
+			).toLowerCase();
+	}
+
+	private static final String DEFAULT_ACCESS_LOG_MAX_SIZE = "104857600";
+
+	/**
+	 * @return the size, in bytes, past which the access log is rotated
+	 */
+	public static long getAccessLogMaxSize() {
+		final String size = nullValue(
+				System.getProperty(Constants.PROPERTY_ACCESS_LOG_MAX_SIZE),
+				System.getenv(Constants.ENV_ACCESS_LOG_MAX_SIZE),
+				DEFAULT_ACCESS_LOG_MAX_SIZE
+			);
+		return Math.max(1, Long.parseLong(size));
+	}
+
+	private static final String DEFAULT_ACCESS_LOG_ROTATE_HOURS = "24";
+
+	/**
+	 * @return hours after which the access log is rotated whatever its size, {@code 0} for never
+	 */
+	public static int getAccessLogRotateHours() {
+		final String hours = nullValue(
+				System.getProperty(Constants.PROPERTY_ACCESS_LOG_ROTATE_HOURS),
+				System.getenv(Constants.ENV_ACCESS_LOG_ROTATE_HOURS),
+				DEFAULT_ACCESS_LOG_ROTATE_HOURS
+			);
+		return Math.max(0, Integer.parseInt(hours));
+	}
+
 }
@@ -4,9 +4,53 @@ public final class Constants {
 
 	public static final String PROPERTY_PORT = "io.github.net.rfc2616.server.port";
 	public static final String PROPERTY_HOSTNAME = "io.github.net.rfc2616.server.hostname";
+	public static final String PROPERTY_IO_MODE = "io.github.net.rfc2616.server.io.mode";
+	public static final String PROPERTY_IO_THREADS = "io.github.net.rfc2616.server.io.threads";
+	public static final String PROPERTY_VIRTUAL_THREADS = "io.github.net.rfc2616.server.threads.virtual";
+	public static final String PROPERTY_MAX_CONNECTIONS = "io.github.net.rfc2616.server.connections.max";
+	public static final String PROPERTY_CONNECTION_QUEUE = "io.github.net.rfc2616.server.connections.queue";
+	public static final String PROPERTY_OVERLOAD_POLICY = "io.github.net.rfc2616.server.connections.overload";
+	public static final String PROPERTY_TCP_NODELAY = "io.github.net.rfc2616.server.tcp.nodelay";
+	public static final String PROPERTY_DOCUMENT_ROOT = "io.github.net.rfc2616.server.docroot";
+	public static final String PROPERTY_BODY_MAX = "io.github.net.rfc2616.server.body.max";
+	public static final String PROPERTY_BODY_MEMORY = "io.github.net.rfc2616.server.body.memory";
+	public static final String PROPERTY_CHUNK_SIZE = "io.github.net.rfc2616.server.chunk.size";
+	public static final String PROPERTY_KEEPALIVE_TIMEOUT = "io.github.net.rfc2616.server.keepalive.timeout";
+	public static final String PROPERTY_KEEPALIVE_REQUESTS = "io.github.net.rfc2616.server.keepalive.requests";
+	public static final String PROPERTY_HEADER_TIMEOUT = "io.github.net.rfc2616.server.header.timeout";
+	public static final String PROPERTY_BODY_TIMEOUT = "io.github.net.rfc2616.server.body.timeout";
+	public static final String PROPERTY_BUFFER_SLABS = "io.github.net.rfc2616.server.buffer.slabs";
+	public static final String PROPERTY_BUFFER_TRACKING = "io.github.net.rfc2616.server.buffer.tracking";
+	public static final String PROPERTY_LOG_LEVEL = "io.github.net.rfc2616.server.log.level";
+	public static final String PROPERTY_ACCESS_LOG = "io.github.net.rfc2616.server.access.log";
+	public static final String PROPERTY_ACCESS_LOG_FORMAT = "io.github.net.rfc2616.server.access.log.format";
+	public static final String PROPERTY_ACCESS_LOG_MAX_SIZE = "io.github.net.rfc2616.server.access.log.max.size";
+	public static final String PROPERTY_ACCESS_LOG_ROTATE_HOURS = "io.github.net.rfc2616.server.access.log.rotate.hours";
 
 	public static final String ENV_PORT = "HTTP_SERVER_PORT";
 	public static final String ENV_HOSTNAME = "HTTP_SERVER_HOSTNAME";
+	public static final String ENV_IO_MODE = "HTTP_SERVER_IO_MODE";
+	public static final String ENV_IO_THREADS = "HTTP_SERVER_IO_THREADS";
+	public static final String ENV_VIRTUAL_THREADS = "HTTP_SERVER_THREADS_VIRTUAL";
+	public static final String ENV_MAX_CONNECTIONS = "HTTP_SERVER_CONNECTIONS_MAX";
+	public static final String ENV_CONNECTION_QUEUE = "HTTP_SERVER_CONNECTIONS_QUEUE";
+	public static final String ENV_OVERLOAD_POLICY = "HTTP_SERVER_CONNECTIONS_OVERLOAD";
+	public static final String ENV_TCP_NODELAY = "HTTP_SERVER_TCP_NODELAY";
+	public static final String ENV_DOCUMENT_ROOT = "HTTP_SERVER_DOCROOT";
+	public static final String ENV_BODY_MAX = "HTTP_SERVER_BODY_MAX";
+	public static final String ENV_BODY_MEMORY = "HTTP_SERVER_BODY_MEMORY";
+	public static final String ENV_CHUNK_SIZE = "HTTP_SERVER_CHUNK_SIZE";
+	public static final String ENV_KEEPALIVE_TIMEOUT = "HTTP_SERVER_KEEPALIVE_TIMEOUT";
+	public static final String ENV_KEEPALIVE_REQUESTS = "HTTP_SERVER_KEEPALIVE_REQUESTS";
+	public static final String ENV_HEADER_TIMEOUT = "HTTP_SERVER_HEADER_TIMEOUT";
+	public static final String ENV_BODY_TIMEOUT = "HTTP_SERVER_BODY_TIMEOUT";
+	public static final String ENV_BUFFER_SLABS = "HTTP_SERVER_BUFFER_SLABS";
+	public static final String ENV_BUFFER_TRACKING = "HTTP_SERVER_BUFFER_TRACKING";
+	public static final String ENV_LOG_LEVEL = "HTTP_SERVER_LOG_LEVEL";
+	public static final String ENV_ACCESS_LOG = "HTTP_SERVER_ACCESS_LOG";
+	public static final String ENV_ACCESS_LOG_FORMAT = "HTTP_SERVER_ACCESS_LOG_FORMAT";
+	public static final String ENV_ACCESS_LOG_MAX_SIZE = "HTTP_SERVER_ACCESS_LOG_MAX_SIZE";
+	public static final String ENV_ACCESS_LOG_ROTATE_HOURS = "HTTP_SERVER_ACCESS_LOG_ROTATE_HOURS";
 
 	private Constants() { /***/ }
 
@@ -1,29 +1,59 @@
 package io.github.rfc2616.utilities;
 
-import java.io.PrintStream;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
-
+/**
+ * Named logger writing through a background {@link LogWriter}.
+ * <p>
+ * Calls below the minimum level return before formatting anything. Enabled ones substitute
+ * their {@code {}} placeholders on the calling thread and hand the line to the writer, so a
+ * request thread never waits on the console.
+ */
 public final class LogService {
 
 	public static enum LogLevel {
-		INFO, SUCCESS, DEBUG, WARN, ERROR;
+		INFO(1), SUCCESS(1), DEBUG(0), WARN(2), ERROR(3);
+
+		private final int severity;
+
+		private LogLevel(final int severity) {
+			this.severity = severity;
+		}
 	}
 
+	private static final LogWriter WRITER = new LogWriter();
+
+	private static volatile int threshold = AppProperties.getLogLevel().severity;
+
 	public static final LogService INSTANCE = new LogService();
 	
 	public static final LogService getInstance(final String name) {
 		 return new LogService(name);
 	}
 
+	/**
+	 * Sets the minimum level written, for every logger.
+	 */
+	public static void setLevel(final LogLevel level) {
+		threshold = level.severity;
+	}
+
+	public static boolean isEnabled(final LogLevel level) {
+		return level.severity >= threshold;
+	}
+
+	/**
+	 * Waits, at most {@code timeout} milliseconds, until the lines logged so far are written.
+	 */
+	public static void flush(final long timeout) {
+		WRITER.flush(timeout);
+	}
+
 	private LogService() { /***/ }
 
 	private String name = "";
 
 	private LogService(final String name) {
 		this();
-		this.name = String.format(" [%s]", name);
+		this.name = " [" + name + "]";
 	}
 	
 	public void info(final String template, final Object... args) {
@@ -39,27 +69,27 @@ public final class LogService {
 	}
 	
 	public void error(final String message, final Throwable throwable) {
+		if( ! isEnabled(LogLevel.ERROR) ) { return; }
+
+		final String separator = System.lineSeparator();
 		final StringBuilder sb = new StringBuilder(message);
 		
 		Throwable caused = throwable;
 		
 		while(true) {
 			for(StackTraceElement element: caused.getStackTrace()) {
-				final String className = element.getClassName();
-				final String methodName = element.getMethodName();
-				final String fileName = element.getFileName();
-				final int lineNumber = element.getLineNumber();
-				final String trace = String.format("%n  at %s#%s (%s:%d)", className, methodName, fileName, lineNumber);
-				sb.append(trace);
+				sb.append(separator).append("  at ").append(element.getClassName())
+					.append('#').append(element.getMethodName())
+					.append(" (").append(element.getFileName()).append(':').append(element.getLineNumber()).append(')');
 			}
 
 			caused = caused.getCause();
 			if( caused == null ) { break; }
 
-			sb.append(String.format("%nCaused by %s", caused.getMessage()));
+			sb.append(separator).append("Caused by ").append(caused.getMessage());
 		}
 
-		logv(sb.toString(), LogLevel.ERROR);
+		WRITER.offer(LogLevel.ERROR, name, sb.toString());
 	}
 
 	public void warning(final String template, final Object... args) {
@@ -67,42 +97,34 @@ public final class LogService {
 	}
 	
 	private void logv(final String template, final LogLevel level, final Object... args) {
-		String messageFormatted = template;
-		
-		for(int i = 0; i < args.length; ++i) {
-			final String d = args[i] != null ? args[i].toString() : ""; 
-			messageFormatted = messageFormatted.replaceFirst("\\{\\}", d);
-		}
-		messageFormatted = messageFormatted.replaceAll("\\{\\}", "");
+		if( ! isEnabled(level) ) { return; }
 
-		log(messageFormatted, level);
+		WRITER.offer(level, name, format(template, args));
 	}
 
-	private byte log(final String message, final LogLevel level) {
-		final String dateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss", Locale.US));
-
-		final String outMessage = String.format("%s [%5s]%s %s%n", dateTime, level.name(), name, message);
+	/**
+	 * Replaces each {@code {}} of {@code template} with the next argument; placeholders left
+	 * without one are dropped, and so are {@code null} arguments.
+	 */
+	static String format(final String template, final Object... args) {
+		int placeholder = template.indexOf("{}");
+		if( placeholder < 0 ) {
+			return template;
+		}
 
-		switch(level) {
-			case INFO: return printOut(outMessage);
-			case DEBUG: return printOut(outMessage);
-			case WARN: return printErr(outMessage);
-			case ERROR: return printErr(outMessage);
-			default: return 0;
+		final StringBuilder sb = new StringBuilder(template.length() + 16 * args.length);
+		int start = 0;
+		int next = 0;
+		while( placeholder >= 0 ) {
+			sb.append(template, start, placeholder);
+			if( next < args.length && args[next] != null ) {
+				sb.append(args[next]);
+			}
+			++next;
+			start = placeholder + 2;
+			placeholder = template.indexOf("{}", start);
 		}
-	}
-	
-	private byte printOut(final String message) {
-		return print(System.out, message);
-	}
-	
-	private byte printErr(final String message) {
-		return print(System.err, message);
-	}
-	
-	private byte print(final PrintStream writer, final String message) {
-		writer.print(message);
-		return 0;
+		return sb.append(template, start, template.length()).toString();
 	}
 
 }
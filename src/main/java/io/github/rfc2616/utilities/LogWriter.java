@@ -0,0 +1,171 @@
+package io.github.rfc2616.utilities;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import io.github.rfc2616.utilities.LogService.LogLevel;
+
+/**
+ * Background writer of the log lines.
+ * <p>
+ * Logging threads queue their lines on a {@link RingBuffer} and never wait: when the ring is
+ * full the line is dropped and counted. A single daemon thread drains the ring,
+ * prefixes each line with a timestamp formatted once per second, and writes whatever it collected
+ * to the console in one call per stream. Once the ring is empty it parks until the next line.
+ */
+final class LogWriter implements Runnable {
+
+	static final int CAPACITY = 8192;
+
+	private static final long FLUSH_POLL = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter
+			.ofPattern("EEE, dd MMM yyyy HH:mm:ss", Locale.US)
+			.withZone(ZoneId.systemDefault());
+
+	private static final class Entry {
+		private final long time = System.currentTimeMillis();
+		private final LogLevel level;
+		private final String name;
+		private final String message;
+
+		Entry(final LogLevel level, final String name, final String message) {
+			this.level = level;
+			this.name = name;
+			this.message = message;
+		}
+	}
+
+	private final RingBuffer<Entry> ring = new RingBuffer<>(CAPACITY);
+	// Lines taken from the ring and written out
+	private final AtomicLong written = new AtomicLong();
+	private final LongAdder dropped = new LongAdder();
+	// Set by the writer before it parks, cleared by whoever unparks it
+	private final AtomicBoolean parked = new AtomicBoolean();
+
+	private final StringBuilder out = new StringBuilder(8192);
+	private final StringBuilder err = new StringBuilder(8192);
+
+	private long second = Long.MIN_VALUE;
+	private String timestamp;
+
+	private final Thread thread;
+
+	LogWriter() {
+		this.thread = new Thread(this, "http-log");
+		thread.setDaemon(true);
+		thread.start();
+
+		Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "http-log-flush"));
+	}
+
+	/**
+	 * Queues a line; returns at once, dropping the line when the ring is full.
+	 */
+	void offer(final LogLevel level, final String name, final String message) {
+		if( ! ring.offer(new Entry(level, name, message)) ) {
+			dropped.increment();
+		}
+		this.wake();
+	}
+
+	private void wake() {
+		if( parked.get() && parked.compareAndSet(true, false) ) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	/**
+	 * Waits, at most {@code timeout} milliseconds, until the lines queued so far are written.
+	 */
+	void flush(final long timeout) {
+		final long target = ring.offered();
+		final long deadline = System.currentTimeMillis() + timeout;
+		while( written.get() < target && System.currentTimeMillis() < deadline ) {
+			this.wake();
+			LockSupport.parkNanos(FLUSH_POLL);
+		}
+	}
+
+	@Override
+	public void run() {
+		while( true ) {
+			if( this.drain() ) {
+				continue;
+			}
+
+			parked.set(true);
+			// A line queued before the flag was set would not wake the writer
+			if( ring.isEmpty() ) {
+				LockSupport.park(this);
+			}
+			parked.set(false);
+		}
+	}
+
+	/**
+	 * Writes out the lines queued so far.
+	 *
+	 * @return whether there was any
+	 */
+	private synchronized boolean drain() {
+		long count = 0;
+		// One ring's worth at most, so that a steady flow of lines still gets written
+		while( count < CAPACITY ) {
+			final Entry entry = ring.poll();
+			if( entry == null ) {
+				break;
+			}
+			this.append(entry.level == LogLevel.WARN || entry.level == LogLevel.ERROR ? err : out, entry);
+			++count;
+		}
+
+		final long lost = dropped.sumThenReset();
+		if( lost > 0 ) {
+			err.append(this.timestamp(System.currentTimeMillis())).append(" [ WARN] ")
+				.append(lost).append(" log lines dropped").append(System.lineSeparator());
+		}
+
+		final boolean any = out.length() > 0 || err.length() > 0;
+		this.write(System.out, out);
+		this.write(System.err, err);
+		// Published once written, for flush()
+		written.addAndGet(count);
+		return any;
+	}
+
+	private void append(final StringBuilder sb, final Entry entry) {
+		final String level = entry.level.name();
+		sb.append(this.timestamp(entry.time)).append(" [");
+		for(int i = level.length(); i < 5; ++i) {
+			sb.append(' ');
+		}
+		sb.append(level).append(']').append(entry.name).append(' ').append(entry.message).append(System.lineSeparator());
+	}
+
+	private String timestamp(final long time) {
+		final long current = time / 1000;
+		if( current != second ) {
+			this.second = current;
+			this.timestamp = TIMESTAMP.format(Instant.ofEpochSecond(current));
+		}
+		return timestamp;
+	}
+
+	private void write(final PrintStream stream, final StringBuilder sb) {
+		if( sb.length() > 0 ) {
+			stream.append(sb);
+			stream.flush();
+			sb.setLength(0);
+		}
+	}
+
+}
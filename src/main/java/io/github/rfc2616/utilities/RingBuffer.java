@@ -0,0 +1,98 @@
+package io.github.rfc2616.utilities;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded queue for many producers and a single consumer, that never makes a producer wait.
+ * <p>
+ * A producer claims a slot with one compare-and-set on the tail and {@link #offer} fails when
+ * the ring is full. Only one thread at a time may {@link #poll()}.
+ */
+public final class RingBuffer<E> {
+
+	private final Object[] elements;
+	// Slot i is free for the producer of position p when its sequence is p, readable at p + 1
+	private final AtomicLongArray sequences;
+	private final int mask;
+
+	private final AtomicLong tail = new AtomicLong();
+	// Guarded by the consumer
+	private long head;
+
+	/**
+	 * @param capacity a power of two
+	 */
+	public RingBuffer(final int capacity) {
+		if( capacity <= 0 || Integer.bitCount(capacity) != 1 ) {
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+
+		this.elements = new Object[capacity];
+		this.sequences = new AtomicLongArray(capacity);
+		this.mask = capacity - 1;
+		for(int i = 0; i < capacity; ++i) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * @return {@code false} when the ring is full and {@code element} was not queued
+	 */
+	public boolean offer(final E element) {
+		long position = tail.get();
+		while( true ) {
+			final long sequence = sequences.get((int) position & mask);
+			if( sequence == position ) {
+				if( tail.compareAndSet(position, position + 1) ) {
+					break;
+				}
+				position = tail.get();
+			} else if( sequence < position ) {
+				return false;
+			} else {
+				position = tail.get();
+			}
+		}
+
+		elements[(int) position & mask] = element;
+		sequences.set((int) position & mask, position + 1);
+		return true;
+	}
+
+	/**
+	 * @return the oldest element, or {@code null} when none is ready
+	 */
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		final int slot = (int) head & mask;
+		if( sequences.get(slot) != head + 1 ) {
+			return null;
+		}
+
+		final E element = (E) elements[slot];
+		elements[slot] = null;
+		sequences.set(slot, head + elements.length);
+		++head;
+		return element;
+	}
+
+	/**
+	 * @return whether no element is ready to {@link #poll()}; for the consumer only
+	 */
+	public boolean isEmpty() {
+		return sequences.get((int) head & mask) != head + 1;
+	}
+
+	/**
+	 * @return elements queued since the ring was created
+	 */
+	public long offered() {
+		return tail.get();
+	}
+
+	public int capacity() {
+		return elements.length;
+	}
+
+}
@@ -0,0 +1,47 @@
+package io.github.rfc2616.server;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.rfc2616.utilities.AppProperties;
+
+/**
+ * Threads running the blocking {@link ClientRequestHandler#run()} loops.
+ * <p>
+ * Java 21 variant: unless disabled through configuration, every connection runs on its own
+ * virtual thread, so a connection blocked on a socket read no longer pins a carrier thread.
+ */
+final class ConnectionThreads {
+
+	private ConnectionThreads() { /***/ }
+
+	static final int DEFAULT_PLATFORM_CONNECTIONS = 256;
+	static final int DEFAULT_VIRTUAL_CONNECTIONS = 10000;
+
+	static boolean isVirtual() {
+		return AppProperties.isVirtualThreadsEnabled();
+	}
+
+	static ThreadFactory newThreadFactory() {
+		if( isVirtual() ) {
+			return Thread.ofVirtual().name("http-connection-", 0).factory();
+		}
+
+		final AtomicInteger sequence = new AtomicInteger();
+
+		return task -> {
+			final Thread thread = new Thread(task, "http-connection-" + sequence.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	static int defaultMaxConnections() {
+		return isVirtual() ? DEFAULT_VIRTUAL_CONNECTIONS : DEFAULT_PLATFORM_CONNECTIONS;
+	}
+
+	static String describe() {
+		return isVirtual() ? "virtual threads" : "platform threads";
+	}
+
+}
@@ -0,0 +1,87 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.BufferPool;
+
+public class BufferPoolTest {
+
+	@Test
+	public void reuseReleasedSlabs() {
+		final BufferPool pool = new BufferPool(BufferPool.ARENA_SLABS, false);
+
+		final BufferPool.Slab slab = pool.lease();
+		assertTrue(slab.isDirect());
+		assertEquals(BufferPool.SLAB_SIZE, slab.buffer().remaining());
+		assertEquals(1, pool.leased());
+
+		slab.buffer().put((byte) 1);
+		slab.release();
+		assertEquals(0, pool.leased());
+		assertThrows(IllegalStateException.class, slab::release);
+
+		final BufferPool.Slab again = pool.lease();
+		assertEquals(BufferPool.SLAB_SIZE, again.buffer().remaining());
+		again.release();
+		assertEquals(BufferPool.ARENA_SLABS, pool.allocated());
+	}
+
+	@Test
+	public void fallBackToHeapWhenExhausted() {
+		final BufferPool pool = new BufferPool(BufferPool.ARENA_SLABS, false);
+
+		final List<BufferPool.Slab> slabs = new ArrayList<>();
+		for(int i = 0; i < BufferPool.ARENA_SLABS; ++i) {
+			slabs.add(pool.lease());
+			assertTrue(slabs.get(i).isDirect());
+		}
+
+		final BufferPool.Slab overflow = pool.lease();
+		assertFalse(overflow.isDirect());
+		assertEquals(BufferPool.ARENA_SLABS + 1, pool.leased());
+
+		overflow.release();
+		for(final BufferPool.Slab slab: slabs) {
+			slab.release();
+		}
+		assertEquals(0, pool.leased());
+		assertEquals(BufferPool.ARENA_SLABS, pool.allocated());
+	}
+
+	@Test
+	public void reportLeaks() {
+		final BufferPool pool = new BufferPool(BufferPool.ARENA_SLABS, true);
+
+		final BufferPool.Slab slab = pool.lease();
+		assertEquals(1, pool.leaks().size());
+		assertTrue(pool.leaks().get(0).getStackTrace()[1].getMethodName().equals("reportLeaks"));
+
+		slab.release();
+		assertTrue(pool.leaks().isEmpty());
+	}
+
+	@Test
+	public void readThroughSlabs() throws IOException {
+		final BufferPool pool = new BufferPool(BufferPool.ARENA_SLABS, false);
+		final byte[] content = "GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+		final byte[] b = new byte[64];
+		final int count = pool.read(Channels.newChannel(new ByteArrayInputStream(content)), b, 4, 8);
+		assertEquals(8, count);
+		assertEquals("GET / HT", new String(b, 4, count, StandardCharsets.US_ASCII));
+		assertEquals(0, pool.leased());
+	}
+
+}
@@ -0,0 +1,104 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.ByteRanges;
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.http.OutputBuffer;
+import io.github.rfc2616.http.Preconditions;
+
+public class ByteRangesTest {
+
+	private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+	static String send(final ByteRanges ranges) throws IOException {
+		final ResponseHeadTest.RecordingChannel channel = new ResponseHeadTest.RecordingChannel();
+		final OutputBuffer out = new OutputBuffer(channel);
+		ranges.writeTo(out, (buffer, position, count) -> buffer.write(CONTENT, (int) position, (int) count));
+		out.flush();
+		return new String(channel.sink.toByteArray(), StandardCharsets.US_ASCII);
+	}
+
+	@Test
+	public void parseRangeSpecifiers() {
+		final ByteRanges ranges = ByteRanges.parse("bytes=0-4, 18-, -1, 10-999999999999999999999", 20);
+		assertEquals(2, ranges.count());
+		assertEquals("bytes 0-4/20", ranges.contentRange(0));
+		assertEquals("bytes 10-19/20", ranges.contentRange(1));
+
+		assertEquals("bytes 15-19/20", ByteRanges.parse("Bytes = -5", 20).contentRange(0));
+		assertEquals("bytes 0-19/20", ByteRanges.parse("bytes=-500", 20).contentRange(0));
+		assertEquals(1, ByteRanges.parse("bytes=0-0,1-1,2-2,,", 20).count());
+
+		// Unsatisfiable, answered with 416
+		assertFalse(ByteRanges.parse("bytes=20-, -0", 20).isSatisfiable());
+		assertFalse(ByteRanges.parse("bytes=0-", 0).isSatisfiable());
+
+		// Invalid or unknown, ignored
+		assertNull(ByteRanges.parse(null, 20));
+		assertNull(ByteRanges.parse("items=0-1", 20));
+		assertNull(ByteRanges.parse("bytes=", 20));
+		assertNull(ByteRanges.parse("bytes=5-4", 20));
+		assertNull(ByteRanges.parse("bytes=a-b", 20));
+		assertNull(ByteRanges.parse("bytes=1", 20));
+		assertNull(ByteRanges.parse("bytes=" + String.join(",", Collections.nCopies(ByteRanges.MAX_RANGES + 1, "0-0")), 20));
+	}
+
+	@Test
+	public void writePartialContent() throws IOException {
+		final HttpHeaders single = new HttpHeaders().set(HeaderName.CONTENT_TYPE, "text/plain").set(HeaderName.CONTENT_LENGTH, 20);
+		final ByteRanges range = ByteRanges.parse("bytes=-3", 20);
+		assertEquals(HttpStatus.PARTIAL_CONTENT, range.applyTo(single));
+		assertEquals("bytes 17-19/20", single.get(HeaderName.CONTENT_RANGE));
+		assertEquals(3, single.getLong(HeaderName.CONTENT_LENGTH));
+		assertEquals("hij", send(range));
+
+		final HttpHeaders multiple = new HttpHeaders()
+			.set(HeaderName.CONTENT_TYPE, "text/plain")
+			.set(HeaderName.CONTENT_ENCODING, "gzip")
+			.set(HeaderName.CONTENT_LENGTH, 20);
+		final ByteRanges ranges = ByteRanges.parse("bytes=10-11,0-1", 20);
+		assertEquals(HttpStatus.PARTIAL_CONTENT, ranges.applyTo(multiple));
+		assertFalse(multiple.contains(HeaderName.CONTENT_ENCODING));
+
+		final String type = multiple.get(HeaderName.CONTENT_TYPE);
+		assertTrue(type.startsWith("multipart/byteranges; boundary="), type);
+		final String boundary = type.substring(type.indexOf('=') + 1);
+
+		final String body = send(ranges);
+		assertEquals(multiple.getLong(HeaderName.CONTENT_LENGTH), body.length());
+		assertEquals("\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Encoding: gzip\r\nContent-Range: bytes 0-1/20\r\n\r\n01"
+			+ "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Encoding: gzip\r\nContent-Range: bytes 10-11/20\r\n\r\nab"
+			+ "\r\n--" + boundary + "--\r\n", body);
+
+		final HttpHeaders none = new HttpHeaders().set(HeaderName.CONTENT_TYPE, "text/plain");
+		final ByteRanges unsatisfiable = ByteRanges.parse("bytes=30-", 20);
+		assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, unsatisfiable.applyTo(none));
+		assertEquals("bytes */20", none.get(HeaderName.CONTENT_RANGE));
+		assertFalse(none.contains(HeaderName.CONTENT_TYPE));
+		assertEquals("", send(unsatisfiable));
+	}
+
+	@Test
+	public void evaluateIfRange() throws IOException {
+		final long modified = 784111777000L;
+		assertTrue(Preconditions.isRangeFresh(PreconditionsTest.request(""), "\"a\"", modified));
+		assertTrue(Preconditions.isRangeFresh(PreconditionsTest.request("If-Range: \"a\"\r\n"), "\"a\"", modified));
+		assertFalse(Preconditions.isRangeFresh(PreconditionsTest.request("If-Range: \"b\"\r\n"), "\"a\"", modified));
+		assertFalse(Preconditions.isRangeFresh(PreconditionsTest.request("If-Range: W/\"a\"\r\n"), "\"a\"", modified));
+		assertTrue(Preconditions.isRangeFresh(PreconditionsTest.request("If-Range: Sun, 06 Nov 1994 08:49:37 GMT\r\n"), "\"a\"", modified));
+		assertFalse(Preconditions.isRangeFresh(PreconditionsTest.request("If-Range: Sun, 06 Nov 1994 08:49:38 GMT\r\n"), "\"a\"", modified));
+	}
+
+}
@@ -0,0 +1,113 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.ChunkedDecoder;
+import io.github.rfc2616.http.HeaderName;
+
+public class ChunkedDecoderTest {
+
+	private static final String MESSAGE = "5;name=value\r\nhello\r\n"
+		+ "1A ; quoted=\"a;b\"\r\n, this is the second chunk\r\n"
+		+ "0\r\n"
+		+ "Content-MD5: 1B2M2Y8AsgTpgAmY7PhCfg==\r\n"
+		+ "X-Total:  31 \r\n"
+		+ "\r\n"
+		+ "GET";
+
+	/**
+	 * Feeds {@code message} in slices of {@code step} bytes, as a non-blocking read would.
+	 */
+	static String decode(final ChunkedDecoder decoder, final byte[] message, final int step, final byte[] status) {
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		int position = 0;
+		int limit = Math.min(step, message.length);
+		while( true ) {
+			final byte result = decoder.decode(message, position, limit);
+			position = decoder.position();
+
+			if( result == ChunkedDecoder.CONTENT ) {
+				final int count = (int) Math.min(decoder.remaining(), limit - position);
+				content.write(message, position, count);
+				decoder.consume(count);
+				position += count;
+			} else if( result != ChunkedDecoder.UNDERFLOW ) {
+				status[0] = result;
+				return new String(content.toByteArray(), StandardCharsets.US_ASCII);
+			}
+
+			if( position == limit ) {
+				if( limit == message.length ) {
+					status[0] = ChunkedDecoder.UNDERFLOW;
+					return new String(content.toByteArray(), StandardCharsets.US_ASCII);
+				}
+				limit = Math.min(limit + step, message.length);
+			}
+		}
+	}
+
+	@Test
+	public void decodeInAnySlices() {
+		final byte[] message = MESSAGE.getBytes(StandardCharsets.US_ASCII);
+		final ChunkedDecoder decoder = new ChunkedDecoder();
+
+		for(final int step: new int[] { 1, 2, 7, message.length }) {
+			decoder.reset(1024);
+			final byte[] status = new byte[1];
+			assertEquals("hello, this is the second chunk", decode(decoder, message, step, status));
+			assertEquals(ChunkedDecoder.COMPLETE, status[0]);
+			assertEquals(MESSAGE.indexOf("GET"), decoder.position());
+			assertEquals(31, decoder.total());
+			assertEquals("1B2M2Y8AsgTpgAmY7PhCfg==", decoder.trailers().get(HeaderName.of("Content-MD5")));
+			assertEquals("31", decoder.trailers().get(HeaderName.of("X-Total")));
+		}
+	}
+
+	@Test
+	public void enforceLimits() {
+		final ChunkedDecoder decoder = new ChunkedDecoder();
+		final byte[] status = new byte[1];
+
+		decoder.reset(30);
+		decode(decoder, MESSAGE.getBytes(StandardCharsets.US_ASCII), 8, status);
+		assertEquals(ChunkedDecoder.TOO_LARGE, status[0]);
+		assertEquals(5, decoder.total());
+
+		decoder.reset(Long.MAX_VALUE);
+		decode(decoder, "80000000\r\n".getBytes(StandardCharsets.US_ASCII), 64, status);
+		assertEquals(ChunkedDecoder.TOO_LARGE, status[0]);
+
+		final StringBuilder extension = new StringBuilder("1;");
+		while( extension.length() <= ChunkedDecoder.MAX_LINE_SIZE ) {
+			extension.append("x");
+		}
+		decoder.reset(Long.MAX_VALUE);
+		decode(decoder, extension.toString().getBytes(StandardCharsets.US_ASCII), 512, status);
+		assertEquals(ChunkedDecoder.MALFORMED, status[0]);
+	}
+
+	@Test
+	public void rejectMalformedFraming() {
+		final ChunkedDecoder decoder = new ChunkedDecoder();
+		final byte[] status = new byte[1];
+
+		for(final String message: new String[] { "\r\n", "x\r\n", "5\r\nhelloX\r\n", "0\r\n: value\r\n\r\n", "0\r\nName value\r\n\r\n", "0\r\nX(y): z\r\n\r\n", "0\r\n folded\r\n\r\n" }) {
+			decoder.reset(Long.MAX_VALUE);
+			decode(decoder, message.getBytes(StandardCharsets.US_ASCII), 3, status);
+			assertEquals(ChunkedDecoder.MALFORMED, status[0], message);
+		}
+
+		decoder.reset(Long.MAX_VALUE);
+		assertEquals("", decode(decoder, "0\r\n".getBytes(StandardCharsets.US_ASCII), 1, status));
+		assertEquals(ChunkedDecoder.UNDERFLOW, status[0]);
+		assertFalse(decoder.isComplete());
+	}
+
+}
@@ -0,0 +1,39 @@
+package io.github.rfc2616.http.test;
+
+import static io.github.rfc2616.http.ContentCoding.DEFLATE;
+import static io.github.rfc2616.http.ContentCoding.GZIP;
+import static io.github.rfc2616.http.ContentCoding.IDENTITY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.ContentCoding;
+
+public class ContentCodingTest {
+
+	private static final ContentCoding[] ALL = { GZIP, DEFLATE, IDENTITY };
+
+	@Test
+	public void negotiateByQuality() {
+		assertEquals(IDENTITY, ContentCoding.negotiate(null, ALL));
+		assertEquals(IDENTITY, ContentCoding.negotiate("", ALL));
+		assertEquals(GZIP, ContentCoding.negotiate("gzip, deflate, br", ALL));
+		assertEquals(DEFLATE, ContentCoding.negotiate("gzip;q=0.5, deflate", ALL));
+		assertEquals(DEFLATE, ContentCoding.negotiate("GZIP ; q=0.2 , Deflate;q=0.8", ALL));
+		assertEquals(GZIP, ContentCoding.negotiate("x-gzip", ALL));
+		assertEquals(GZIP, ContentCoding.negotiate("*", ALL));
+		assertEquals(IDENTITY, ContentCoding.negotiate("gzip;q=0, deflate;q=0", ALL));
+		assertEquals(IDENTITY, ContentCoding.negotiate("br", ALL));
+		assertEquals(IDENTITY, ContentCoding.negotiate("gzip;q=oops", ALL));
+	}
+
+	@Test
+	public void refuseIdentity() {
+		assertNull(ContentCoding.negotiate("identity;q=0", IDENTITY));
+		assertNull(ContentCoding.negotiate("*;q=0", IDENTITY));
+		assertEquals(IDENTITY, ContentCoding.negotiate("*;q=0, identity", IDENTITY));
+		assertEquals(GZIP, ContentCoding.negotiate("gzip, *;q=0", ALL));
+	}
+
+}
@@ -0,0 +1,66 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.InputBuffer;
+import io.github.rfc2616.http.RequestHeadParser;
+
+public class HttpHeadersTest {
+
+	@Test
+	public void lookupRequestFields() throws IOException {
+		final String request = "GET / HTTP/1.1\r\ncontent-LENGTH: 42\r\nConnection: Keep-Alive, Close\r\nX-Custom: a\r\n\r\n";
+		final RequestHeadParser parser = new RequestHeadParser();
+		parser.parse(new InputBuffer(new ByteArrayInputStream(request.getBytes(StandardCharsets.US_ASCII))));
+
+		final HttpHeaders headers = parser.headers();
+		assertEquals(42L, headers.getLong(HeaderName.CONTENT_LENGTH));
+		assertEquals(-1L, headers.getLong(HeaderName.HOST));
+		assertTrue(headers.containsToken(HeaderName.CONNECTION, "close"));
+		assertFalse(headers.containsToken(HeaderName.CONNECTION, "upgrade"));
+		assertEquals("a", headers.get(HeaderName.of("x-custom")));
+		assertNull(headers.get(HeaderName.TRANSFER_ENCODING));
+		assertSame(HeaderName.CONTENT_LENGTH, HeaderName.of("content-length"));
+	}
+
+	@Test
+	public void writeResponseFields() throws IOException {
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set(HeaderName.CONTENT_LENGTH, 0);
+		headers.set(HeaderName.CONTENT_TYPE, "text/plain");
+		headers.set(HeaderName.CONTENT_LENGTH, 12);
+		headers.add(HeaderName.of("X-Injected"), "a\r\nb");
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		headers.writeTo(out);
+
+		assertEquals("Content-Type: text/plain\r\nContent-Length: 12\r\nX-Injected: a  b\r\n",
+				new String(out.toByteArray(), StandardCharsets.US_ASCII));
+		assertEquals(12L, headers.getLong(HeaderName.CONTENT_LENGTH));
+	}
+
+	@Test
+	public void internTokenNames() {
+		assertSame(HeaderName.of("X-Request-Id"), HeaderName.of("X-Request-Id"));
+
+		assertThrows(IllegalArgumentException.class, () -> HeaderName.of(""));
+		assertThrows(IllegalArgumentException.class, () -> HeaderName.of("X-Injected: a\r\nSet-Cookie"));
+		assertThrows(IllegalArgumentException.class, () -> HeaderName.of("X Space"));
+		assertThrows(IllegalArgumentException.class, () -> HeaderName.of("X-\u00e9"));
+	}
+
+}
@@ -0,0 +1,53 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpResponse;
+import io.github.rfc2616.http.HttpStatus;
+
+public class HttpResponseTest {
+
+	@Test
+	public void resetBetweenRequests() throws IOException {
+		final HttpResponse response = new HttpResponse();
+		response.status(HttpStatus.NOT_FOUND).send("text/plain", "missing");
+		response.body().write(new byte[2 * HttpResponse.BODY_CAPACITY]);
+
+		response.reset();
+		assertEquals(HttpStatus.OK, response.status());
+		assertEquals(0, response.headers().size());
+		assertEquals(0, response.buffer().size());
+		assertFalse(response.isStreamed());
+		// Kept for the next request of the connection
+		assertTrue(response.bufferCapacity() > HttpResponse.BODY_CAPACITY);
+
+		response.body().write(new byte[2 * HttpResponse.MAX_RETAINED_BODY]);
+		response.reset();
+		assertEquals(HttpResponse.BODY_CAPACITY, response.bufferCapacity());
+	}
+
+	@Test
+	public void shrinkWhenRecycled() throws IOException {
+		final HttpResponse response = new HttpResponse();
+		for(int i = 0; i < 100; ++i) {
+			response.headers().add(HeaderName.of("X-Field-" + i), "value");
+		}
+		response.body().write(new byte[3 * HttpResponse.BODY_CAPACITY]);
+
+		response.recycle();
+		assertEquals(0, response.headers().size());
+		assertEquals(HttpResponse.BODY_CAPACITY, response.bufferCapacity());
+
+		response.send("text/plain", "again");
+		assertEquals("text/plain", response.headers().get(HeaderName.CONTENT_TYPE));
+		assertEquals(5, response.buffer().size());
+	}
+
+}
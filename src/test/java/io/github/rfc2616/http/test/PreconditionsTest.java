@@ -0,0 +1,60 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.HttpDate;
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.InputBuffer;
+import io.github.rfc2616.http.Preconditions;
+import io.github.rfc2616.http.RequestHeadParser;
+
+public class PreconditionsTest {
+
+	// Sun, 06 Nov 1994 08:49:37 GMT
+	private static final long MODIFIED = 784111777000L;
+
+	static HttpHeaders request(final String fields) throws IOException {
+		final String head = "GET / HTTP/1.1\r\n" + fields + "\r\n";
+		final RequestHeadParser parser = new RequestHeadParser();
+		parser.parse(new InputBuffer(new ByteArrayInputStream(head.getBytes(StandardCharsets.US_ASCII))));
+		return parser.headers();
+	}
+
+	@Test
+	public void parseHttpDates() {
+		assertEquals(MODIFIED, HttpDate.parse("Sun, 06 Nov 1994 08:49:37 GMT"));
+		assertEquals(MODIFIED, HttpDate.parse("Sunday, 06-Nov-94 08:49:37 GMT"));
+		assertEquals(MODIFIED, HttpDate.parse("Sun Nov  6 08:49:37 1994"));
+		assertEquals(-1, HttpDate.parse("yesterday"));
+		assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDate.format(MODIFIED));
+	}
+
+	@Test
+	public void matchEntityTags() throws IOException {
+		assertTrue(Preconditions.isNotModified(request("If-None-Match: \"a\", \"b\"\r\n"), "\"b\"", -1));
+		assertTrue(Preconditions.isNotModified(request("If-None-Match: W/\"b\"\r\n"), "\"b\"", -1));
+		assertTrue(Preconditions.isNotModified(request("If-None-Match: *\r\n"), "\"b\"", -1));
+		assertFalse(Preconditions.isNotModified(request("If-None-Match: \"a\"\r\n"), "\"b\"", -1));
+
+		// If-None-Match wins over a matching If-Modified-Since
+		assertFalse(Preconditions.isNotModified(request("If-None-Match: \"a\"\r\nIf-Modified-Since: Sun, 06 Nov 1994 08:49:37 GMT\r\n"), "\"b\"", MODIFIED));
+	}
+
+	@Test
+	public void compareModificationDates() throws IOException {
+		assertTrue(Preconditions.isNotModified(request("If-Modified-Since: Sun, 06 Nov 1994 08:49:37 GMT\r\n"), "\"b\"", MODIFIED));
+		assertFalse(Preconditions.isNotModified(request("If-Modified-Since: Sun, 06 Nov 1994 08:49:36 GMT\r\n"), "\"b\"", MODIFIED));
+		assertFalse(Preconditions.isNotModified(request("If-Modified-Since: invalid\r\n"), "\"b\"", MODIFIED));
+		assertFalse(Preconditions.isNotModified(request("If-Modified-Since: Sun, 06 Nov 1994 08:49:37 GMT\r\n"), "\"b\"", -1));
+		assertFalse(Preconditions.isNotModified(request("If-Modified-Since: " + HttpDate.format(System.currentTimeMillis() + 86400000L) + "\r\n"), "\"b\"", MODIFIED));
+	}
+
+}
@@ -0,0 +1,114 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.exceptions.RequestEntityTooLargeException;
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.InputBuffer;
+import io.github.rfc2616.http.OutputBuffer;
+import io.github.rfc2616.http.RequestBody;
+import io.github.rfc2616.http.SpooledBody;
+
+public class RequestBodyTest {
+
+	static InputBuffer connection(final String data) {
+		return new InputBuffer(new ByteArrayInputStream(data.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@Test
+	public void stopAtContentLength() throws IOException {
+		final InputBuffer in = connection("hello worldGET / HTTP/1.1\r\n");
+		final RequestBody body = new RequestBody();
+		body.reset(in, 11);
+
+		assertEquals("hello world", IOUtils.toString(body, StandardCharsets.US_ASCII));
+		assertEquals(-1, body.read());
+		assertTrue(body.isFinished());
+		assertEquals('G', in.read());
+	}
+
+	@Test
+	public void streamChunksAndDiscardTheRest() throws IOException {
+		final InputBuffer in = connection("5\r\nhello\r\n6\r\n world\r\n0\r\n\r\nGET");
+		final RequestBody body = new RequestBody();
+		body.resetChunked(in, 1024);
+
+		final byte[] first = new byte[3];
+		assertEquals(3, body.read(first, 0, 3));
+		assertEquals("hel", new String(first, StandardCharsets.US_ASCII));
+
+		assertTrue(body.discard(64));
+		assertEquals(11, body.received());
+		assertEquals('G', in.read());
+
+		body.reset(connection("0123456789"), 10);
+		assertFalse(body.discard(4));
+	}
+
+	@Test
+	public void refuseChunkedBodiesOverTheLimit() throws IOException {
+		final RequestBody body = new RequestBody();
+		body.resetChunked(connection("4\r\nabcd\r\n4\r\nefgh\r\n0\r\n\r\n"), 6);
+
+		assertThrows(RequestEntityTooLargeException.class, () -> IOUtils.toByteArray(body));
+		assertTrue(body.isExceeded());
+		assertFalse(body.discard(1024));
+	}
+
+	@Test
+	public void exposeTrailersAndRejectBadFraming() throws IOException {
+		final RequestBody body = new RequestBody();
+		body.resetChunked(connection("5;ext=1\r\nhello\r\n0\r\nX-Checksum: 5\r\n\r\n"), 1024);
+
+		assertEquals("hello", IOUtils.toString(body, StandardCharsets.US_ASCII));
+		assertEquals("5", body.trailers().get(HeaderName.of("X-Checksum")));
+
+		body.resetChunked(connection("zz\r\nhello\r\n"), 1024);
+		assertThrows(IOException.class, () -> IOUtils.toByteArray(body));
+		assertTrue(body.isMalformed());
+		assertFalse(body.discard(1024));
+	}
+
+	@Test
+	public void spillLargeBodiesToDisk() throws IOException {
+		final byte[] content = new byte[10000];
+		for(int i = 0; i < content.length; ++i) {
+			content[i] = (byte) i;
+		}
+
+		final RequestBody body = new RequestBody();
+		body.reset(new InputBuffer(new ByteArrayInputStream(content)), content.length);
+		try(final SpooledBody small = body.spool(content.length)) {
+			assertTrue(small.isInMemory());
+			assertArrayEquals(content, IOUtils.toByteArray(small.openStream()));
+		}
+
+		body.reset(new InputBuffer(new ByteArrayInputStream(content)), content.length);
+		try(final SpooledBody large = body.spool(4096)) {
+			assertFalse(large.isInMemory());
+			assertEquals(content.length, large.size());
+			try(final InputStream stream = large.openStream()) {
+				assertArrayEquals(content, IOUtils.toByteArray(stream));
+			}
+
+			final ResponseHeadTest.RecordingChannel channel = new ResponseHeadTest.RecordingChannel();
+			final OutputBuffer out = new OutputBuffer(channel);
+			large.writeTo(out);
+			out.flush();
+			assertArrayEquals(content, channel.sink.toByteArray());
+		}
+	}
+
+}
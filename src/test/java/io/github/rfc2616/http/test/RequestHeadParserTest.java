@@ -0,0 +1,159 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.HttpMethod;
+import io.github.rfc2616.http.InputBuffer;
+import io.github.rfc2616.http.RequestHeadParser;
+
+public class RequestHeadParserTest {
+
+	static InputBuffer buffer(final String content) {
+		return new InputBuffer(new ByteArrayInputStream(content.getBytes(StandardCharsets.ISO_8859_1)));
+	}
+
+	/**
+	 * Delivers one byte per read, like a client trickling its request.
+	 */
+	static InputBuffer trickle(final String content) {
+		final InputStream source = new ByteArrayInputStream(content.getBytes(StandardCharsets.ISO_8859_1)) {
+			@Override
+			public synchronized int read(final byte[] b, final int off, final int len) {
+				return super.read(b, off, Math.min(len, 1));
+			}
+		};
+		return new InputBuffer(source, 16);
+	}
+
+	@Test
+	public void parseRequestLineAndFields() throws IOException {
+		final RequestHeadParser parser = new RequestHeadParser();
+		final InputBuffer in = buffer("\r\nget /path?q=1 HTTP/1.1\r\nHost: localhost\r\nUser-Agent:  Java  \r\n\r\nbody");
+
+		assertEquals(RequestHeadParser.HEAD_COMPLETE, parser.parse(in));
+		assertEquals(HttpMethod.GET, parser.method());
+		assertTrue(parser.isVersion("HTTP/1.1"));
+		assertTrue(parser.isValidUri());
+		assertEquals("/path?q=1", parser.uri());
+		assertEquals("get /path?q=1 HTTP/1.1", parser.requestLine());
+		assertEquals(2, parser.headers().size());
+		assertEquals("Host", parser.headers().name(0));
+		assertEquals("localhost", parser.headers().value(0));
+		assertEquals("User-Agent", parser.headers().name(1));
+		assertEquals("Java", parser.headers().value(1));
+
+		assertEquals('b', in.read());
+	}
+
+	@Test
+	public void parseFoldedFields() throws IOException {
+		final RequestHeadParser parser = new RequestHeadParser();
+		final InputBuffer in = buffer("POST / HTTP/1.1\r\nContent-Type: text/plain;\r\n charset=UTF8\r\nContent-Length: 0\r\n\r\n");
+
+		assertEquals(RequestHeadParser.HEAD_COMPLETE, parser.parse(in));
+		assertEquals(2, parser.headers().size());
+		assertEquals("text/plain;   charset=UTF8", parser.headers().value(0));
+		assertEquals("Content-Length", parser.headers().name(1));
+	}
+
+	@Test
+	public void parseTrickledAndPipelinedHeads() throws IOException {
+		final RequestHeadParser parser = new RequestHeadParser();
+		final InputBuffer in = trickle("GET /first HTTP/1.1\r\nHost: a\r\n\r\nOPTIONS * HTTP/1.1\r\nHost: b\r\n\r\n");
+
+		assertEquals(RequestHeadParser.HEAD_COMPLETE, parser.parse(in));
+		assertEquals("/first", parser.uri());
+
+		assertEquals(RequestHeadParser.HEAD_COMPLETE, parser.parse(in));
+		assertEquals(HttpMethod.OPTIONS, parser.method());
+		assertEquals("*", parser.uri());
+		assertEquals("b", parser.headers().value(0));
+
+		final ByteArrayOutputStream head = new ByteArrayOutputStream();
+		parser.writeHead(head);
+		assertEquals("OPTIONS * HTTP/1.1\r\nHost: b\r\n\r\n", new String(head.toByteArray(), StandardCharsets.US_ASCII));
+
+		assertEquals(RequestHeadParser.HEAD_EOF, parser.parse(in));
+	}
+
+	@Test
+	public void rejectMalformedHeads() throws IOException {
+		final RequestHeadParser parser = new RequestHeadParser();
+
+		assertEquals(RequestHeadParser.HEAD_MALFORMED, parser.parse(buffer("GET /\r\n\r\n")));
+		assertEquals(RequestHeadParser.HEAD_MALFORMED, parser.parse(buffer("GET  / HTTP/1.1\r\n\r\n")));
+		assertEquals(RequestHeadParser.HEAD_MALFORMED, parser.parse(buffer("GET / HTTP/1.1\r\nNoColon\r\n\r\n")));
+		assertEquals(RequestHeadParser.HEAD_MALFORMED, parser.parse(buffer("GET / HTTP/1.1\r\n folded\r\n\r\n")));
+		assertEquals(RequestHeadParser.HEAD_MALFORMED, parser.parse(buffer("GET / HTTP/1.1\r\nX(y): z\r\n\r\n")));
+
+		assertEquals(RequestHeadParser.HEAD_COMPLETE, parser.parse(buffer("GET relative HTTP/1.1\r\n\r\n")));
+		assertFalse(parser.isValidUri());
+
+		assertEquals(RequestHeadParser.HEAD_COMPLETE, parser.parse(buffer("QUERY / HTTP/1.1\r\n\r\n")));
+		assertEquals(null, parser.method());
+	}
+
+	@Test
+	public void rejectOversizedHeads() throws IOException {
+		final StringBuilder request = new StringBuilder("GET / HTTP/1.1\r\n");
+		while(request.length() <= RequestHeadParser.MAX_HEAD_SIZE) {
+			request.append("X-Filler: 0123456789abcdef0123456789abcdef\r\n");
+		}
+		request.append("\r\n");
+
+		assertEquals(RequestHeadParser.HEAD_TOO_LARGE, new RequestHeadParser().parse(buffer(request.toString())));
+	}
+
+	@Test
+	public void shrinkAfterLargeHead() throws IOException {
+		final StringBuilder request = new StringBuilder("GET / HTTP/1.1\r\n");
+		for(int i = 0; i < 100; ++i) {
+			request.append("X-Field-").append(i).append(": ").append(i).append("\r\n");
+		}
+		request.append("\r\nGET /next HTTP/1.1\r\nHost: localhost\r\n\r\n");
+
+		final RequestHeadParser parser = new RequestHeadParser();
+		final InputBuffer in = new InputBuffer(new ByteArrayInputStream(request.toString().getBytes(StandardCharsets.ISO_8859_1)), 64);
+
+		assertEquals(RequestHeadParser.HEAD_COMPLETE, parser.parse(in));
+		assertEquals(100, parser.headers().size());
+		assertTrue(in.array().length > 64);
+
+		// The next head fits again in the initial capacity
+		assertEquals(RequestHeadParser.HEAD_COMPLETE, parser.parse(in));
+		assertEquals(64, in.array().length);
+		assertEquals("/next", parser.uri());
+		assertEquals("localhost", parser.headers().value(0));
+
+		parser.release();
+		assertEquals(0, parser.headers().size());
+	}
+
+	@Test
+	public void forgetPreviousRequestLine() throws IOException {
+		final StringBuilder batch = new StringBuilder("GET /ping HTTP/1.1\r\nHost: x\r\n\r\n");
+		for(int i = 0; i < 30; ++i) {
+			batch.append("\r\n");
+		}
+		batch.append("BA\0D / HTTP/1.1\r\n\r\n");
+
+		final RequestHeadParser parser = new RequestHeadParser();
+		final InputBuffer in = buffer(batch.toString());
+		assertEquals(RequestHeadParser.HEAD_COMPLETE, parser.parse(in));
+		assertEquals("GET /ping HTTP/1.1", parser.requestLine());
+
+		assertEquals(RequestHeadParser.HEAD_MALFORMED, parser.parse(in));
+		assertEquals("-", parser.requestLine());
+	}
+
+}
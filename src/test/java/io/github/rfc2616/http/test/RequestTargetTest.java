@@ -0,0 +1,74 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.InputBuffer;
+import io.github.rfc2616.http.RequestHeadParser;
+import io.github.rfc2616.http.RequestTarget;
+
+public class RequestTargetTest {
+
+	static RequestTarget target(final String uri) throws IOException {
+		final String request = "GET " + uri + " HTTP/1.1\r\n\r\n";
+		final RequestHeadParser parser = new RequestHeadParser();
+		parser.parse(new InputBuffer(new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8))));
+		return parser.target();
+	}
+
+	@Test
+	public void splitOriginForm() throws IOException {
+		final RequestTarget target = target("/caf%C3%A9/menu?item=p%C3%A3o&size=large+cup&&flag#top");
+
+		assertEquals(RequestTarget.FORM_ORIGIN, target.form());
+		assertEquals("/caf%C3%A9/menu", target.path());
+		assertEquals("/café/menu", target.decodedPath());
+		assertTrue(target.pathEquals("/caf%C3%A9/menu"));
+		assertFalse(target.pathEquals("/café/menu"));
+		assertEquals("item=p%C3%A3o&size=large+cup&&flag", target.query());
+		assertNull(target.authority());
+
+		assertEquals("pão", target.parameter("item"));
+		assertEquals("large cup", target.parameter("size"));
+		assertEquals("", target.parameter("flag"));
+		assertNull(target.parameter("top"));
+
+		final RequestTarget.Parameters parameters = target.parameters();
+		final StringBuilder names = new StringBuilder();
+		while( parameters.next() ) {
+			names.append(parameters.name()).append(';');
+		}
+		assertEquals("item;size;flag;", names.toString());
+	}
+
+	@Test
+	public void splitAbsoluteAndAsteriskForms() throws IOException {
+		RequestTarget target = target("http://example.com:8080/live?x=%2");
+		assertEquals(RequestTarget.FORM_ABSOLUTE, target.form());
+		assertEquals("example.com:8080", target.authority());
+		assertEquals("/live", target.path());
+		assertEquals("%2", target.parameter("x"));
+
+		target = target("HTTPS://example.com");
+		assertEquals(RequestTarget.FORM_ABSOLUTE, target.form());
+		assertEquals("/", target.path());
+		assertNull(target.query());
+
+		target = target("*");
+		assertTrue(target.isAsterisk());
+		assertEquals("*", target.path());
+		assertFalse(target.parameters().next());
+
+		assertFalse(target("relative/path").isValid());
+		assertFalse(target("ftp://example.com/").isValid());
+	}
+
+}
@@ -0,0 +1,97 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.http.OutputBuffer;
+import io.github.rfc2616.http.ResponseBodyStream;
+
+public class ResponseBodyStreamTest {
+
+	private final ResponseHeadTest.RecordingChannel channel = new ResponseHeadTest.RecordingChannel();
+	private final OutputBuffer out = new OutputBuffer(channel);
+
+	private String sent() throws IOException {
+		out.flush();
+		final String raw = new String(channel.sink.toByteArray(), StandardCharsets.US_ASCII);
+		channel.sink.reset();
+		return raw;
+	}
+
+	@Test
+	public void sendShortBodiesWithLength() throws IOException {
+		final ResponseBodyStream body = new ResponseBodyStream(out, 64);
+		body.open(HttpStatus.OK, new HttpHeaders(), false);
+		body.write("hello".getBytes(StandardCharsets.US_ASCII));
+		body.trailers().set(HeaderName.of("X-Checksum"), "5");
+		assertFalse(body.isCommitted());
+		body.close();
+
+		final String raw = sent();
+		assertTrue(raw.contains("\r\nContent-Length: 5\r\nX-Checksum: 5\r\n\r\nhello"), raw);
+		assertFalse(raw.contains("Transfer-Encoding"), raw);
+	}
+
+	@Test
+	public void switchToChunkedBeyondOneChunk() throws IOException {
+		final ResponseBodyStream body = new ResponseBodyStream(out, 64);
+		body.open(HttpStatus.OK, new HttpHeaders(), true);
+
+		final byte[] line = new byte[40];
+		Arrays.fill(line, (byte) 'a');
+		body.write(line);
+		body.write(line);
+		assertTrue(body.isCommitted());
+		body.write(new byte[200]);
+		body.write('z');
+		body.trailers().set(HeaderName.of("X-Checksum"), "abc");
+		body.close();
+
+		final String raw = sent();
+		final String head = raw.substring(0, raw.indexOf("\r\n\r\n") + 4);
+		assertTrue(head.contains("\r\nTransfer-Encoding: chunked\r\n"), head);
+		assertFalse(head.contains("Content-Length"), head);
+
+		final String chunks = raw.substring(head.length());
+		// Full chunks of the configured size, larger writes as their own chunk
+		final String a = new String(line, StandardCharsets.US_ASCII);
+		final String zeros = new String(new byte[200], StandardCharsets.US_ASCII);
+		assertEquals("40\r\n" + a + a.substring(16) + "\r\n"
+			+ "40\r\n" + a.substring(24) + zeros.substring(0, 48) + "\r\n"
+			+ "98\r\n" + zeros.substring(48) + "\r\n"
+			+ "1\r\nz\r\n"
+			+ "0\r\nX-Checksum: abc\r\n\r\n", chunks);
+		assertEquals(281, body.written());
+	}
+
+	@Test
+	public void passDeclaredLengthsThrough() throws IOException {
+		final ResponseBodyStream body = new ResponseBodyStream(out, 64);
+		body.open(HttpStatus.OK, new HttpHeaders().set(HeaderName.CONTENT_LENGTH, 100), true);
+		body.write(new byte[100]);
+		body.close();
+		assertTrue(body.isCommitted());
+		body.abort();
+		assertFalse(body.isCommitted());
+
+		final String raw = sent();
+		assertTrue(raw.contains("\r\nContent-Length: 100\r\n\r\n"), raw);
+		assertEquals(100, raw.length() - raw.indexOf("\r\n\r\n") - 4);
+
+		body.open(HttpStatus.OK, new HttpHeaders().set(HeaderName.CONTENT_LENGTH, 10), false);
+		body.write(new byte[4]);
+		assertThrows(IOException.class, body::close);
+	}
+
+}
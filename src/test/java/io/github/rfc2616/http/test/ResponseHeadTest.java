@@ -0,0 +1,130 @@
+package io.github.rfc2616.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.HttpDate;
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.http.OutputBuffer;
+import io.github.rfc2616.http.ResponseHead;
+import io.github.rfc2616.http.StaticResponse;
+
+public class ResponseHeadTest {
+
+	/**
+	 * Records what reaches the connection and how many write calls it took.
+	 */
+	static final class RecordingChannel implements GatheringByteChannel {
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+		int writes = 0;
+
+		@Override
+		public long write(final ByteBuffer[] srcs, final int offset, final int length) {
+			++writes;
+			long total = 0;
+			for(int i = offset; i < offset + length; ++i) {
+				while( srcs[i].hasRemaining() ) {
+					sink.write(srcs[i].get());
+					++total;
+				}
+			}
+			return total;
+		}
+
+		@Override
+		public long write(final ByteBuffer[] srcs) {
+			return write(srcs, 0, srcs.length);
+		}
+
+		@Override
+		public int write(final ByteBuffer src) {
+			return (int) write(new ByteBuffer[] { src });
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() { /***/ }
+	}
+
+	@Test
+	public void writeHeadInOneFlush() throws IOException {
+		final RecordingChannel channel = new RecordingChannel();
+
+		final OutputBuffer out = new OutputBuffer(channel);
+		ResponseHead.write(out, HttpStatus.NOT_FOUND, new HttpHeaders().set(HeaderName.CONTENT_LENGTH, 0));
+		assertEquals(0, channel.sink.size());
+
+		out.flush();
+		assertEquals(1, channel.writes);
+
+		final String head = new String(channel.sink.toByteArray(), StandardCharsets.US_ASCII);
+		assertTrue(head.startsWith("HTTP/1.1 404 Not Found\r\nDate: "), head);
+		assertTrue(head.matches("(?s).*\r\nDate: \\w{3}, \\d{2} \\w{3} \\d{4} \\d{2}:\\d{2}:\\d{2} GMT\r\n.*"), head);
+		assertTrue(head.contains("\r\nServer: " + ResponseHead.SERVER + "\r\nX-Powered-By: Java/"), head);
+		assertTrue(head.endsWith("\r\nContent-Length: 0\r\n\r\n"), head);
+	}
+
+	@Test
+	public void gatherHeadWithLargeBody() throws IOException {
+		final RecordingChannel channel = new RecordingChannel();
+		final byte[] body = new byte[OutputBuffer.DEFAULT_CAPACITY * 4];
+		Arrays.fill(body, (byte) 'x');
+
+		final OutputBuffer out = new OutputBuffer(channel);
+		ResponseHead.write(out, HttpStatus.OK, new HttpHeaders().set(HeaderName.CONTENT_LENGTH, body.length));
+		final int head = out.size();
+		out.write(body);
+		out.flush();
+
+		assertEquals(1, channel.writes);
+		assertEquals(head + body.length, channel.sink.size());
+	}
+
+	@Test
+	public void shareDateWithinSecond() {
+		final byte[] first = HttpDate.now();
+		final byte[] second = HttpDate.now();
+		if( first != second ) {
+			// The clock ticked between both calls
+			assertSame(second, HttpDate.now());
+		}
+		assertEquals("Thu, 01 Jan 1970 00:00:00 GMT", HttpDate.format(0));
+	}
+
+	@Test
+	public void sendSnapshotWithCurrentDate() throws IOException {
+		final StaticResponse response = StaticResponse.of(HttpStatus.OK, "text/plain", "UP".getBytes(StandardCharsets.US_ASCII));
+
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+		response.writeTo(sink);
+		final byte[] date = HttpDate.now();
+
+		final String raw = new String(sink.toByteArray(), StandardCharsets.US_ASCII);
+		final String current = new String(date, StandardCharsets.US_ASCII);
+		assertTrue(raw.startsWith("HTTP/1.1 200 OK\r\nDate: "), raw);
+		assertTrue(raw.contains("\r\nContent-Type: text/plain\r\nContent-Length: 2\r\nETag: \""), raw);
+		assertTrue(raw.endsWith("\"\r\nAccept-Ranges: bytes\r\n\r\nUP"), raw);
+		if( raw.contains(current) ) {
+			final ByteArrayOutputStream again = new ByteArrayOutputStream();
+			response.writeTo(again);
+			assertEquals(raw, new String(again.toByteArray(), StandardCharsets.US_ASCII));
+		}
+	}
+
+}
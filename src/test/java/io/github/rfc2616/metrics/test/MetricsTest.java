@@ -0,0 +1,109 @@
+package io.github.rfc2616.metrics.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.HttpMethod;
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.metrics.Histogram;
+import io.github.rfc2616.metrics.Metrics;
+
+public class MetricsTest {
+
+	@Test
+	public void recordInBuckets() {
+		final Histogram histogram = new Histogram();
+		histogram.record(0);
+		histogram.record(100);
+		histogram.record(101);
+		histogram.record(60_000_000);
+
+		final long[] counts = histogram.counts();
+		assertEquals(Histogram.BOUNDS.length + 1, counts.length);
+		assertEquals(2, counts[0]);
+		assertEquals(1, counts[1]);
+		assertEquals(1, counts[counts.length - 1]);
+		assertEquals(60_000_201, histogram.sum());
+	}
+
+	@Test
+	public void renderPrometheusText() {
+		final Metrics metrics = new Metrics();
+		metrics.request("/users/{id}", HttpMethod.GET, HttpStatus.OK, 300);
+		metrics.request("/users/{id}", HttpMethod.GET, HttpStatus.OK, 1_500_000);
+		metrics.request("/users/{id}", HttpMethod.GET, HttpStatus.NOT_FOUND, 50);
+		metrics.request(Metrics.UNMATCHED, null, HttpStatus.BAD_REQUEST, 20);
+		metrics.received(120);
+		metrics.sent(480);
+		metrics.parseError(Metrics.ParseError.HEAD);
+		metrics.timeout(Metrics.Timeout.IDLE);
+
+		assertEquals(2, metrics.requests("/users/{id}", HttpStatus.OK));
+		assertEquals(0, metrics.requests("/missing", HttpStatus.OK));
+
+		final String text = metrics.render();
+		assertContains(text, "# TYPE http_requests_total counter\n");
+		assertContains(text, "http_requests_total{route=\"/users/{id}\",method=\"GET\",status=\"200\"} 2\n");
+		assertContains(text, "http_requests_total{route=\"/users/{id}\",method=\"GET\",status=\"404\"} 1\n");
+		assertContains(text, "http_requests_total{route=\"none\",method=\"OTHER\",status=\"400\"} 1\n");
+
+		assertContains(text, "# TYPE http_request_duration_seconds histogram\n");
+		assertContains(text, "http_request_duration_seconds_bucket{route=\"/users/{id}\",method=\"GET\",le=\"0.0001\"} 1\n");
+		assertContains(text, "http_request_duration_seconds_bucket{route=\"/users/{id}\",method=\"GET\",le=\"0.0005\"} 2\n");
+		assertContains(text, "http_request_duration_seconds_bucket{route=\"/users/{id}\",method=\"GET\",le=\"1\"} 2\n");
+		assertContains(text, "http_request_duration_seconds_bucket{route=\"/users/{id}\",method=\"GET\",le=\"2.5\"} 3\n");
+		assertContains(text, "http_request_duration_seconds_bucket{route=\"/users/{id}\",method=\"GET\",le=\"+Inf\"} 3\n");
+		assertContains(text, "http_request_duration_seconds_sum{route=\"/users/{id}\",method=\"GET\"} 1.50035\n");
+		assertContains(text, "http_request_duration_seconds_count{route=\"/users/{id}\",method=\"GET\"} 3\n");
+
+		assertContains(text, "http_received_bytes_total 120\n");
+		assertContains(text, "http_sent_bytes_total 480\n");
+		assertContains(text, "http_parse_errors_total{cause=\"head\"} 1\n");
+		assertContains(text, "http_parse_errors_total{cause=\"chunked_body\"} 0\n");
+		assertContains(text, "http_timeouts_total{phase=\"idle\"} 1\n");
+		assertTrue(text.endsWith("http_timeouts_total{phase=\"body\"} 0\n"), text);
+	}
+
+	@Test
+	public void escapeRouteLabels() {
+		final Metrics metrics = new Metrics();
+		metrics.request("/a\"b\\c", HttpMethod.POST, HttpStatus.CREATED, 1);
+
+		assertContains(metrics.render(), "http_requests_total{route=\"/a\\\"b\\\\c\",method=\"POST\",status=\"201\"} 1\n");
+	}
+
+	@Test
+	public void countConnections() {
+		final Metrics metrics = new Metrics();
+		metrics.connectionOpened();
+		metrics.connectionOpened();
+		metrics.connectionOpened();
+		metrics.connectionRejected();
+		metrics.connectionClosed();
+		assertEquals(1, metrics.activeConnections());
+
+		final String text = metrics.render();
+		assertContains(text, "# TYPE http_connections_active gauge\nhttp_connections_active 1\n");
+		assertContains(text, "http_connections_total 3\n");
+		assertContains(text, "http_connections_rejected_total 1\n");
+	}
+
+	@Test
+	public void renderEveryLineTerminated() {
+		final Metrics metrics = new Metrics();
+		metrics.request("/", HttpMethod.GET, HttpStatus.OK, 10);
+
+		final String text = metrics.render();
+		assertTrue(text.endsWith("\n"));
+		for(final String line: text.split("\n")) {
+			assertTrue(line.startsWith("# ") || line.startsWith("http_"), line);
+		}
+	}
+
+	private static void assertContains(final String text, final String expected) {
+		assertTrue(text.contains(expected), () -> "Missing " + expected + " in\n" + text);
+	}
+
+}
@@ -0,0 +1,117 @@
+package io.github.rfc2616.resources.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.rfc2616.resources.DocumentRoot;
+import io.github.rfc2616.resources.FileEntry;
+import io.github.rfc2616.resources.MimeTypes;
+
+public class DocumentRootTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void cacheSmallFilesUntilModified() throws IOException {
+		final Path index = directory.resolve("index.html");
+		Files.write(index, "<p>one</p>".getBytes(StandardCharsets.UTF_8));
+
+		final DocumentRoot root = new DocumentRoot(directory);
+		final FileEntry entry = root.lookup("/");
+		assertNotNull(entry.cached());
+		assertEquals("text/html; charset=UTF-8", entry.contentType());
+		assertSame(entry, root.lookup("/index.html"));
+
+		Files.write(index, "<p>two!</p>".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(index, FileTime.fromMillis(entry.lastModified() + 5000));
+
+		final FileEntry changed = root.lookup("/index.html");
+		assertNotSame(entry, changed);
+		assertEquals(11, changed.size());
+		assertSame(changed, root.lookup("/index.html"));
+	}
+
+	@Test
+	public void streamLargeFiles() throws IOException {
+		Files.write(directory.resolve("large.bin"), new byte[(int) DocumentRoot.CACHEABLE_SIZE + 1]);
+
+		final FileEntry entry = new DocumentRoot(directory).lookup("/large.bin");
+		assertNull(entry.cached());
+		assertEquals(MimeTypes.DEFAULT, entry.contentType());
+		assertTrue(entry.etag().startsWith("\"10001-"), entry.etag());
+	}
+
+	@Test
+	public void refuseEscapesAndHiddenFiles() throws IOException {
+		final Path www = Files.createDirectory(directory.resolve("www"));
+		Files.write(directory.resolve("secret.txt"), new byte[] { 1 });
+		Files.write(www.resolve(".env"), new byte[] { 1 });
+		Files.createDirectory(www.resolve("empty"));
+
+		final DocumentRoot root = new DocumentRoot(www);
+		assertNull(root.lookup("/../secret.txt"));
+		assertNull(root.lookup("/empty/../../secret.txt"));
+		assertNull(root.lookup("/.env"));
+		assertNull(root.lookup("/..\\secret.txt"));
+		assertNull(root.lookup("/empty"));
+		assertNull(root.lookup("/missing.txt"));
+		assertNull(root.lookup("/missing/"));
+	}
+
+	@Test
+	public void recheckLinksOnReload() throws IOException {
+		final Path www = Files.createDirectory(directory.resolve("www"));
+		final Path secret = directory.resolve("secret.txt");
+		Files.write(secret, "secret".getBytes(StandardCharsets.UTF_8));
+		final Path page = www.resolve("page.txt");
+		Files.write(page, "page".getBytes(StandardCharsets.UTF_8));
+
+		final DocumentRoot root = new DocumentRoot(www);
+		assertNotNull(root.lookup("/page.txt"));
+
+		Files.delete(page);
+		Files.createSymbolicLink(page, secret);
+		assertNull(root.lookup("/page.txt"));
+		assertEquals(0, root.cachedBytes());
+	}
+
+	@Test
+	public void dropDeletedAndEvictOldFiles() throws IOException {
+		final DocumentRoot root = new DocumentRoot(directory);
+
+		final Path gone = directory.resolve("gone.txt");
+		Files.write(gone, new byte[10]);
+		assertNotNull(root.lookup("/gone.txt").cached());
+		Files.delete(gone);
+		assertNull(root.lookup("/gone.txt"));
+		assertEquals(0, root.cachedBytes());
+
+		final int count = (int) (DocumentRoot.CACHE_CAPACITY / DocumentRoot.CACHEABLE_SIZE) + 1;
+		final byte[] content = new byte[(int) DocumentRoot.CACHEABLE_SIZE];
+		for(int i = 0; i < count; ++i) {
+			Files.write(directory.resolve(i + ".bin"), content);
+			assertNotNull(root.lookup("/" + i + ".bin").cached(), "file " + i);
+		}
+		assertTrue(root.cachedBytes() <= DocumentRoot.CACHE_CAPACITY);
+
+		// The least recently served made room
+		final FileEntry first = root.lookup("/0.bin");
+		assertNotNull(first.cached());
+		assertSame(first, root.lookup("/0.bin"));
+	}
+
+}
@@ -0,0 +1,98 @@
+package io.github.rfc2616.resources.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.HttpHeaders;
+import io.github.rfc2616.http.InputBuffer;
+import io.github.rfc2616.http.RequestHeadParser;
+import io.github.rfc2616.http.StaticResponse;
+import io.github.rfc2616.resources.StaticResource;
+
+public class StaticResourceTest {
+
+	static HttpHeaders request(final String fields) throws IOException {
+		final String head = "GET /spec HTTP/1.1\r\n" + fields + "\r\n";
+		final RequestHeadParser parser = new RequestHeadParser();
+		parser.parse(new InputBuffer(new ByteArrayInputStream(head.getBytes(StandardCharsets.US_ASCII))));
+		return parser.headers();
+	}
+
+	static String send(final StaticResponse response) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.writeTo(out);
+		return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+	}
+
+	@Test
+	public void selectPrecompressedVariants() throws IOException {
+		final StaticResource spec = StaticResource.classpath("/rfc2616.txt", "text/plain; charset=ASCII");
+
+		final String identity = send(spec.select(request("")));
+		final String head = identity.substring(0, identity.indexOf("\r\n\r\n") + 2);
+		assertFalse(head.contains("Content-Encoding"), head);
+		assertTrue(head.contains("\r\nVary: Accept-Encoding\r\n"), head);
+
+		final StaticResponse gzip = spec.select(request("Accept-Encoding: gzip, deflate\r\n"));
+		assertSame(gzip, spec.select(request("Accept-Encoding: x-gzip\r\n")));
+
+		final String raw = send(gzip);
+		assertTrue(raw.contains("\r\nContent-Encoding: gzip\r\n"));
+		final int body = raw.indexOf("\r\n\r\n") + 4;
+		final byte[] decoded = IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(raw.substring(body).getBytes(StandardCharsets.ISO_8859_1))));
+		assertArrayEquals(identity.substring(identity.indexOf("\r\n\r\n") + 4).getBytes(StandardCharsets.ISO_8859_1), decoded);
+
+		assertTrue(send(spec.select(request("Accept-Encoding: deflate\r\n"))).contains("\r\nContent-Encoding: deflate\r\n"));
+		assertNull(spec.select(request("Accept-Encoding: br, identity;q=0\r\n")));
+	}
+
+	@Test
+	public void skipVariantsThatDoNotShrink() throws IOException {
+		final StaticResource tiny = StaticResource.compressible("text/plain", "UP".getBytes(StandardCharsets.US_ASCII));
+
+		final String raw = send(tiny.select(request("Accept-Encoding: gzip\r\n")));
+		assertFalse(raw.contains("Content-Encoding"));
+		assertFalse(raw.contains("Vary"));
+	}
+
+	@Test
+	public void answerConditionalRequests() throws IOException {
+		final StaticResource page = StaticResource.compressible("text/html", new String(new char[2048]).replace('\0', 'x').getBytes(StandardCharsets.US_ASCII), 784111777000L);
+
+		final String identity = send(page.select(request("")));
+		assertTrue(identity.contains("\r\nLast-Modified: Sun, 06 Nov 1994 08:49:37 GMT\r\n"), identity);
+		final String etag = field(identity, "ETag");
+
+		final String gzip = send(page.select(request("Accept-Encoding: gzip\r\n")));
+		assertFalse(etag.equals(field(gzip, "ETag")), "Variants need distinct entity tags");
+
+		final String notModified = send(page.select(request("If-None-Match: " + etag + "\r\n")));
+		assertTrue(notModified.startsWith("HTTP/1.1 304 Not Modified\r\n"), notModified);
+		assertTrue(notModified.contains("\r\nETag: " + etag + "\r\nVary: Accept-Encoding\r\n\r\n"), notModified);
+		assertTrue(notModified.endsWith("\r\n\r\n"));
+		assertFalse(notModified.contains("Content-Length"));
+
+		// The tag of the identity variant does not validate the gzip one
+		assertTrue(send(page.select(request("Accept-Encoding: gzip\r\nIf-None-Match: " + etag + "\r\n"))).startsWith("HTTP/1.1 200 OK"));
+
+		assertTrue(send(page.select(request("If-Modified-Since: Sun, 06 Nov 1994 08:49:37 GMT\r\n"))).startsWith("HTTP/1.1 304 "));
+	}
+
+	static String field(final String response, final String name) {
+		final int start = response.indexOf("\r\n" + name + ": ") + name.length() + 4;
+		return response.substring(start, response.indexOf("\r\n", start));
+	}
+
+}
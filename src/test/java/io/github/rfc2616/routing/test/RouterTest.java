@@ -0,0 +1,83 @@
+package io.github.rfc2616.routing.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.rfc2616.http.HttpMethod;
+import io.github.rfc2616.http.PathParameters;
+import io.github.rfc2616.routing.RequestHandler;
+import io.github.rfc2616.routing.Route;
+import io.github.rfc2616.routing.Router;
+
+public class RouterTest {
+
+	private static final RequestHandler LIST = (request, response) -> {};
+	private static final RequestHandler SHOW = (request, response) -> {};
+	private static final RequestHandler ME = (request, response) -> {};
+	private static final RequestHandler FILE = (request, response) -> {};
+
+	private final Router router = new Router()
+			.get("/users", LIST)
+			.get("/users/{id}", SHOW)
+			.put("/users/{id}", SHOW)
+			.get("/users/me", ME)
+			.get("/users/{id}/files/*", FILE)
+			.get("/usage", LIST);
+
+	private final PathParameters parameters = new PathParameters();
+
+	private RequestHandler get(final String path) {
+		final Route route = router.find(path, parameters);
+		return route == null ? null : route.handler(HttpMethod.GET);
+	}
+
+	@Test
+	public void matchLiteralsBeforeParameters() {
+		assertSame(LIST, get("/users"));
+		assertSame(LIST, get("/usage"));
+		assertSame(ME, get("/users/me"));
+		assertEquals(0, parameters.size());
+
+		assertSame(SHOW, get("/users/42"));
+		assertEquals("42", parameters.get("id"));
+
+		// A literal prefix that leads nowhere falls back to the parameter
+		assertSame(SHOW, get("/users/mel"));
+		assertEquals("mel", parameters.get("id"));
+
+		assertNull(get("/users/42/other"));
+		assertNull(get("/user"));
+		assertNull(get("/users/"));
+	}
+
+	@Test
+	public void captureDecodedParametersAndWildcards() {
+		assertSame(FILE, get("/users/j%C3%BCrgen/files/docs/a%20b.txt"));
+		assertEquals("jürgen", parameters.get("id"));
+		assertEquals("docs/a b.txt", parameters.get(Router.WILDCARD));
+
+		assertSame(FILE, get("/users/me/files/"));
+		assertEquals("me", parameters.get("id"));
+		assertEquals("", parameters.get(Router.WILDCARD));
+	}
+
+	@Test
+	public void precomputeAllowedMethods() {
+		assertEquals("OPTIONS, GET, PUT", router.find("/users/7", parameters).allow());
+		assertEquals("OPTIONS, GET", router.find("/users/me", parameters).allow());
+		assertNull(router.find("/users/7", parameters).handler(HttpMethod.POST));
+	}
+
+	@Test
+	public void rejectInvalidPatterns() {
+		assertThrows(IllegalArgumentException.class, () -> router.get("users", LIST));
+		assertThrows(IllegalArgumentException.class, () -> router.get("/users/{name}", LIST));
+		assertThrows(IllegalArgumentException.class, () -> router.get("/files/*/x", LIST));
+		assertThrows(IllegalArgumentException.class, () -> router.get("/files/a{id}", LIST));
+	}
+
+}
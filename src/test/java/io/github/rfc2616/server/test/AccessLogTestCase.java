@@ -0,0 +1,128 @@
+package io.github.rfc2616.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import io.github.rfc2616.server.Worker;
+import io.github.rfc2616.utilities.Constants;
+import io.github.rfc2616.utilities.LogService;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class AccessLogTestCase {
+	final LogService logger = LogService.getInstance(AccessLogTestCase.class.getSimpleName());
+
+	static final int PORT = 8084;
+	static final int MAX_SIZE = 1024;
+
+	private Path directory;
+
+	@BeforeAll
+	public void startup() throws Exception {
+		this.directory = Files.createTempDirectory("access-log");
+
+		System.setProperty(Constants.PROPERTY_PORT, Integer.toString(PORT));
+		System.setProperty(Constants.PROPERTY_ACCESS_LOG, directory.resolve("access.log").toString());
+		System.setProperty(Constants.PROPERTY_ACCESS_LOG_MAX_SIZE, Integer.toString(MAX_SIZE));
+
+		logger.info("Getting server up...");
+		CompletableFuture.runAsync(()-> {
+			try { Worker.main(new String[] {}); } catch(IOException e) {}
+		});
+		Thread.sleep(250L);
+		logger.info("Server is up\n");
+	}
+
+	private Socket connect() throws IOException {
+		final Socket socket = new Socket();
+		socket.setSoTimeout(10000);
+		socket.connect(new InetSocketAddress("localhost", PORT), 5000);
+		return socket;
+	}
+
+	/**
+	 * Waits for the writer to append {@code count} lines, across rotated files: oldest first, the current one last.
+	 */
+	private List<String> awaitLines(final int count) throws Exception {
+		final long deadline = System.currentTimeMillis() + 5000;
+		while( true ) {
+			final List<String> lines = new ArrayList<>();
+			try(final Stream<Path> files = Files.list(directory)) {
+				final List<Path> sorted = files.sorted().collect(Collectors.toList());
+				sorted.add(sorted.remove(0));
+				for(final Path file: sorted) {
+					lines.addAll(Files.readAllLines(file, StandardCharsets.US_ASCII));
+				}
+			}
+			if( lines.size() >= count || System.currentTimeMillis() > deadline ) {
+				return lines;
+			}
+			Thread.sleep(50L);
+		}
+	}
+
+	@Test
+	public void logRequestsAndRotate() throws Exception {
+		logger.info("# logRequestsAndRotate (START)");
+
+		try(final Socket socket = connect()) {
+			final OutputStream out = socket.getOutputStream();
+			for(int i = 0; i < 10; ++i) {
+				out.write(("GET /live?n=" + i + " HTTP/1.1\r\nUser-Agent: Test \"agent\"\r\nReferer: http://localhost/\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+				out.flush();
+				assertTrue(EventLoopTestCase.readResponse(socket.getInputStream()).startsWith("HTTP/1.1 200 OK\r\n"));
+			}
+			out.write("GET /missing HTTP/1.1\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			assertTrue(EventLoopTestCase.readResponse(socket.getInputStream()).startsWith("HTTP/1.1 404 Not Found\r\n"));
+		}
+
+		final List<String> lines = awaitLines(11);
+		assertEquals(11, lines.size(), String.join("\n", lines));
+
+		final String pattern = "127\\.0\\.0\\.1 - - \\[\\d{2}/\\w{3}/\\d{4}:\\d{2}:\\d{2}:\\d{2} [+-]\\d{4}\\] "
+				+ "\"GET /live\\?n=0 HTTP/1\\.1\" 200 \\d+ \"http://localhost/\" \"Test \\\\\"agent\\\\\"\" \\d+";
+		assertTrue(lines.get(0).matches(pattern), lines.get(0));
+		assertTrue(lines.get(10).matches(".*\"GET /missing HTTP/1\\.1\" 404 \\d+ \"-\" \"-\" \\d+"), lines.get(10));
+
+		// The writer rotates right after writing, so the last lines may show up a little earlier
+		final long deadline = System.currentTimeMillis() + 5000;
+		long count;
+		do {
+			Thread.sleep(50L);
+			try(final Stream<Path> files = Files.list(directory)) {
+				count = files.count();
+			}
+		} while( count < 2 && System.currentTimeMillis() < deadline );
+		assertTrue(count > 1, "Access log not rotated");
+
+		logger.info("# logRequestsAndRotate (END)\n");
+	}
+
+	@AfterAll
+	public void terminate() throws Exception {
+		Worker.terminate();
+
+		System.clearProperty(Constants.PROPERTY_PORT);
+		System.clearProperty(Constants.PROPERTY_ACCESS_LOG);
+		System.clearProperty(Constants.PROPERTY_ACCESS_LOG_MAX_SIZE);
+	}
+
+}
@@ -0,0 +1,101 @@
+package io.github.rfc2616.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import io.github.rfc2616.server.Worker;
+import io.github.rfc2616.utilities.Constants;
+import io.github.rfc2616.utilities.LogService;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class ConnectionLimitTestCase {
+	final LogService logger = LogService.getInstance(ConnectionLimitTestCase.class.getSimpleName());
+
+	static final int PORT = 8082;
+
+	/**
+	 * @return port of the server, set up by {@link #startup()}
+	 */
+	int port() {
+		return PORT;
+	}
+
+	@BeforeAll
+	public void startup() throws Exception {
+		System.setProperty(Constants.PROPERTY_PORT, Integer.toString(this.port()));
+		System.setProperty(Constants.PROPERTY_MAX_CONNECTIONS, "1");
+		System.setProperty(Constants.PROPERTY_CONNECTION_QUEUE, "0");
+
+		logger.info("Getting server up...");
+		CompletableFuture.runAsync(()-> {
+			try { Worker.main(new String[] {}); } catch(IOException e) {}
+		});
+		Thread.sleep(250L);
+		logger.info("Server is up\n");
+	}
+
+	private Socket connect() throws IOException {
+		final Socket socket = new Socket();
+		socket.setSoTimeout(10000);
+		socket.connect(new InetSocketAddress("localhost", this.port()), 5000);
+		return socket;
+	}
+
+	/**
+	 * Checks that the connection served holds a thread.
+	 */
+	void assertBusy() {
+		assertEquals(1, Worker.getActiveConnections());
+	}
+
+	@Test
+	public void saturatedServerRejectsSuccessful() throws Exception {
+		logger.info("# saturatedServerRejectsSuccessful (START)");
+
+		try(final Socket busy = connect()) {
+			busy.getOutputStream().write("GET /live HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			assertTrue(EventLoopTestCase.readResponse(busy.getInputStream()).startsWith("HTTP/1.1 200 OK\r\n"));
+			this.assertBusy();
+
+			try(final Socket rejected = connect()) {
+				final InputStream in = rejected.getInputStream();
+				final String response = EventLoopTestCase.readResponse(in);
+				assertTrue(response.startsWith("HTTP/1.1 503 Service Unavailable\r\n"), response);
+				assertTrue(response.contains("\r\nRetry-After: "), response);
+				assertEquals(-1, in.read());
+			}
+		}
+
+		Thread.sleep(250L);
+
+		try(final Socket socket = connect()) {
+			socket.getOutputStream().write("GET /ready HTTP/1.1\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			assertTrue(EventLoopTestCase.readResponse(socket.getInputStream()).startsWith("HTTP/1.1 200 OK\r\n"));
+		}
+
+		logger.info("# saturatedServerRejectsSuccessful (END)\n");
+	}
+
+	@AfterAll
+	public void terminate() throws Exception {
+		Worker.terminate();
+
+		System.clearProperty(Constants.PROPERTY_PORT);
+		System.clearProperty(Constants.PROPERTY_MAX_CONNECTIONS);
+		System.clearProperty(Constants.PROPERTY_CONNECTION_QUEUE);
+	}
+
+}
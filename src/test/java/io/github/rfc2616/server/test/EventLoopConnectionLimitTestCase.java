@@ -0,0 +1,43 @@
+package io.github.rfc2616.server.test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+
+import io.github.rfc2616.utilities.AppProperties;
+import io.github.rfc2616.utilities.Constants;
+
+/**
+ * The connection limit, with the connections served by the event loops.
+ */
+public class EventLoopConnectionLimitTestCase extends ConnectionLimitTestCase {
+
+	static final int PORT = 8085;
+
+	@Override
+	int port() {
+		return PORT;
+	}
+
+	@Override
+	void assertBusy() {
+		// An idle connection of the loops holds its slot but no thread
+	}
+
+	@Override
+	@BeforeAll
+	public void startup() throws Exception {
+		System.setProperty(Constants.PROPERTY_IO_MODE, AppProperties.IO_MODE_NIO);
+		System.setProperty(Constants.PROPERTY_IO_THREADS, "1");
+		super.startup();
+	}
+
+	@Override
+	@AfterAll
+	public void terminate() throws Exception {
+		super.terminate();
+
+		System.clearProperty(Constants.PROPERTY_IO_MODE);
+		System.clearProperty(Constants.PROPERTY_IO_THREADS);
+	}
+
+}
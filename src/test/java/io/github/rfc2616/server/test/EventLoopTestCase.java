@@ -0,0 +1,248 @@
+package io.github.rfc2616.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import io.github.rfc2616.http.BufferPool;
+import io.github.rfc2616.http.HttpStatus;
+import io.github.rfc2616.metrics.Metrics;
+import io.github.rfc2616.server.Worker;
+import io.github.rfc2616.utilities.AppProperties;
+import io.github.rfc2616.utilities.Constants;
+import io.github.rfc2616.utilities.LogService;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class EventLoopTestCase {
+	final LogService logger = LogService.getInstance(EventLoopTestCase.class.getSimpleName());
+
+	static final int PORT = 8081;
+
+	@BeforeAll
+	public void startup() throws Exception {
+		System.setProperty(Constants.PROPERTY_PORT, Integer.toString(PORT));
+		System.setProperty(Constants.PROPERTY_IO_MODE, AppProperties.IO_MODE_NIO);
+		System.setProperty(Constants.PROPERTY_IO_THREADS, "1");
+
+		logger.info("Getting server up...");
+		CompletableFuture.runAsync(()-> {
+			try { Worker.main(new String[] {}); } catch(IOException e) {}
+		});
+		Thread.sleep(250L);
+		logger.info("Server is up\n");
+	}
+
+	private Socket connect() throws IOException {
+		final Socket socket = new Socket();
+		socket.setSoTimeout(10000);
+		socket.connect(new InetSocketAddress("localhost", PORT), 5000);
+		return socket;
+	}
+
+	static String readResponse(final InputStream in) throws IOException {
+		final ByteArrayOutputStream head = new ByteArrayOutputStream();
+		int state = 0;
+		while(state < 4) {
+			final int octet = in.read();
+			if(octet == -1) { break; }
+			head.write(octet);
+			state = (octet == '\r' && state % 2 == 0) || (octet == '\n' && state % 2 == 1) ? state + 1 : 0;
+		}
+
+		final String response = new String(head.toByteArray(), StandardCharsets.US_ASCII);
+		int length = 0;
+		for(final String line: response.split("\r\n")) {
+			if(line.toLowerCase().startsWith("content-length:")) {
+				length = Integer.parseInt(line.substring(line.indexOf(':') + 1).trim());
+			}
+		}
+
+		final byte[] body = new byte[length];
+		int offset = 0;
+		while(offset < length) {
+			final int count = in.read(body, offset, length - offset);
+			if(count == -1) { break; }
+			offset += count;
+		}
+
+		return response + new String(body, 0, offset, StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Fails with the lease sites of the buffers still out once the server went quiet.
+	 */
+	static void assertBuffersReturned() throws InterruptedException {
+		final BufferPool buffers = Worker.buffers();
+		final long deadline = System.currentTimeMillis() + 2000;
+		while( buffers.leased() > 0 && System.currentTimeMillis() < deadline ) {
+			Thread.sleep(10L);
+		}
+
+		if( buffers.leased() > 0 ) {
+			final StringBuilder sites = new StringBuilder(buffers.leased() + " buffers leaked");
+			for(final Throwable site: buffers.leaks()) {
+				for(final StackTraceElement frame: site.getStackTrace()) {
+					sites.append("\n\t").append(frame);
+				}
+				sites.append('\n');
+			}
+			fail(sites.toString());
+		}
+	}
+
+	@Test
+	public void keepAliveSuccessful() throws Exception {
+		logger.info("# keepAliveSuccessful (START)");
+
+		try(final Socket socket = connect()) {
+			final OutputStream out = socket.getOutputStream();
+			final InputStream in = socket.getInputStream();
+
+			for(final String path: new String[] {"/live", "/ready", "/"}) {
+				out.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+				out.flush();
+
+				final String response = readResponse(in);
+				assertTrue(response.startsWith("HTTP/1.1 200 OK\r\n"), response);
+			}
+		}
+
+		logger.info("# keepAliveSuccessful (END)\n");
+	}
+
+	@Test
+	public void metricsServed() throws Exception {
+		logger.info("# metricsServed (START)");
+
+		final long served = Worker.metrics().requests("/live", HttpStatus.OK);
+
+		try(final Socket socket = connect()) {
+			final OutputStream out = socket.getOutputStream();
+			final InputStream in = socket.getInputStream();
+
+			out.write("GET /live HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			assertTrue(readResponse(in).startsWith("HTTP/1.1 200 OK\r\n"));
+
+			out.write("GET /metrics HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			final String response = readResponse(in);
+			assertTrue(response.startsWith("HTTP/1.1 200 OK\r\n"), response);
+			assertTrue(response.contains("Content-Type: " + Metrics.CONTENT_TYPE + "\r\n"), response);
+			assertTrue(response.contains("http_requests_total{route=\"/live\",method=\"GET\",status=\"200\"} "), response);
+			assertTrue(response.contains("http_request_duration_seconds_count{route=\"/live\",method=\"GET\"} "), response);
+			assertTrue(response.contains("\nhttp_connections_active "), response);
+		}
+
+		assertTrue(Worker.metrics().requests("/live", HttpStatus.OK) > served);
+
+		logger.info("# metricsServed (END)\n");
+	}
+
+	@Test
+	public void pipelinedRequestsAnsweredInOrder() throws Exception {
+		logger.info("# pipelinedRequestsAnsweredInOrder (START)");
+
+		try(final Socket socket = connect()) {
+			final OutputStream out = socket.getOutputStream();
+			final InputStream in = socket.getInputStream();
+
+			final StringBuilder batch = new StringBuilder();
+			for(int i = 0; i < 24; ++i) {
+				batch.append("GET ").append(i % 2 == 0 ? "/live" : "/missing").append(" HTTP/1.1\r\nHost: localhost\r\n\r\n");
+			}
+			// The last request is incomplete: what was answered must not wait for it
+			batch.append("GET /ready HTTP/1.1\r\n");
+			out.write(batch.toString().getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+
+			for(int i = 0; i < 24; ++i) {
+				final String response = readResponse(in);
+				assertTrue(response.startsWith(i % 2 == 0 ? "HTTP/1.1 200 OK\r\n" : "HTTP/1.1 404 Not Found\r\n"), response);
+			}
+
+			out.write("Connection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			assertTrue(readResponse(in).startsWith("HTTP/1.1 200 OK\r\n"));
+			assertEquals(-1, in.read());
+		}
+
+		logger.info("# pipelinedRequestsAnsweredInOrder (END)\n");
+	}
+
+	@Test
+	public void idleConnectionsDoNotHoldThreads() throws Exception {
+		logger.info("# idleConnectionsDoNotHoldThreads (START)");
+
+		final int idle = Runtime.getRuntime().availableProcessors() * 4;
+		final List<Socket> sockets = new ArrayList<>();
+		try {
+			for(int i = 0; i < idle; ++i) {
+				final Socket socket = connect();
+				socket.getOutputStream().write("GET /live HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+				assertTrue(readResponse(socket.getInputStream()).startsWith("HTTP/1.1 200 OK\r\n"));
+				sockets.add(socket);
+			}
+
+			try(final Socket socket = connect()) {
+				socket.getOutputStream().write("GET /ready HTTP/1.1\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+				final String response = readResponse(socket.getInputStream());
+				assertTrue(response.startsWith("HTTP/1.1 200 OK\r\n"), response);
+				assertEquals(-1, socket.getInputStream().read());
+			}
+		} finally {
+			for(final Socket socket: sockets) {
+				socket.close();
+			}
+		}
+
+		logger.info("# idleConnectionsDoNotHoldThreads (END)\n");
+	}
+
+	@Test
+	public void idleConnectionsHoldNoBuffers() throws Exception {
+		logger.info("# idleConnectionsHoldNoBuffers (START)");
+
+		try(final Socket socket = connect()) {
+			final OutputStream out = socket.getOutputStream();
+			out.write("POST /echo HTTP/1.1\r\nContent-Type: text/plain\r\nContent-Length: 5\r\n\r\nhello".getBytes(StandardCharsets.US_ASCII));
+			out.write("GET /missing HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+
+			assertTrue(readResponse(socket.getInputStream()).endsWith("hello"));
+			assertTrue(readResponse(socket.getInputStream()).startsWith("HTTP/1.1 404 Not Found\r\n"));
+
+			// The connection stays open, waiting for its next request
+			assertBuffersReturned();
+		}
+
+		logger.info("# idleConnectionsHoldNoBuffers (END)\n");
+	}
+
+	@AfterAll
+	public void terminate() throws Exception {
+		Worker.terminate();
+
+		System.clearProperty(Constants.PROPERTY_PORT);
+		System.clearProperty(Constants.PROPERTY_IO_MODE);
+		System.clearProperty(Constants.PROPERTY_IO_THREADS);
+	}
+
+}
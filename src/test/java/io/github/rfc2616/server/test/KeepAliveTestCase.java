@@ -0,0 +1,117 @@
+package io.github.rfc2616.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import io.github.rfc2616.server.Worker;
+import io.github.rfc2616.utilities.Constants;
+import io.github.rfc2616.utilities.LogService;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class KeepAliveTestCase {
+	final LogService logger = LogService.getInstance(KeepAliveTestCase.class.getSimpleName());
+
+	static final int PORT = 8083;
+
+	@BeforeAll
+	public void startup() throws Exception {
+		System.setProperty(Constants.PROPERTY_PORT, Integer.toString(PORT));
+		System.setProperty(Constants.PROPERTY_KEEPALIVE_TIMEOUT, "1");
+		System.setProperty(Constants.PROPERTY_KEEPALIVE_REQUESTS, "3");
+		System.setProperty(Constants.PROPERTY_HEADER_TIMEOUT, "1");
+
+		logger.info("Getting server up...");
+		CompletableFuture.runAsync(()-> {
+			try { Worker.main(new String[] {}); } catch(IOException e) {}
+		});
+		Thread.sleep(250L);
+		logger.info("Server is up\n");
+	}
+
+	private Socket connect() throws IOException {
+		final Socket socket = new Socket();
+		socket.setSoTimeout(10000);
+		socket.connect(new InetSocketAddress("localhost", PORT), 5000);
+		return socket;
+	}
+
+	@Test
+	public void limitsAdvertisedAndEnforced() throws Exception {
+		logger.info("# limitsAdvertisedAndEnforced (START)");
+
+		try(final Socket socket = connect()) {
+			final OutputStream out = socket.getOutputStream();
+			final InputStream in = socket.getInputStream();
+
+			for(final String expected: new String[] {"Keep-Alive: timeout=1, max=2\r\n", "Keep-Alive: timeout=1, max=1\r\n", "Connection: close\r\n"}) {
+				out.write("GET /live HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+				final String response = EventLoopTestCase.readResponse(in);
+				assertTrue(response.startsWith("HTTP/1.1 200 OK\r\n"), response);
+				assertTrue(response.contains(expected), response);
+			}
+
+			assertEquals(-1, in.read());
+		}
+
+		logger.info("# limitsAdvertisedAndEnforced (END)\n");
+	}
+
+	@Test
+	public void idleAndSlowConnectionsClosed() throws Exception {
+		logger.info("# idleAndSlowConnectionsClosed (START)");
+
+		try(final Socket idle = connect(); final Socket slow = connect()) {
+			idle.getOutputStream().write("GET /live HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			assertTrue(EventLoopTestCase.readResponse(idle.getInputStream()).startsWith("HTTP/1.1 200 OK\r\n"));
+
+			// The head never completes
+			slow.getOutputStream().write("GET /live HTTP/1.1\r\nHost: ".getBytes(StandardCharsets.US_ASCII));
+
+			final long start = System.currentTimeMillis();
+			assertEquals(-1, idle.getInputStream().read());
+			assertEquals(-1, slow.getInputStream().read());
+			assertTrue(System.currentTimeMillis() - start < 5000);
+		}
+
+		logger.info("# idleAndSlowConnectionsClosed (END)\n");
+	}
+
+	@Test
+	public void idleConnectionsHoldNoBuffers() throws Exception {
+		logger.info("# idleConnectionsHoldNoBuffers (START)");
+
+		try(final Socket socket = connect()) {
+			socket.getOutputStream().write("GET /live HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			assertTrue(EventLoopTestCase.readResponse(socket.getInputStream()).startsWith("HTTP/1.1 200 OK\r\n"));
+
+			EventLoopTestCase.assertBuffersReturned();
+		}
+
+		logger.info("# idleConnectionsHoldNoBuffers (END)\n");
+	}
+
+	@AfterAll
+	public void terminate() throws Exception {
+		Worker.terminate();
+
+		System.clearProperty(Constants.PROPERTY_PORT);
+		System.clearProperty(Constants.PROPERTY_KEEPALIVE_TIMEOUT);
+		System.clearProperty(Constants.PROPERTY_KEEPALIVE_REQUESTS);
+		System.clearProperty(Constants.PROPERTY_HEADER_TIMEOUT);
+	}
+
+}
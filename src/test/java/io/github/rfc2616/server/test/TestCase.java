@@ -1,5 +1,9 @@
 package io.github.rfc2616.server.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -18,6 +22,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 
+import io.github.rfc2616.http.HeaderName;
+import io.github.rfc2616.http.ResponseBodyStream;
 import io.github.rfc2616.server.Worker;
 import io.github.rfc2616.utilities.LogService;
 
@@ -25,8 +31,20 @@ import io.github.rfc2616.utilities.LogService;
 public class TestCase {
 	final LogService logger = LogService.getInstance(TestCase.class.getSimpleName());
 
+	static final String STREAMED_LINE = "A line of a streamed body, long enough to span several chunks.\n";
+	static final int STREAMED_LINES = 400;
+
 	@BeforeAll
 	public void startup() throws Exception {
+		Worker.router().get("/streamed", (request, response) -> {
+			response.headers().set(HeaderName.CONTENT_TYPE, "text/plain");
+			final ResponseBodyStream body = response.stream();
+			for(int i = 0; i < STREAMED_LINES; ++i) {
+				body.write(STREAMED_LINE.getBytes(StandardCharsets.US_ASCII));
+			}
+			body.close();
+		});
+
 		logger.info("Getting server up...");
 		CompletableFuture.runAsync(()-> {
 			try { Worker.main(new String[] {}); } catch(IOException e) {} 
@@ -35,7 +53,7 @@ public class TestCase {
 		logger.info("Server is up\n");
 	}
 	
-	private void execute(final String content) throws Exception {
+	private String execute(final String content) throws Exception {
 		final InetAddress address = Inet4Address.getByName("localhost");
 		final InetSocketAddress socketAddress = new InetSocketAddress(address, 8080);
 
@@ -76,6 +94,23 @@ public class TestCase {
 		logger.info(info.toString());
 
 		logger.info("Disconnected.");
+		return response;
+	}
+
+	/**
+	 * @return the body of a chunked message, without chunk lines or trailers
+	 */
+	private static String dechunk(final String message) {
+		final StringBuilder body = new StringBuilder();
+		int position = message.indexOf("\r\n\r\n") + 4;
+		while(true) {
+			final int line = message.indexOf("\r\n", position);
+			final int size = Integer.parseInt(message.substring(position, line).split(";")[0].trim(), 16);
+			if(size == 0) { break; }
+			body.append(message, line + 2, line + 2 + size);
+			position = line + 2 + size + 2;
+		}
+		return body.toString();
 	}
 	
 	@Test
@@ -321,6 +356,26 @@ public class TestCase {
 		logger.info("# getMethodNotAllowedSucessful (END)\n");
 	}
 
+	@Test
+	public void getStreamedSuccessful() throws Exception {
+		logger.info("# getStreamedSuccessful (START)");
+
+		final String response = execute("GET /streamed HTTP/1.1\r\nConnection: close\r\n\r\n");
+		final String head = response.substring(0, response.indexOf("\r\n\r\n") + 2);
+
+		assertTrue(head.startsWith("HTTP/1.1 200 OK\r\n"), head);
+		assertTrue(head.contains("\r\nTransfer-Encoding: chunked\r\n"), head);
+		assertFalse(head.contains("\r\nContent-Length:"), head);
+
+		final StringBuilder expected = new StringBuilder();
+		for(int i = 0; i < STREAMED_LINES; ++i) {
+			expected.append(STREAMED_LINE);
+		}
+		assertEquals(expected.toString(), dechunk(response));
+
+		logger.info("# getStreamedSuccessful (END)\n");
+	}
+
 	@AfterAll
 	public void terminate() throws Exception {
 		Worker.terminate();
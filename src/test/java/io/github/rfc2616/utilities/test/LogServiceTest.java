@@ -1,5 +1,11 @@
 package io.github.rfc2616.utilities.test;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 import org.junit.jupiter.api.AfterAll;
@@ -28,4 +34,79 @@ public class LogServiceTest {
 		log.error("Test", new Exception("Failure", new IllegalStateException("Failure 2")));
 	}
 
+	/**
+	 * Runs {@code logging} with the standard output captured.
+	 */
+	private String capture(final Runnable logging) throws Exception {
+		final PrintStream original = System.out;
+		final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+		LogService.flush(1000);
+		System.setOut(new PrintStream(captured, true, "UTF-8"));
+		try {
+			logging.run();
+			LogService.flush(1000);
+		} finally {
+			System.setOut(original);
+		}
+		return new String(captured.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void substitutePlaceholders() throws Exception {
+		final String output = capture(() -> {
+			log.info("{} costs {}$ {}", "Coffee", 2);
+			log.info("No {placeholder} {}", (Object) null);
+			log.info("Regex $1 \\{} kept", "\\");
+		});
+
+		assertTrue(output.contains("[ INFO] [LogServiceTest] Coffee costs 2$ " + System.lineSeparator()), output);
+		assertTrue(output.contains("No {placeholder} " + System.lineSeparator()), output);
+		assertTrue(output.contains("Regex $1 \\\\ kept"), output);
+	}
+
+	@Test
+	public void skipDisabledLevels() throws Exception {
+		final Object expensive = new Object() {
+			@Override
+			public String toString() {
+				throw new AssertionError("Formatted a disabled line");
+			}
+		};
+
+		LogService.setLevel(LogService.LogLevel.WARN);
+		try {
+			assertFalse(LogService.isEnabled(LogService.LogLevel.INFO));
+			final String output = capture(() -> {
+				log.info("Hidden {}", expensive);
+				log.debug("Hidden {}", expensive);
+			});
+			assertFalse(output.contains("Hidden"), output);
+		} finally {
+			LogService.setLevel(LogService.LogLevel.INFO);
+		}
+	}
+
+	@Test
+	public void wakeIdleWriter() throws Exception {
+		final PrintStream original = System.out;
+		final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+		LogService.flush(1000);
+		System.setOut(new PrintStream(captured, true, "UTF-8"));
+		try {
+			// The writer parks once idle, with no deadline: only the next line gets it going again
+			Thread.sleep(100L);
+			log.info("Woken");
+
+			final long deadline = System.currentTimeMillis() + 1000;
+			while( captured.size() == 0 && System.currentTimeMillis() < deadline ) {
+				Thread.sleep(5L);
+			}
+		} finally {
+			System.setOut(original);
+		}
+		assertTrue(new String(captured.toByteArray(), StandardCharsets.UTF_8).contains("Woken"));
+	}
+
 }